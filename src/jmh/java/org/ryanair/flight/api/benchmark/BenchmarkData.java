@@ -0,0 +1,119 @@
+package org.ryanair.flight.api.benchmark;
+
+import org.ryanair.flight.api.dto.ScheduledFlightDto;
+import org.ryanair.flight.api.model.Day;
+import org.ryanair.flight.api.model.Flight;
+import org.ryanair.flight.api.model.MonthSchedule;
+import org.ryanair.flight.api.model.RouteAPIResponseModel;
+import org.ryanair.flight.api.model.ScheduleAPIResponseModel;
+import org.ryanair.flight.api.util.EpochMinutes;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic generators for route networks and schedules used by the benchmarks.
+ */
+public final class BenchmarkData {
+
+    public static final String ORIGIN = airportCode(0);
+    public static final String DESTINATION = airportCode(1);
+
+    private static final DateTimeFormatter ISO = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+
+    private BenchmarkData() {
+    }
+
+    public static String airportCode(int index) {
+        return "" + (char) ('A' + index / 676 % 26) + (char) ('A' + index / 26 % 26) + (char) ('A' + index % 26);
+    }
+
+    /**
+     * Builds a random network of the given size with a direct ORIGIN-DESTINATION route and the given number of
+     * hubs connecting ORIGIN and DESTINATION. Every tenth route belongs to another operator so route filtering has work to do.
+     */
+    public static List<RouteAPIResponseModel> routeNetwork(int airports, int routesPerAirport, int hubs, long seed) {
+        Random random = new Random(seed);
+        List<RouteAPIResponseModel> routes = new ArrayList<>();
+        routes.add(route(ORIGIN, DESTINATION, "RYANAIR"));
+        for (int hub = 2; hub < hubs + 2; hub++) {
+            routes.add(route(ORIGIN, airportCode(hub), "RYANAIR"));
+            routes.add(route(airportCode(hub), DESTINATION, "RYANAIR"));
+        }
+        for (int from = 2; from < airports; from++) {
+            for (int i = 0; i < routesPerAirport; i++) {
+                int to = 2 + random.nextInt(airports - 2);
+                if (to != from) {
+                    routes.add(route(airportCode(from), airportCode(to), i % 10 == 0 ? "OTHER" : "RYANAIR"));
+                }
+            }
+        }
+        return routes;
+    }
+
+    /**
+     * Builds the decoded schedule of a month with the given number of flights per day spread over the day.
+     */
+    public static MonthSchedule monthSchedule(int year, int month, int flightsPerDay) {
+        MonthSchedule.Builder monthSchedule = MonthSchedule.builder(year, month);
+        for (Day day : monthScheduleResponse(year, month, flightsPerDay).getDays()) {
+            for (Flight flight : day.getFlights()) {
+                monthSchedule.flight(day.getDay(), flight.getCarrierCode(), flight.getNumber(),
+                        EpochMinutes.parseClock(flight.getDepartureTime()), EpochMinutes.parseClock(flight.getArrivalTime()));
+            }
+        }
+        return monthSchedule.build();
+    }
+
+    /**
+     * Builds a backend month schedule response with the given number of flights per day spread over the day.
+     */
+    public static ScheduleAPIResponseModel monthScheduleResponse(int year, int month, int flightsPerDay) {
+        ArrayList<Day> days = new ArrayList<>();
+        int daysInMonth = YearMonth.of(year, month).lengthOfMonth();
+        int spacing = Math.max(1, 20 * 60 / flightsPerDay);
+        for (int day = 1; day <= daysInMonth; day++) {
+            List<Flight> flights = new ArrayList<>(flightsPerDay);
+            for (int i = 0; i < flightsPerDay; i++) {
+                int departure = 5 * 60 + i * spacing;
+                int arrival = departure + 90;
+                flights.add(new Flight("FR", String.valueOf(1000 + i), clock(departure), clock(Math.min(arrival, 23 * 60 + 59))));
+            }
+            days.add(new Day(day, flights));
+        }
+        return new ScheduleAPIResponseModel(month, days);
+    }
+
+    /**
+     * Generates already filtered flights, one every stepMinutes, starting at the given ISO time.
+     */
+    public static List<ScheduledFlightDto> scheduledFlights(String prefix, String start, int count, int stepMinutes, int durationMinutes) {
+        long base = EpochMinutes.of(LocalDateTime.parse(start, ISO));
+        List<ScheduledFlightDto> flights = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long departure = base + (long) stepMinutes * i;
+            flights.add(new ScheduledFlightDto("FR", prefix + i, departure, departure + durationMinutes));
+        }
+        return flights;
+    }
+
+    private static RouteAPIResponseModel route(String from, String to, String operator) {
+        return RouteAPIResponseModel.builder()
+                .airportFrom(from)
+                .airportTo(to)
+                .operator(operator)
+                .carrierCode("FR")
+                .group("GENERIC")
+                .similarArrivalAirportCodes(new String[0])
+                .tags(new String[0])
+                .build();
+    }
+
+    private static String clock(int minuteOfDay) {
+        return String.format("%02d:%02d", minuteOfDay / 60, minuteOfDay % 60);
+    }
+}
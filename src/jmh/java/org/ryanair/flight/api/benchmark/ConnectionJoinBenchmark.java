@@ -0,0 +1,103 @@
+package org.ryanair.flight.api.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.ryanair.flight.api.config.property.FlightSearchPropertyConfiguration;
+import org.ryanair.flight.api.config.property.JoinExecutionStrategy;
+import org.ryanair.flight.api.dto.FinalFlightResponseDto;
+import org.ryanair.flight.api.dto.PossibleRoutesDto;
+import org.ryanair.flight.api.dto.RequestDataDto;
+import org.ryanair.flight.api.dto.ScheduledFlightDto;
+import org.ryanair.flight.api.dto.ScheduledServiceDto;
+import org.ryanair.flight.api.helper.impl.ServiceHelperImpl;
+import org.ryanair.flight.api.model.RouteAPIResponseModel;
+import org.ryanair.flight.api.service.frontend.RouteService;
+import org.ryanair.flight.api.service.frontend.ScheduleService;
+import org.ryanair.flight.api.service.frontend.impl.FlightSearchServiceImpl;
+import org.ryanair.flight.api.service.frontend.join.ConnectionJoinExecutor;
+import org.ryanair.flight.api.util.Constant;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Joining first and second leg flights of one hub into connections, with schedule fetching stubbed out.
+ * Every departing flight has exactly one feasible connection, so candidates equal connections.
+ * Joins of at least the offload threshold run on the thread the join strategy picks, the rest inline.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConnectionJoinBenchmark {
+
+    @Param({"1000", "10000", "20000"})
+    public int connections;
+
+    @Param({"INLINE", "PARALLEL", "VIRTUAL_THREAD"})
+    public JoinExecutionStrategy joinStrategy;
+
+    private ConnectionJoinExecutor connectionJoinExecutor;
+    private FlightSearchServiceImpl flightSearchService;
+    private RequestDataDto requestDataDto;
+
+    @Setup
+    public void setUp() {
+        String hub = BenchmarkData.airportCode(2);
+        List<ScheduledFlightDto> departingFlights = BenchmarkData.scheduledFlights("D", "2024-04-01T00:00", connections, 2, 60);
+        List<ScheduledFlightDto> arrivingFlights = BenchmarkData.scheduledFlights("A", "2024-04-01T03:00", connections, 2, 60);
+
+        PossibleRoutesDto interConnected = PossibleRoutesDto.builder()
+                .type(Constant.ROUTE_TYPE_INTER_CONNECTED)
+                .interConnectedRoute(Arrays.asList(
+                        RouteAPIResponseModel.builder().airportFrom(BenchmarkData.ORIGIN).airportTo(hub).build(),
+                        RouteAPIResponseModel.builder().airportFrom(hub).airportTo(BenchmarkData.DESTINATION).build()))
+                .build();
+
+        RouteService routeService = (departure, arrival) -> Mono.just(List.of(interConnected));
+        ScheduleService scheduleService = new ScheduleService() {
+            @Override
+            public Mono<List<ScheduledFlightDto>> getScheduledDepartingFlightData(ScheduledServiceDto scheduledServiceDto) {
+                return Mono.just(departingFlights);
+            }
+
+            @Override
+            public Mono<List<ScheduledFlightDto>> getScheduledArrivingFlightData(ScheduledServiceDto scheduledServiceDto) {
+                return Mono.just(arrivingFlights);
+            }
+
+            @Override
+            public Mono<List<ScheduledFlightDto>> getScheduledDirectFlightData(ScheduledServiceDto scheduledServiceDto) {
+                return Mono.empty();
+            }
+        };
+
+        FlightSearchPropertyConfiguration searchConfiguration = new FlightSearchPropertyConfiguration();
+        searchConfiguration.setJoinStrategy(joinStrategy);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        connectionJoinExecutor = new ConnectionJoinExecutor(searchConfiguration, meterRegistry);
+        flightSearchService = new FlightSearchServiceImpl(new ServiceHelperImpl(), routeService, scheduleService,
+                searchConfiguration, meterRegistry, connectionJoinExecutor);
+        requestDataDto = RequestDataDto.builder()
+                .departure(BenchmarkData.ORIGIN)
+                .arrival(BenchmarkData.DESTINATION)
+                .departureDateTime(LocalDateTime.of(2024, 4, 1, 0, 0))
+                .arrivalDateTime(LocalDateTime.of(2024, 4, 30, 23, 0))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        connectionJoinExecutor.destroy();
+    }
+
+    @Benchmark
+    public List<FinalFlightResponseDto> joinConnections() {
+        return flightSearchService.findFlights(requestDataDto).block();
+    }
+}
@@ -0,0 +1,79 @@
+package org.ryanair.flight.api.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.ryanair.flight.api.config.property.FlightSearchPropertyConfiguration;
+import org.ryanair.flight.api.dto.FinalFlightResponseDto;
+import org.ryanair.flight.api.dto.RequestDataDto;
+import org.ryanair.flight.api.helper.impl.ServiceHelperImpl;
+import org.ryanair.flight.api.service.backend.BackendAPIService;
+import org.ryanair.flight.api.service.frontend.impl.FlightSearchServiceImpl;
+import org.ryanair.flight.api.service.frontend.impl.RouteServiceImpl;
+import org.ryanair.flight.api.service.frontend.impl.ScheduleServiceImpl;
+import org.ryanair.flight.api.service.frontend.join.ConnectionJoinExecutor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full findFlights pipeline (route extraction, schedule filtering, join) against an in-memory backend.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FindFlightsBenchmark {
+
+    @Param({"200", "2000"})
+    public int airports;
+
+    @Param({"5", "25"})
+    public int hubs;
+
+    @Param({"4", "16"})
+    public int flightsPerDay;
+
+    @Param({"3", "28"})
+    public int windowDays;
+
+    private ConnectionJoinExecutor connectionJoinExecutor;
+    private FlightSearchServiceImpl flightSearchService;
+    private RequestDataDto requestDataDto;
+
+    @Setup
+    public void setUp() {
+        BackendAPIService backendAPIService = new InMemoryBackendAPIService(
+                BenchmarkData.routeNetwork(airports, 10, hubs, 42),
+                BenchmarkData.monthSchedule(2024, 4, flightsPerDay));
+        FlightSearchPropertyConfiguration searchConfiguration = new FlightSearchPropertyConfiguration();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        connectionJoinExecutor = new ConnectionJoinExecutor(searchConfiguration, meterRegistry);
+        flightSearchService = new FlightSearchServiceImpl(
+                new ServiceHelperImpl(),
+                new RouteServiceImpl(backendAPIService),
+                new ScheduleServiceImpl(backendAPIService),
+                searchConfiguration,
+                meterRegistry,
+                connectionJoinExecutor);
+        LocalDateTime windowStart = LocalDateTime.of(2024, 4, 1, 0, 0);
+        requestDataDto = RequestDataDto.builder()
+                .departure(BenchmarkData.ORIGIN)
+                .arrival(BenchmarkData.DESTINATION)
+                .departureDateTime(windowStart)
+                .arrivalDateTime(windowStart.plusDays(windowDays))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        connectionJoinExecutor.destroy();
+    }
+
+    @Benchmark
+    public List<FinalFlightResponseDto> findFlights() {
+        return flightSearchService.findFlights(requestDataDto).block();
+    }
+}
@@ -0,0 +1,33 @@
+package org.ryanair.flight.api.benchmark;
+
+import org.ryanair.flight.api.model.MonthSchedule;
+import org.ryanair.flight.api.model.RouteAPIResponseModel;
+import org.ryanair.flight.api.model.ScheduleAPIRequestModel;
+import org.ryanair.flight.api.service.backend.BackendAPIService;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * BackendAPIService stub answering from pre-generated data, so benchmarks measure only the search code.
+ */
+public class InMemoryBackendAPIService implements BackendAPIService {
+
+    private final List<RouteAPIResponseModel> routes;
+    private final MonthSchedule schedule;
+
+    public InMemoryBackendAPIService(List<RouteAPIResponseModel> routes, MonthSchedule schedule) {
+        this.routes = routes;
+        this.schedule = schedule;
+    }
+
+    @Override
+    public Mono<List<RouteAPIResponseModel>> getRoutes(String arrivalIATACode, String departureIATACode) {
+        return Mono.just(routes);
+    }
+
+    @Override
+    public Mono<MonthSchedule> getSchedules(ScheduleAPIRequestModel scheduleAPIRequestModel) {
+        return Mono.just(schedule);
+    }
+}
@@ -0,0 +1,111 @@
+package org.ryanair.flight.api.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.ryanair.flight.api.client.decode.StreamingScheduleDecoder;
+import org.ryanair.flight.api.client.logging.SampledExchangeLoggingFilter;
+import org.ryanair.flight.api.config.property.RyanairBackEndLoggingConfiguration;
+import org.ryanair.flight.api.model.MonthSchedule;
+import org.ryanair.flight.api.model.ScheduleAPIRequestModel;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading and decoding a month schedule through WebClient with no response logging, with the former filter that
+ * buffered every body into a String, and with the sampled logging filter capturing the bodies of the sampled calls.
+ * The body arrives in 8 KiB buffers as it would from the connection. Log output is turned off so the figures show the
+ * cost of the filters rather than of the appender; run with {@code -prof gc} to compare allocation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseLoggingBenchmark {
+
+    private static final int CHUNK_BYTES = 8 * 1024;
+
+    @Param({"none", "buffered", "sampled"})
+    public String logging;
+
+    @Param({"4", "32"})
+    public int flightsPerDay;
+
+    private WebClient webClient;
+    private ScheduleAPIRequestModel scheduleRequest;
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws IOException {
+        ((Logger) LoggerFactory.getLogger(SampledExchangeLoggingFilter.class)).setLevel(Level.OFF);
+        body = new ObjectMapper().writeValueAsBytes(BenchmarkData.monthScheduleResponse(2024, 4, flightsPerDay));
+        scheduleRequest = ScheduleAPIRequestModel.builder()
+                .departure(BenchmarkData.ORIGIN).arrival(BenchmarkData.DESTINATION).year(2024).month(4).build();
+        WebClient.Builder builder = WebClient.builder()
+                .exchangeFunction(clientRequest -> Mono.fromSupplier(() -> ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(chunkedBody())
+                        .build()));
+        switch (logging) {
+            case "buffered" -> builder.filter(bufferingFilter());
+            case "sampled" -> builder.filter(sampledFilter());
+            default -> {
+            }
+        }
+        webClient = builder.build();
+    }
+
+    @Benchmark
+    public MonthSchedule readSchedule() {
+        return webClient.get()
+                .uri("http://localhost/schedules")
+                .retrieve()
+                .bodyToFlux(DataBuffer.class)
+                .as(buffers -> StreamingScheduleDecoder.decode(buffers, scheduleRequest))
+                .block();
+    }
+
+    private Flux<DataBuffer> chunkedBody() {
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int offset = 0; offset < body.length; offset += CHUNK_BYTES) {
+            ByteBuffer chunk = ByteBuffer.wrap(body, offset, Math.min(CHUNK_BYTES, body.length - offset)).slice();
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(chunk));
+        }
+        return Flux.fromIterable(buffers);
+    }
+
+    /**
+     * The response filter this service used before sampling: every body read into a String and the response rebuilt.
+     */
+    private static ExchangeFilterFunction bufferingFilter() {
+        return ExchangeFilterFunction.ofResponseProcessor(clientResponse ->
+                clientResponse.bodyToMono(String.class).defaultIfEmpty("")
+                        .map(responseBody -> clientResponse.mutate().body(responseBody).build()));
+    }
+
+    private static SampledExchangeLoggingFilter sampledFilter() {
+        RyanairBackEndLoggingConfiguration loggingConfiguration = new RyanairBackEndLoggingConfiguration();
+        loggingConfiguration.setSampleRate(0.01);
+        loggingConfiguration.setBodyCaptureEnabled(true);
+        return new SampledExchangeLoggingFilter(loggingConfiguration, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,40 @@
+package org.ryanair.flight.api.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.ryanair.flight.api.dto.PossibleRoutesDto;
+import org.ryanair.flight.api.model.RouteAPIResponseModel;
+import org.ryanair.flight.api.service.frontend.impl.RouteServiceImpl;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Direct and one-stop route extraction in RouteServiceImpl over networks of different sizes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouteExtractionBenchmark {
+
+    @Param({"200", "2000"})
+    public int airports;
+
+    @Param({"5", "50"})
+    public int hubs;
+
+    private RouteServiceImpl routeService;
+
+    @Setup
+    public void setUp() {
+        List<RouteAPIResponseModel> routes = BenchmarkData.routeNetwork(airports, 10, hubs, 42);
+        routeService = new RouteServiceImpl(new InMemoryBackendAPIService(routes, null));
+    }
+
+    @Benchmark
+    public List<PossibleRoutesDto> findAllPossibleRoutes() {
+        return routeService.findAllPossibleRoutes(BenchmarkData.ORIGIN, BenchmarkData.DESTINATION).block();
+    }
+}
@@ -0,0 +1,55 @@
+package org.ryanair.flight.api.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.ryanair.flight.api.dto.RequestDataDto;
+import org.ryanair.flight.api.dto.ScheduledFlightDto;
+import org.ryanair.flight.api.dto.ScheduledServiceDto;
+import org.ryanair.flight.api.dto.YearMonthDataDto;
+import org.ryanair.flight.api.model.RouteAPIResponseModel;
+import org.ryanair.flight.api.service.frontend.impl.ScheduleServiceImpl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtering a decoded month of schedules down to the requested window in ScheduleServiceImpl.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScheduleFilteringBenchmark {
+
+    @Param({"4", "32"})
+    public int flightsPerDay;
+
+    @Param({"3", "28"})
+    public int windowDays;
+
+    private ScheduleServiceImpl scheduleService;
+    private ScheduledServiceDto scheduledServiceDto;
+
+    @Setup
+    public void setUp() {
+        scheduleService = new ScheduleServiceImpl(new InMemoryBackendAPIService(List.of(), BenchmarkData.monthSchedule(2024, 4, flightsPerDay)));
+        LocalDateTime windowStart = LocalDateTime.of(2024, 4, 1, 0, 0);
+        scheduledServiceDto = ScheduledServiceDto.builder()
+                .directRouteData(RouteAPIResponseModel.builder().airportFrom(BenchmarkData.ORIGIN).airportTo(BenchmarkData.DESTINATION).build())
+                .yearMonthData(new YearMonthDataDto(2024, 4))
+                .requestData(RequestDataDto.builder()
+                        .departure(BenchmarkData.ORIGIN)
+                        .arrival(BenchmarkData.DESTINATION)
+                        .departureDateTime(windowStart)
+                        .arrivalDateTime(windowStart.plusDays(windowDays))
+                        .build())
+                .build();
+    }
+
+    @Benchmark
+    public List<ScheduledFlightDto> filterScheduledFlights() {
+        return scheduleService.getScheduledDirectFlightData(scheduledServiceDto).block();
+    }
+}
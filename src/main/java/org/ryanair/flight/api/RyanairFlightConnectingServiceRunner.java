@@ -5,10 +5,12 @@ import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.reactive.config.EnableWebFlux;
 
 @SpringBootApplication
 @EnableWebFlux
+@EnableScheduling
 public class RyanairFlightConnectingServiceRunner {
     public static void main(String[] args) {
         SpringApplication.run(RyanairFlightConnectingServiceRunner.class , args);    }
@@ -1,9 +1,9 @@
 package org.ryanair.flight.api.client;
 
 import org.ryanair.flight.api.exception.BackendInvocationException;
+import org.ryanair.flight.api.model.MonthSchedule;
 import org.ryanair.flight.api.model.RouteAPIResponseModel;
 import org.ryanair.flight.api.model.ScheduleAPIRequestModel;
-import org.ryanair.flight.api.model.ScheduleAPIResponseModel;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -23,9 +23,9 @@ public interface APIClient {
     /**
      * Retrieves the schedules for flights based on the provided request parameters.
      * @param scheduleAPIRequestModel The request parameters specifying departure, arrival, year, and month.
-     * @return org.ryanair.flight.api.A Mono emitting a ScheduleAPIResponseModel object representing the schedules.
+     * @return org.ryanair.flight.api.A Mono emitting the MonthSchedule of the requested month.
      * @throws BackendInvocationException if there's an error invoking the backend API.
      */
-     Mono<ScheduleAPIResponseModel> getSchedules(ScheduleAPIRequestModel scheduleAPIRequestModel) throws BackendInvocationException;
+     Mono<MonthSchedule> getSchedules(ScheduleAPIRequestModel scheduleAPIRequestModel) throws BackendInvocationException;
 
 }
@@ -0,0 +1,38 @@
+package org.ryanair.flight.api.client.budget;
+
+/**
+ * Budget of extra backend calls. Every regular call deposits a fraction of a token, every extra call
+ * (a retry or a hedge) withdraws a whole one, so extra calls stay below that fraction of the recent regular
+ * calls. The bucket is capped, which bounds the burst of extra calls and lets old deposits count no more.
+ */
+public class TokenBucket {
+
+    private final double depositPerCall;
+    private final double maxTokens;
+    private double tokens;
+
+    public TokenBucket(double depositPerCall, double maxTokens, double initialTokens) {
+        this.depositPerCall = depositPerCall;
+        this.maxTokens = maxTokens;
+        this.tokens = Math.min(maxTokens, initialTokens);
+    }
+
+    public synchronized void deposit() {
+        tokens = Math.min(maxTokens, tokens + depositPerCall);
+    }
+
+    /**
+     * @return true if a whole token was available and has been taken.
+     */
+    public synchronized boolean tryWithdraw() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+
+    public synchronized double getTokens() {
+        return tokens;
+    }
+}
@@ -0,0 +1,261 @@
+package org.ryanair.flight.api.client.decode;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import org.ryanair.flight.api.model.MonthSchedule;
+import org.ryanair.flight.api.model.ScheduleAPIRequestModel;
+import org.ryanair.flight.api.util.EpochMinutes;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes a schedules response as a stream of JSON tokens while its body arrives, without buffering the body,
+ * copying it out of the response buffers or binding it to an intermediate tree. Fields the search does not need
+ * are skipped token by token. The clock times of the flights are read from the parser's character buffer and
+ * the flights go straight into a {@link MonthSchedule} with their times in epoch minutes, so nothing is parsed
+ * again when the schedule is searched. The whole month is decoded, so one decoded schedule serves every search
+ * window of it.
+ */
+public final class StreamingScheduleDecoder {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private StreamingScheduleDecoder() {
+    }
+
+    /**
+     * Decodes the schedule of the month from the given response body.
+     *
+     * @param body                    The response body, released as it is decoded.
+     * @param scheduleAPIRequestModel The request the body answers, giving the year and month.
+     * @return org.ryanair.flight.api.A Mono emitting the schedule of the month, or failing with a
+     * {@link DecodingException} if the body is not a valid schedule.
+     */
+    public static Mono<MonthSchedule> decode(Flux<DataBuffer> body, ScheduleAPIRequestModel scheduleAPIRequestModel) {
+        return Mono.defer(() -> {
+            TokenState state = new TokenState(scheduleAPIRequestModel);
+            return body
+                    .doOnNext(dataBuffer -> {
+                        // the parser reads the buffer's own memory, and has consumed all of it when feed returns
+                        try (DataBuffer.ByteBufferIterator byteBuffers = dataBuffer.readableByteBuffers()) {
+                            while (byteBuffers.hasNext()) {
+                                state.feed(byteBuffers.next());
+                            }
+                        } catch (RuntimeException e) {
+                            DataBufferUtils.release(dataBuffer); // the failing buffer is not discarded downstream
+                            throw e;
+                        }
+                    })
+                    // a decoded buffer is discarded by then(), and one dropped on error or cancellation upstream,
+                    // which is where each is released, exactly once
+                    .then(Mono.fromCallable(state::finish))
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .doFinally(signalType -> state.close());
+        });
+    }
+
+    private enum Scope { ROOT, DAYS, DAY, FLIGHTS, FLIGHT, DONE }
+
+    /**
+     * Pulls the tokens of the body fed so far and keeps track of where in the schedule they belong.
+     */
+    private static final class TokenState {
+        private final JsonParser parser;
+        private final ByteBufferFeeder feeder;
+        private final MonthSchedule.Builder schedule;
+        private final List<PendingFlight> pendingFlights = new ArrayList<>();
+
+        private Scope scope;
+        private String field;
+        private int skipDepth;
+
+        private int day;
+
+        private String carrierCode;
+        private String number;
+        private int departureClock;
+        private int arrivalClock;
+
+        TokenState(ScheduleAPIRequestModel scheduleAPIRequestModel) {
+            try {
+                this.parser = JSON_FACTORY.createNonBlockingByteBufferParser();
+            } catch (IOException e) {
+                throw new DecodingException("Could not create the schedule parser", e);
+            }
+            this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+            this.schedule = MonthSchedule.builder(scheduleAPIRequestModel.getYear(), scheduleAPIRequestModel.getMonth());
+        }
+
+        void feed(ByteBuffer chunk) {
+            try {
+                feeder.feedInput(chunk);
+                drain();
+            } catch (IOException | IllegalArgumentException e) {
+                throw new DecodingException("Invalid schedule response", e);
+            }
+        }
+
+        MonthSchedule finish() {
+            try {
+                feeder.endOfInput();
+                drain();
+            } catch (IOException | IllegalArgumentException e) {
+                throw new DecodingException("Invalid schedule response", e);
+            }
+            if (scope != Scope.DONE) {
+                throw new DecodingException("Incomplete schedule response");
+            }
+            return schedule.build();
+        }
+
+        void close() {
+            try {
+                parser.close();
+            } catch (IOException ignored) {
+                // nothing held beyond the parser's own buffers
+            }
+        }
+
+        private void drain() throws IOException {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                handle(token);
+            }
+        }
+
+        private void handle(JsonToken token) throws IOException {
+            if (skipDepth > 0) {
+                if (token.isStructStart()) {
+                    skipDepth++;
+                } else if (token.isStructEnd()) {
+                    skipDepth--;
+                }
+                return;
+            }
+            if (token == JsonToken.FIELD_NAME) {
+                field = parser.currentName();
+                return;
+            }
+            if (scope == null) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new DecodingException("Schedule response is not a JSON object");
+                }
+                scope = Scope.ROOT;
+                return;
+            }
+            switch (scope) {
+                case ROOT -> {
+                    if (token == JsonToken.END_OBJECT) {
+                        scope = Scope.DONE;
+                    } else if ("days".equals(field) && token == JsonToken.START_ARRAY) {
+                        scope = Scope.DAYS;
+                    } else {
+                        skip(token);
+                    }
+                }
+                case DAYS -> {
+                    if (token == JsonToken.START_OBJECT) {
+                        scope = Scope.DAY;
+                        day = 0;
+                        pendingFlights.clear();
+                    } else if (token == JsonToken.END_ARRAY) {
+                        scope = Scope.ROOT;
+                    } else {
+                        skip(token);
+                    }
+                }
+                case DAY -> {
+                    if (token == JsonToken.END_OBJECT) {
+                        endDay();
+                        scope = Scope.DAYS;
+                    } else if ("day".equals(field) && token == JsonToken.VALUE_NUMBER_INT) {
+                        day = parser.getIntValue();
+                    } else if ("flights".equals(field) && token == JsonToken.START_ARRAY) {
+                        scope = Scope.FLIGHTS;
+                    } else {
+                        skip(token);
+                    }
+                }
+                case FLIGHTS -> {
+                    if (token == JsonToken.START_OBJECT) {
+                        scope = Scope.FLIGHT;
+                        carrierCode = null;
+                        number = null;
+                        departureClock = -1;
+                        arrivalClock = -1;
+                    } else if (token == JsonToken.END_ARRAY) {
+                        scope = Scope.DAY;
+                    } else {
+                        skip(token);
+                    }
+                }
+                case FLIGHT -> {
+                    if (token == JsonToken.END_OBJECT) {
+                        endFlight();
+                        scope = Scope.FLIGHTS;
+                    } else if (token == JsonToken.VALUE_STRING) {
+                        switch (field) {
+                            case "carrierCode" -> carrierCode = parser.getText();
+                            case "number" -> number = parser.getText();
+                            case "departureTime" -> departureClock = parseClock();
+                            case "arrivalTime" -> arrivalClock = parseClock();
+                            default -> {
+                                // not needed by the search
+                            }
+                        }
+                    } else {
+                        skip(token);
+                    }
+                }
+                case DONE -> throw new DecodingException("Unexpected content after the schedule response");
+            }
+        }
+
+        /**
+         * Skips the value starting with the given token, with everything nested in it.
+         */
+        private void skip(JsonToken token) {
+            if (token.isStructStart()) {
+                skipDepth = 1;
+            }
+        }
+
+        private void endFlight() {
+            if (departureClock < 0 || arrivalClock < 0) {
+                return;
+            }
+            if (day == 0) {
+                // the day is normally given before its flights, they are only held back when it comes after them
+                pendingFlights.add(new PendingFlight(carrierCode, number, departureClock, arrivalClock));
+            } else {
+                schedule.flight(day, carrierCode, number, departureClock, arrivalClock);
+            }
+        }
+
+        private void endDay() {
+            if (day == 0) {
+                return;
+            }
+            for (PendingFlight flight : pendingFlights) {
+                schedule.flight(day, flight.carrierCode(), flight.number(), flight.departureClock(), flight.arrivalClock());
+            }
+        }
+
+        private int parseClock() throws IOException {
+            return EpochMinutes.parseClock(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        }
+    }
+
+    private record PendingFlight(String carrierCode, String number, int departureClock, int arrivalClock) {
+    }
+}
@@ -0,0 +1,161 @@
+package org.ryanair.flight.api.client.hedge;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.ryanair.flight.api.client.budget.TokenBucket;
+import org.ryanair.flight.api.config.property.RyanairBackEndHedgingConfiguration;
+import org.ryanair.flight.api.util.Constant;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Sends a duplicate (hedged) backend call when the original one has not answered within the hedge delay,
+ * and keeps whichever answers first, cancelling the other. The delay is the configured percentile of the
+ * latencies recently observed, so only the slowest calls are hedged. Hedges are paid from a budget that every
+ * original call tops up by the budget ratio, which caps the extra load at that ratio of the calls.
+ * A failing hedge is ignored, an original call failing before any hedge answered fails the call.
+ */
+@Component
+public class RequestHedger {
+
+    private final RyanairBackEndHedgingConfiguration configuration;
+    private final LatencyWindow latencyWindow;
+    private final Counter sentHedges;
+    private final Counter wonHedges;
+    private final Counter budgetExhausted;
+
+    private final TokenBucket budget;
+
+    @Autowired
+    public RequestHedger(RyanairBackEndHedgingConfiguration configuration, MeterRegistry meterRegistry) {
+        this.configuration = configuration;
+        this.latencyWindow = new LatencyWindow(configuration.getSampleWindow());
+        this.budget = new TokenBucket(configuration.getBudgetRatio(), configuration.getBudgetMaxTokens(), 0);
+        this.sentHedges = Counter.builder(Constant.METRIC_BACKEND_HEDGE_SENT)
+                .description("Hedged duplicate backend schedule calls sent")
+                .register(meterRegistry);
+        this.wonHedges = Counter.builder(Constant.METRIC_BACKEND_HEDGE_WON)
+                .description("Hedged backend schedule calls that answered before the original call")
+                .register(meterRegistry);
+        this.budgetExhausted = Counter.builder(Constant.METRIC_BACKEND_HEDGE_BUDGET_EXHAUSTED)
+                .description("Backend schedule calls not hedged because the hedge budget was exhausted")
+                .register(meterRegistry);
+        Gauge.builder(Constant.METRIC_BACKEND_HEDGE_DELAY, this, hedger -> hedger.hedgeDelay().toMillis())
+                .description("Delay after which a backend schedule call is hedged")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the call and, if it has not answered within the hedge delay and the budget allows, a duplicate of it.
+     *
+     * @param call Supplies a new, independent subscription of the backend call for the original and the hedge.
+     * @return org.ryanair.flight.api.A Mono emitting the first answer of the original call or its hedge.
+     */
+    public <T> Mono<T> hedge(Supplier<Mono<T>> call) {
+        if (!configuration.isEnabled()) {
+            return call.get();
+        }
+        return Mono.defer(() -> {
+            budget.deposit();
+            long started = System.nanoTime();
+            AtomicBoolean hedgeAnswered = new AtomicBoolean();
+            Mono<HedgedValue<T>> original = call.get()
+                    .doOnSuccess(value -> latencyWindow.record(System.nanoTime() - started))
+                    .doOnCancel(() -> {
+                        // a call overtaken by its hedge took at least this long, keep it in the latency window
+                        if (hedgeAnswered.get()) {
+                            latencyWindow.record(System.nanoTime() - started);
+                        }
+                    })
+                    .map(value -> new HedgedValue<>(value, false));
+            Mono<HedgedValue<T>> hedge = Mono.delay(hedgeDelay())
+                    .flatMap(tick -> {
+                        if (!budget.tryWithdraw()) {
+                            budgetExhausted.increment();
+                            return Mono.never();
+                        }
+                        sentHedges.increment();
+                        return call.get()
+                                .doOnNext(value -> hedgeAnswered.set(true))
+                                .map(value -> new HedgedValue<>(value, true))
+                                .onErrorResume(throwable -> Mono.never());
+                    });
+            return Mono.firstWithSignal(original, hedge)
+                    .doOnNext(hedgedValue -> {
+                        if (hedgedValue.hedge()) {
+                            wonHedges.increment();
+                        }
+                    })
+                    .map(HedgedValue::value);
+        });
+    }
+
+    /**
+     * @return the configured percentile of the recent latencies within the delay bounds, or the initial delay
+     * until enough latencies were observed.
+     */
+    public Duration hedgeDelay() {
+        long percentileNanos = latencyWindow.percentile(configuration.getDelayPercentile(), configuration.getMinSamples());
+        if (percentileNanos < 0) {
+            return Duration.ofMillis(configuration.getInitialDelayMs());
+        }
+        long delayMs = Math.min(configuration.getMaxDelayMs(),
+                Math.max(configuration.getMinDelayMs(), TimeUnit.NANOSECONDS.toMillis(percentileNanos)));
+        return Duration.ofMillis(delayMs);
+    }
+
+    private record HedgedValue<T>(T value, boolean hedge) {
+    }
+
+    /**
+     * Ring of the most recent call latencies. The percentile is recomputed on read at most once every
+     * tenth of the window, so recording stays a constant time operation.
+     */
+    private static final class LatencyWindow {
+        private final long[] samples;
+        private final int recomputeInterval;
+        private int next;
+        private int size;
+        private int recordedSinceComputed;
+        private double computedPercentile = Double.NaN;
+        private long computedNanos = -1;
+
+        LatencyWindow(int capacity) {
+            this.samples = new long[Math.max(1, capacity)];
+            this.recomputeInterval = Math.max(1, samples.length / 10);
+        }
+
+        synchronized void record(long latencyNanos) {
+            samples[next] = latencyNanos;
+            next = (next + 1) % samples.length;
+            size = Math.min(size + 1, samples.length);
+            recordedSinceComputed++;
+        }
+
+        /**
+         * @return the percentile in nanoseconds, or -1 while fewer than the minimum number of samples were recorded.
+         */
+        synchronized long percentile(double percentile, int minSamples) {
+            if (size < Math.max(1, minSamples)) {
+                return -1;
+            }
+            if (computedNanos < 0 || percentile != computedPercentile || recordedSinceComputed >= recomputeInterval) {
+                long[] sorted = Arrays.copyOf(samples, size);
+                Arrays.sort(sorted);
+                computedNanos = sorted[Math.min(size - 1, Math.max(0, (int) Math.ceil(percentile * size) - 1))];
+                computedPercentile = percentile;
+                recordedSinceComputed = 0;
+            }
+            return computedNanos;
+        }
+    }
+}
@@ -1,28 +1,45 @@
 package org.ryanair.flight.api.client.impl;
 
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
 import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
 import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
-import io.github.resilience4j.reactor.retry.RetryOperator;
-import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.ryanair.flight.api.client.APIClient;
+import org.ryanair.flight.api.client.decode.StreamingScheduleDecoder;
+import org.ryanair.flight.api.client.hedge.RequestHedger;
+import org.ryanair.flight.api.client.limit.AdaptiveConcurrencyLimiter;
+import org.ryanair.flight.api.client.resilience.RoutePairCircuitBreakers;
+import org.ryanair.flight.api.client.retry.BudgetedRetry;
 import org.ryanair.flight.api.config.property.RyanairBackEndEndpointConfiguration;
 import org.ryanair.flight.api.exception.BackendInvocationException;
+import org.ryanair.flight.api.model.MonthSchedule;
 import org.ryanair.flight.api.model.RouteAPIResponseModel;
 import org.ryanair.flight.api.model.ScheduleAPIRequestModel;
-import org.ryanair.flight.api.model.ScheduleAPIResponseModel;
+import org.ryanair.flight.api.model.ScheduleRequestKey;
 import org.ryanair.flight.api.util.Constant;
+import org.ryanair.flight.api.util.Deadline;
+import org.ryanair.flight.api.util.ReactorTimers;
 import org.ryanair.flight.api.util.ResponseMessage;
+import org.ryanair.flight.api.util.SubscriberDeadlines;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Implementation of the APIClient interface to interact with the Ryanair backend services.
@@ -36,19 +53,26 @@ public class RyanairAPIClient implements APIClient {
     private final WebClient webClient;
     private final RyanairBackEndEndpointConfiguration backEndEndpointConfiguration;
     private final CircuitBreakerRegistry circuitBreakerRegistry;
-    private final RetryRegistry retryRegistry;
+    private final BudgetedRetry budgetedRetry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final RoutePairCircuitBreakers routePairCircuitBreakers;
+    private final MeterRegistry meterRegistry;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final RequestHedger requestHedger;
+
+    private final Map<ScheduleRequestKey, Mono<MonthSchedule>> inFlightSchedules = new ConcurrentHashMap<>();
 
 
 
     /**
-     * Retrieves a list of available routes from the Ryanair backend.
+     * Retrieves a list of available routes from the Ryanair backend, within the {@link Deadline} found in the subscriber context.
      *
      * @return org.ryanair.flight.api.A Mono emitting a list of RouteAPIResponseModel instances.
      * @throws BackendInvocationException if there's an error invoking the backend service.
      */
     @Override
     public Mono<List<RouteAPIResponseModel>> getRoutes() throws BackendInvocationException {
-        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(Constant.DOWNSTREAM_SERVICE_NAME);
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(Constant.RESILIENCE_ROUTES);
         return webClient.get()
                 .uri(backEndEndpointConfiguration.getRouteEndpointURL())
                 .retrieve()
@@ -60,26 +84,71 @@ public class RyanairAPIClient implements APIClient {
                         )
                 )
                 .bodyToFlux(RouteAPIResponseModel.class)
-                .transformDeferred(RetryOperator.of(retryRegistry.retry(Constant.DOWNSTREAM_SERVICE_NAME))) // ORDER - If above, retry will complete before a failure is recorded by the circuit breaker
+                .collectList()
+                .transform(budgetedRetry::withRetries) // ORDER - If above, retry will complete before a failure is recorded by the circuit breaker
                 .transformDeferred(CircuitBreakerOperator.of(circuitBreaker)) //ORDER - If written below, circuit breaker will record a single failure after the max-retry
-                .doOnError(CallNotPermittedException.class::isInstance, throwable -> {
-                    log.error("Circuit Breaker is in [{}]... Providing fallback response without calling the API", circuitBreaker.getState());
-                    throw new BackendInvocationException(ResponseMessage.ERR_SERVICE_UNAVAILABLE , throwable.getMessage() , HttpStatus.SERVICE_UNAVAILABLE);
-                })
-                .collectList();
+                .transformDeferred(BulkheadOperator.of(bulkheadRegistry.bulkhead(Constant.RESILIENCE_ROUTES)))
+                .transform(routes -> ReactorTimers.timed(routes, meterRegistry, outcome -> callTimer(Constant.ENDPOINT_ROUTES, outcome)))
+                .doOnError(RyanairAPIClient::isRefusedByResilience, RyanairAPIClient::throwServiceUnavailable)
+                .transform(Deadline::enforce);
     }
 
 
     /**
      * Retrieves flight schedules from the Ryanair backend based on the provided schedule request model.
+     * Concurrent calls for the same departure, arrival, year and month share a single upstream call;
+     * its result or failure is delivered to every subscriber, and the upstream call is cancelled only
+     * once all subscribers have cancelled. Each subscriber waits at most until the {@link Deadline} found in its
+     * own context, so a caller with a short deadline neither waits longer nor cuts the call short for the others.
+     * The shared call itself runs without a deadline; its retries are judged against the latest deadline among the
+     * subscribers still waiting for it, see {@link SubscriberDeadlines}.
      *
      * @param scheduleAPIRequestModel The schedule request model containing departure, arrival, year, and month information.
-     * @return org.ryanair.flight.api.A Mono emitting a ScheduleAPIResponseModel instance.
+     * @return org.ryanair.flight.api.A Mono emitting the MonthSchedule of the requested month.
      * @throws BackendInvocationException if there's an error invoking the backend service.
      */
     @Override
-    public Mono<ScheduleAPIResponseModel> getSchedules(ScheduleAPIRequestModel scheduleAPIRequestModel) throws BackendInvocationException {
-        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(Constant.DOWNSTREAM_SERVICE_NAME);
+    public Mono<MonthSchedule> getSchedules(ScheduleAPIRequestModel scheduleAPIRequestModel) throws BackendInvocationException {
+        ScheduleRequestKey key = ScheduleRequestKey.of(scheduleAPIRequestModel);
+        return Mono.defer(() -> inFlightSchedules.computeIfAbsent(key, requestKey -> {
+            SubscriberDeadlines subscriberDeadlines = new SubscriberDeadlines();
+            AtomicReference<Mono<MonthSchedule>> inFlight = new AtomicReference<>();
+            inFlight.set(subscriberDeadlines.track(fetchSchedules(scheduleAPIRequestModel)
+                    .contextWrite(context -> context.delete(Deadline.class).put(SubscriberDeadlines.class, subscriberDeadlines))
+                    .doFinally(signalType -> inFlightSchedules.remove(requestKey, inFlight.get()))
+                    .share()));
+            return inFlight.get();
+        })).transform(Deadline::enforce);
+    }
+
+    /**
+     * Calls the schedules endpoint of the Ryanair backend, hedging slow attempts when enabled.
+     *
+     * @param scheduleAPIRequestModel The schedule request model containing departure, arrival, year, and month information.
+     * @return org.ryanair.flight.api.A Mono emitting the MonthSchedule of the requested month.
+     */
+    private Mono<MonthSchedule> fetchSchedules(ScheduleAPIRequestModel scheduleAPIRequestModel) {
+        Mono<MonthSchedule> schedules = requestHedger.hedge(() -> callSchedules(scheduleAPIRequestModel)) // each attempt is hedged on its own
+                .transform(budgetedRetry::withRetries); // ORDER - If above, retry will complete before a failure is recorded by the circuit breakers
+        Optional<CircuitBreaker> routePairCircuitBreaker = routePairCircuitBreakers.forPair(scheduleAPIRequestModel.getDeparture(), scheduleAPIRequestModel.getArrival());
+        if (routePairCircuitBreaker.isPresent()) {
+            schedules = schedules.transformDeferred(CircuitBreakerOperator.of(routePairCircuitBreaker.get())); // ORDER - inside the endpoint breaker, which ignores the calls it refuses
+        }
+        return schedules
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreakerRegistry.circuitBreaker(Constant.RESILIENCE_SCHEDULES))) //ORDER - If written below, circuit breaker will record a single failure after the max-retry
+                .transformDeferred(BulkheadOperator.of(bulkheadRegistry.bulkhead(Constant.RESILIENCE_SCHEDULES)))
+                .transform(timedSchedules -> ReactorTimers.timed(timedSchedules, meterRegistry, outcome -> callTimer(Constant.ENDPOINT_SCHEDULES, outcome)))
+                .doOnError(RyanairAPIClient::isRefusedByResilience, RyanairAPIClient::throwServiceUnavailable);
+    }
+
+    /**
+     * Makes a single call to the schedules endpoint of the Ryanair backend, within the adaptive concurrency limit.
+     * The body is decoded as it arrives.
+     *
+     * @param scheduleAPIRequestModel The schedule request model containing departure, arrival, year, and month information.
+     * @return org.ryanair.flight.api.A Mono emitting the MonthSchedule of the requested month.
+     */
+    private Mono<MonthSchedule> callSchedules(ScheduleAPIRequestModel scheduleAPIRequestModel) {
         return webClient.get()
                 .uri(uriBuilder ->
                         uriBuilder
@@ -99,13 +168,33 @@ public class RyanairAPIClient implements APIClient {
                                 new BackendInvocationException(ResponseMessage.ERR_SERVICE_UNAVAILABLE, ResponseMessage.ERR_INVALID_RESP_FROM_BACKEND+" - " +clientResponse.statusCode(), HttpStatus.resolve(clientResponse.statusCode().value())
                                 )
                         )
-                )                .bodyToMono(ScheduleAPIResponseModel.class)
-                .transformDeferred(RetryOperator.of(retryRegistry.retry(Constant.DOWNSTREAM_SERVICE_NAME))) // ORDER - If above, retry will complete before a failure is recorded by the circuit breaker
-                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker)) //ORDER - If written below, circuit breaker will record a single failure after the max-retry
-                .doOnError(CallNotPermittedException.class::isInstance, throwable -> {
-                    log.error("Circuit Breaker is in [{}]... Providing fallback response without calling the API", circuitBreaker.getState());
-                    throw new BackendInvocationException(ResponseMessage.ERR_SERVICE_UNAVAILABLE , throwable.getMessage() , HttpStatus.SERVICE_UNAVAILABLE);
-                });
+                )
+                .bodyToFlux(DataBuffer.class)
+                .as(body -> StreamingScheduleDecoder.decode(body, scheduleAPIRequestModel))
+                .transform(concurrencyLimiter::limit); // each attempt, retries and hedges included, waits for a slot below the adaptive limit
+    }
+
+    /**
+     * Tells whether a call was refused by an open circuit breaker or a full bulkhead without reaching the backend.
+     */
+    private static boolean isRefusedByResilience(Throwable throwable) {
+        return throwable instanceof CallNotPermittedException || throwable instanceof BulkheadFullException;
+    }
+
+    private static void throwServiceUnavailable(Throwable throwable) {
+        log.error("{}... Providing fallback response without calling the API", throwable.getMessage());
+        throw new BackendInvocationException(ResponseMessage.ERR_SERVICE_UNAVAILABLE , throwable.getMessage() , HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Timer of backend calls, including retries, per endpoint and outcome.
+     */
+    private Timer callTimer(String endpoint, String outcome) {
+        return Timer.builder(Constant.METRIC_BACKEND_CLIENT_CALL)
+                .description("Calls to the Ryanair backend including retries")
+                .tag(Constant.TAG_ENDPOINT, endpoint)
+                .tag(Constant.TAG_OUTCOME, outcome)
+                .register(meterRegistry);
     }
 
 }
@@ -0,0 +1,210 @@
+package org.ryanair.flight.api.client.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.ryanair.flight.api.config.property.ConcurrencyLimitOverflowMode;
+import org.ryanair.flight.api.config.property.RyanairBackEndConcurrencyLimitConfiguration;
+import org.ryanair.flight.api.exception.BackendInvocationException;
+import org.ryanair.flight.api.exception.ConcurrencyLimitExceededException;
+import org.ryanair.flight.api.util.Constant;
+import org.ryanair.flight.api.util.ResponseMessage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limits the number of concurrent calls to the backend with an AIMD (additive increase, multiplicative decrease) limit.
+ * The limit grows by one for every call that completes in time while the limit is at least half used, and is
+ * multiplied by the backoff ratio for every call that fails with a congestion error (429, 5xx, timeout, connection
+ * failure) or takes longer than the latency threshold. Calls beyond the limit are queued or shed depending on the
+ * overflow mode. The limit, in-flight calls and queue depth are exposed as gauges.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private final RyanairBackEndConcurrencyLimitConfiguration configuration;
+    private final Counter rejectedCalls;
+
+    private final Object lock = new Object();
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+
+    @Autowired
+    public AdaptiveConcurrencyLimiter(RyanairBackEndConcurrencyLimitConfiguration configuration, MeterRegistry meterRegistry) {
+        this.configuration = configuration;
+        this.limit = configuration.getInitialLimit();
+        Gauge.builder(Constant.METRIC_BACKEND_CONCURRENCY_LIMIT, this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current limit of concurrent backend schedule calls")
+                .register(meterRegistry);
+        Gauge.builder(Constant.METRIC_BACKEND_CONCURRENCY_IN_FLIGHT, this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Backend schedule calls currently in flight")
+                .register(meterRegistry);
+        Gauge.builder(Constant.METRIC_BACKEND_CONCURRENCY_QUEUE, this, AdaptiveConcurrencyLimiter::getQueueDepth)
+                .description("Backend schedule calls waiting for the concurrency limit")
+                .register(meterRegistry);
+        this.rejectedCalls = Counter.builder(Constant.METRIC_BACKEND_CONCURRENCY_REJECTED)
+                .description("Backend schedule calls shed by the concurrency limit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the given call once a slot below the concurrency limit is available.
+     * Each subscription takes its own slot, so every retry attempt is limited too.
+     *
+     * @param call The backend call to limit.
+     * @return org.ryanair.flight.api.A Mono emitting the result of the call, or failing with
+     * {@link ConcurrencyLimitExceededException} if the call was shed.
+     */
+    public <T> Mono<T> limit(Mono<T> call) {
+        if (!configuration.isEnabled()) {
+            return call;
+        }
+        return acquire().flatMap(permit -> call
+                .doOnSuccess(value -> permit.release(false))
+                .doOnError(throwable -> permit.release(isCongestion(throwable)))
+                .doOnCancel(permit::cancel));
+    }
+
+    public int getLimit() {
+        synchronized (lock) {
+            return (int) limit;
+        }
+    }
+
+    public int getInFlight() {
+        synchronized (lock) {
+            return inFlight;
+        }
+    }
+
+    public int getQueueDepth() {
+        synchronized (lock) {
+            return waiters.size();
+        }
+    }
+
+    /**
+     * Takes a slot straight away, queues for one or sheds the call.
+     * A permit handed to a waiter that cancelled in the meantime is discarded and given back.
+     */
+    private Mono<Permit> acquire() {
+        return Mono.<Permit>create(sink -> {
+                    Permit permit = null;
+                    synchronized (lock) {
+                        if (inFlight < (int) limit) {
+                            inFlight++;
+                            permit = new Permit();
+                        } else if (configuration.getOverflowMode() == ConcurrencyLimitOverflowMode.QUEUE
+                                && waiters.size() < configuration.getMaxQueueSize()) {
+                            Waiter waiter = new Waiter(sink);
+                            waiters.addLast(waiter);
+                            sink.onCancel(waiter::cancel);
+                            return;
+                        }
+                    }
+                    if (Objects.nonNull(permit)) {
+                        sink.success(permit);
+                    } else {
+                        rejectedCalls.increment();
+                        sink.error(new ConcurrencyLimitExceededException(ResponseMessage.ERR_SERVICE_UNAVAILABLE, ResponseMessage.ERR_CONCURRENCY_LIMIT_EXCEEDED));
+                    }
+                })
+                .doOnDiscard(Permit.class, Permit::cancel);
+    }
+
+    /**
+     * Gives a slot back, adjusts the limit and hands the freed slots to the queued calls.
+     *
+     * @param adjust  Whether the completed call tells anything about the backend (cancelled calls do not).
+     * @param dropped Whether the completed call signalled congestion.
+     */
+    private void release(boolean adjust, boolean dropped) {
+        List<Waiter> granted = new ArrayList<>();
+        synchronized (lock) {
+            if (adjust) {
+                if (dropped) {
+                    limit = Math.max(configuration.getMinLimit(), limit * configuration.getBackoffRatio());
+                } else if (inFlight * 2 >= limit) {
+                    limit = Math.min(configuration.getMaxLimit(), limit + 1);
+                }
+            }
+            inFlight--;
+            while (inFlight < (int) limit && !waiters.isEmpty()) {
+                Waiter waiter = waiters.pollFirst();
+                if (waiter.claim()) {
+                    inFlight++;
+                    granted.add(waiter);
+                }
+            }
+        }
+        granted.forEach(waiter -> waiter.sink.success(new Permit()));
+    }
+
+    /**
+     * Tells whether a failed call points at an overloaded backend rather than at a bad request.
+     */
+    private static boolean isCongestion(Throwable throwable) {
+        if (throwable instanceof BackendInvocationException backendInvocationException && Objects.nonNull(backendInvocationException.getStatus())) {
+            HttpStatus status = backendInvocationException.getStatus();
+            return status == HttpStatus.TOO_MANY_REQUESTS || status.is5xxServerError();
+        }
+        return true;
+    }
+
+    /**
+     * A slot below the limit, given back exactly once.
+     */
+    private final class Permit {
+        private final long started = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        void release(boolean failedWithCongestion) {
+            if (released.compareAndSet(false, true)) {
+                boolean slow = System.nanoTime() - started > TimeUnit.MILLISECONDS.toNanos(configuration.getLatencyThresholdMs());
+                AdaptiveConcurrencyLimiter.this.release(true, failedWithCongestion || slow);
+            }
+        }
+
+        void cancel() {
+            if (released.compareAndSet(false, true)) {
+                AdaptiveConcurrencyLimiter.this.release(false, false);
+            }
+        }
+    }
+
+    /**
+     * A queued call, either granted a slot or cancelled, whichever comes first.
+     */
+    private final class Waiter {
+        private final MonoSink<Permit> sink;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+
+        boolean claim() {
+            return done.compareAndSet(false, true);
+        }
+
+        void cancel() {
+            if (claim()) {
+                synchronized (lock) {
+                    waiters.remove(this);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package org.ryanair.flight.api.client.logging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.ryanair.flight.api.config.property.RyanairBackEndLoggingConfiguration;
+import org.ryanair.flight.api.util.Constant;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs the metadata of backend calls (method, URL, status and time to the response headers) for a sample of the
+ * calls and for every failed call. The response body is never buffered: when body capture is enabled, the first
+ * bytes of the body of a logged call are copied as its buffers pass through, and the call is logged once the body
+ * was read. The bodies of the other calls are handed on untouched.
+ */
+@Component
+@Slf4j
+public class SampledExchangeLoggingFilter implements ExchangeFilterFunction {
+
+    private final RyanairBackEndLoggingConfiguration configuration;
+    private final Counter sampledCalls;
+    private final Counter failedCalls;
+
+    @Autowired
+    public SampledExchangeLoggingFilter(RyanairBackEndLoggingConfiguration configuration, MeterRegistry meterRegistry) {
+        this.configuration = configuration;
+        this.sampledCalls = Counter.builder(Constant.METRIC_BACKEND_CALLS_LOGGED)
+                .tag(Constant.TAG_REASON, Constant.LOG_REASON_SAMPLED)
+                .description("Backend calls logged")
+                .register(meterRegistry);
+        this.failedCalls = Counter.builder(Constant.METRIC_BACKEND_CALLS_LOGGED)
+                .tag(Constant.TAG_REASON, Constant.LOG_REASON_FAILED)
+                .description("Backend calls logged")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            boolean sampled = isSampled();
+            long started = System.nanoTime();
+            return next.exchange(request)
+                    .map(response -> logged(request, response, sampled, started))
+                    .doOnError(throwable -> {
+                        failedCalls.increment();
+                        log.warn("Backend call [{}] [{}] failed after [{}] ms - {}",
+                                request.method(), request.url(), elapsedMs(started), throwable.toString());
+                    });
+        });
+    }
+
+    /**
+     * Logs the call if it was sampled or failed, after its body was read when the body is captured.
+     *
+     * @return the response, with a body that copies its first bytes as they pass when the body is captured.
+     */
+    private ClientResponse logged(ClientRequest request, ClientResponse response, boolean sampled, long started) {
+        boolean failed = response.statusCode().isError();
+        if (!sampled && !failed) {
+            return response;
+        }
+        (failed ? failedCalls : sampledCalls).increment();
+        long elapsedMs = elapsedMs(started);
+        if (!configuration.isBodyCaptureEnabled()) {
+            logCall(request, response, failed, elapsedMs, null);
+            return response;
+        }
+        BodyExcerpt excerpt = new BodyExcerpt(configuration.getBodyCaptureMaxBytes());
+        return response.mutate()
+                .body(body -> body
+                        .doOnNext(excerpt::append)
+                        .doFinally(signal -> logCall(request, response, failed, elapsedMs, excerpt)))
+                .build();
+    }
+
+    private static void logCall(ClientRequest request, ClientResponse response, boolean failed, long elapsedMs, BodyExcerpt excerpt) {
+        if (failed) {
+            log.warn("Backend call [{}] [{}] answered [{}] in [{}] ms{}",
+                    request.method(), request.url(), response.statusCode(), elapsedMs, bodySuffix(excerpt));
+        } else {
+            log.info("Backend call [{}] [{}] answered [{}] in [{}] ms{}",
+                    request.method(), request.url(), response.statusCode(), elapsedMs, bodySuffix(excerpt));
+        }
+    }
+
+    private static String bodySuffix(BodyExcerpt excerpt) {
+        return excerpt == null ? "" : " with body [" + excerpt + "]";
+    }
+
+    private boolean isSampled() {
+        double sampleRate = configuration.getSampleRate();
+        return sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private static long elapsedMs(long started) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+    }
+
+    /**
+     * The first bytes of a response body, copied without moving the read position of the buffers.
+     */
+    private static final class BodyExcerpt {
+        private final byte[] bytes;
+        private int size;
+        private boolean truncated;
+
+        BodyExcerpt(int maxBytes) {
+            this.bytes = new byte[Math.max(0, maxBytes)];
+        }
+
+        void append(DataBuffer buffer) {
+            int readable = buffer.readableByteCount();
+            int copied = Math.min(readable, bytes.length - size);
+            int readPosition = buffer.readPosition();
+            for (int i = 0; i < copied; i++) {
+                bytes[size++] = buffer.getByte(readPosition + i);
+            }
+            truncated |= copied < readable;
+        }
+
+        @Override
+        public String toString() {
+            return new String(bytes, 0, size, StandardCharsets.UTF_8) + (truncated ? "..." : "");
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.ryanair.flight.api.client.pool;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.ryanair.flight.api.util.Constant;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times how long backend calls wait for a connection: from the subscription of the exchange, stamped in its
+ * subscriber context by this filter, until the HTTP client has a pooled connection (or HTTP/2 stream) to send
+ * the request on. The time includes waiting in the pending acquire queue and opening new connections, which the
+ * connection pool gauges do not show.
+ */
+@Component
+public class ConnectionAcquireTimer implements ExchangeFilterFunction {
+
+    private final Timer acquireTimer;
+
+    @Autowired
+    public ConnectionAcquireTimer(MeterRegistry meterRegistry) {
+        this.acquireTimer = Timer.builder(Constant.METRIC_BACKEND_CONNECTION_ACQUIRE)
+                .description("Time backend calls waited for a pooled connection")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return next.exchange(request)
+                .contextWrite(context -> context.put(ConnectionAcquireTimer.class, System.nanoTime()));
+    }
+
+    /**
+     * @param httpClient The HTTP client of the WebClient this filter is registered on.
+     * @return the HTTP client, recording the acquire time of each request once it has a connection.
+     */
+    public HttpClient instrument(HttpClient httpClient) {
+        return httpClient.doOnRequest((request, connection) -> request.currentContextView()
+                .<Long>getOrEmpty(ConnectionAcquireTimer.class)
+                .ifPresent(started -> acquireTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS)));
+    }
+}
@@ -0,0 +1,66 @@
+package org.ryanair.flight.api.client.resilience;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.ryanair.flight.api.config.property.RyanairBackEndResilienceConfiguration;
+import org.ryanair.flight.api.util.Constant;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounded registry of circuit breakers per departure and arrival pair, so a single misbehaving pair is cut off
+ * without opening the breaker of the whole schedules endpoint. The breakers are built from the
+ * {@link Constant#RESILIENCE_ROUTE_PAIR_CONFIG} configuration of the circuit breaker registry but are not
+ * registered in it; pairs not called for the idle expiry are evicted, as are the least used pairs above the maximum.
+ */
+@Component
+public class RoutePairCircuitBreakers {
+
+    private final boolean enabled;
+    private final CircuitBreakerConfig circuitBreakerConfig;
+    private final Cache<String, CircuitBreaker> circuitBreakers;
+
+    @Autowired
+    public RoutePairCircuitBreakers(RyanairBackEndResilienceConfiguration resilienceConfiguration, CircuitBreakerRegistry circuitBreakerRegistry, MeterRegistry meterRegistry) {
+        this.enabled = resilienceConfiguration.isRoutePairBreakersEnabled();
+        this.circuitBreakerConfig = circuitBreakerRegistry.getConfiguration(Constant.RESILIENCE_ROUTE_PAIR_CONFIG)
+                .orElseGet(circuitBreakerRegistry::getDefaultConfig);
+        this.circuitBreakers = Caffeine.newBuilder()
+                .maximumSize(resilienceConfiguration.getRoutePairBreakersMaxPairs())
+                .expireAfterAccess(Duration.ofMillis(resilienceConfiguration.getRoutePairBreakersIdleExpiryMs()))
+                .build();
+        Gauge.builder(Constant.METRIC_ROUTE_PAIR_BREAKERS, circuitBreakers, cache -> cache.estimatedSize())
+                .description("Route pair circuit breakers held")
+                .register(meterRegistry);
+        Gauge.builder(Constant.METRIC_ROUTE_PAIR_BREAKERS_OPEN, circuitBreakers, cache -> countInState(cache, CircuitBreaker.State.OPEN))
+                .description("Route pair circuit breakers currently open")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the circuit breaker of the pair, creating it on first use.
+     *
+     * @param departure The departure IATA code.
+     * @param arrival   The arrival IATA code.
+     * @return The circuit breaker of the pair, or empty if route pair breakers are disabled.
+     */
+    public Optional<CircuitBreaker> forPair(String departure, String arrival) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.of(circuitBreakers.get(departure + "-" + arrival,
+                pair -> CircuitBreaker.of(Constant.RESILIENCE_SCHEDULES + "-" + pair, circuitBreakerConfig)));
+    }
+
+    private static long countInState(Cache<String, CircuitBreaker> cache, CircuitBreaker.State state) {
+        return cache.asMap().values().stream().filter(circuitBreaker -> circuitBreaker.getState() == state).count();
+    }
+}
@@ -0,0 +1,124 @@
+package org.ryanair.flight.api.client.retry;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.ryanair.flight.api.client.budget.TokenBucket;
+import org.ryanair.flight.api.config.property.RyanairBackEndRetryConfiguration;
+import org.ryanair.flight.api.exception.BackendInvocationException;
+import org.ryanair.flight.api.exception.ConcurrencyLimitExceededException;
+import org.ryanair.flight.api.util.Constant;
+import org.ryanair.flight.api.util.Deadline;
+import org.ryanair.flight.api.util.SubscriberDeadlines;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retries failed backend calls with jittered exponential backoff, within a retry budget shared by all calls.
+ * Every successful call deposits the budget ratio into a token bucket and every retry withdraws a whole token,
+ * so during a brownout retries stay below that fraction of the recent successful calls instead of multiplying
+ * the load. A retry is not attempted when the {@link Deadline} found in the subscriber context, or the latest of the
+ * {@link SubscriberDeadlines} of a shared call, leaves less than the backoff plus the minimum attempt time. Calls refused locally and client errors other than 429 are not retried.
+ */
+@Component
+@Slf4j
+public class BudgetedRetry {
+
+    private final RyanairBackEndRetryConfiguration configuration;
+    private final MeterRegistry meterRegistry;
+    private final TokenBucket budget;
+
+    @Autowired
+    public BudgetedRetry(RyanairBackEndRetryConfiguration configuration, MeterRegistry meterRegistry) {
+        this.configuration = configuration;
+        this.meterRegistry = meterRegistry;
+        this.budget = new TokenBucket(configuration.getBudgetRatio(), configuration.getBudgetMaxTokens(), configuration.getBudgetMaxTokens());
+        Gauge.builder(Constant.METRIC_BACKEND_RETRY_BUDGET, budget, TokenBucket::getTokens)
+                .description("Retries currently allowed by the retry budget")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Subscribes to the call again after a retryable failure, as long as attempts, budget and deadline allow.
+     *
+     * @param call The backend call, subscribed once per attempt.
+     * @return org.ryanair.flight.api.A Mono emitting the result of the first successful attempt, or the last failure.
+     */
+    public <T> Mono<T> withRetries(Mono<T> call) {
+        return Mono.deferContextual(contextView -> call
+                .retryWhen(Retry.from(retrySignals -> retrySignals.concatMap(retrySignal ->
+                        nextAttempt(retrySignal.failure(), retrySignal.totalRetries(), deadlineOf(contextView)))))
+                .doOnSuccess(value -> budget.deposit()));
+    }
+
+    /**
+     * Decides whether a failed attempt is retried.
+     *
+     * @return a Mono emitting after the backoff to retry, or failing with the attempt's failure to give up.
+     */
+    private Mono<Long> nextAttempt(Throwable failure, long retriesSoFar, Optional<Deadline> deadline) {
+        if (!isRetryable(failure) || retriesSoFar + 1 >= configuration.getMaxAttempts()) {
+            return Mono.error(failure);
+        }
+        Duration backoff = jitteredBackoff(retriesSoFar);
+        if (deadline.isPresent() && deadline.get().remaining().compareTo(backoff.plusMillis(configuration.getMinAttemptTimeMs())) < 0) {
+            countRetry(Constant.RETRY_OUTCOME_DEADLINE);
+            return Mono.error(failure);
+        }
+        if (!budget.tryWithdraw()) {
+            countRetry(Constant.RETRY_OUTCOME_BUDGET_EXHAUSTED);
+            log.warn("Retry budget exhausted, not retrying - {}", failure.getMessage());
+            return Mono.error(failure);
+        }
+        countRetry(Constant.RETRY_OUTCOME_RETRIED);
+        return Mono.delay(backoff);
+    }
+
+    /**
+     * The deadline a retry has to fit in, looked up at each retry as the subscribers of a shared call come and go.
+     */
+    private static Optional<Deadline> deadlineOf(ContextView contextView) {
+        return contextView.<SubscriberDeadlines>getOrEmpty(SubscriberDeadlines.class)
+                .map(SubscriberDeadlines::latest)
+                .orElseGet(() -> contextView.getOrEmpty(Deadline.class));
+    }
+
+    /**
+     * Exponential backoff of the given retry, capped and spread uniformly by the jitter ratio around its value.
+     */
+    private Duration jitteredBackoff(long retriesSoFar) {
+        double backoffMs = Math.min(configuration.getMaxBackoffMs(),
+                configuration.getInitialBackoffMs() * Math.pow(configuration.getBackoffMultiplier(), retriesSoFar));
+        double jitterMs = backoffMs * configuration.getJitter();
+        double jitteredMs = jitterMs > 0
+                ? ThreadLocalRandom.current().nextDouble(backoffMs - jitterMs, backoffMs + jitterMs)
+                : backoffMs;
+        return Duration.ofMillis(Math.max(0, Math.round(jitteredMs)));
+    }
+
+    private static boolean isRetryable(Throwable failure) {
+        if (failure instanceof ConcurrencyLimitExceededException || failure instanceof CallNotPermittedException || failure instanceof BulkheadFullException) {
+            return false;
+        }
+        if (failure instanceof BackendInvocationException backendInvocationException && Objects.nonNull(backendInvocationException.getStatus())) {
+            HttpStatus status = backendInvocationException.getStatus();
+            return !status.is4xxClientError() || status == HttpStatus.TOO_MANY_REQUESTS;
+        }
+        return true;
+    }
+
+    private void countRetry(String outcome) {
+        meterRegistry.counter(Constant.METRIC_BACKEND_RETRY, Constant.TAG_OUTCOME, outcome).increment();
+    }
+}
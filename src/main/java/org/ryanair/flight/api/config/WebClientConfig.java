@@ -2,10 +2,15 @@ package org.ryanair.flight.api.config;
 
 
 import io.netty.channel.ChannelOption;
-import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.logging.LogLevel;
 import io.netty.handler.timeout.WriteTimeoutHandler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.ryanair.flight.api.client.logging.SampledExchangeLoggingFilter;
+import org.ryanair.flight.api.client.pool.ConnectionAcquireTimer;
+import org.ryanair.flight.api.config.property.RyanairBackEndConnectionPoolConfiguration;
+import org.ryanair.flight.api.config.property.RyanairBackEndEventLoopConfiguration;
+import org.ryanair.flight.api.config.property.RyanairBackEndLoggingConfiguration;
 import org.ryanair.flight.api.config.property.RyanairBackEndPropertyConfiguration;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
@@ -14,13 +19,14 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.reactive.ClientHttpConnector;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
-import org.springframework.web.reactive.function.client.ClientResponse;
-import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
-import reactor.core.publisher.Mono;
+import reactor.netty.http.client.Http2AllocationStrategy;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
 
+import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -32,25 +38,84 @@ import java.util.concurrent.TimeUnit;
 public class WebClientConfig {
 
     private final RyanairBackEndPropertyConfiguration propertyConfiguration;
+    private final RyanairBackEndConnectionPoolConfiguration connectionPoolConfiguration;
+    private final RyanairBackEndEventLoopConfiguration eventLoopConfiguration;
+    private final RyanairBackEndLoggingConfiguration loggingConfiguration;
+    private final SampledExchangeLoggingFilter loggingFilter;
+    private final ConnectionAcquireTimer connectionAcquireTimer;
+
+    /**
+     * Provides the pool of connections to the backend. Idle connections are evicted in the background and no
+     * connection outlives its max life time, so connections to instances the backend has since replaced are renewed.
+     * Callers wait for a connection up to the pending acquire limits. When HTTP/2 is negotiated, calls are multiplexed
+     * as streams over the pooled connections. With metrics enabled, the pool reports its connections and pending
+     * acquisitions under reactor.netty.connection.provider.
+     *
+     * @return The backend connection pool, disposed with the application context.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider backendConnectionProvider() {
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(connectionPoolConfiguration.getName())
+                .maxConnections(connectionPoolConfiguration.getMaxConnections())
+                .pendingAcquireMaxCount(connectionPoolConfiguration.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(Duration.ofMillis(connectionPoolConfiguration.getPendingAcquireTimeoutMs()))
+                .maxIdleTime(Duration.ofMillis(connectionPoolConfiguration.getMaxIdleTimeMs()))
+                .maxLifeTime(Duration.ofMillis(connectionPoolConfiguration.getMaxLifeTimeMs()))
+                .evictInBackground(Duration.ofMillis(connectionPoolConfiguration.getEvictInBackgroundMs()))
+                .metrics(connectionPoolConfiguration.isMetricsEnabled());
+        if (connectionPoolConfiguration.isHttp2Enabled()) {
+            builder.allocationStrategy(Http2AllocationStrategy.builder()
+                    .maxConnections(connectionPoolConfiguration.getMaxConnections())
+                    .maxConcurrentStreams(connectionPoolConfiguration.getHttp2MaxConcurrentStreams())
+                    .build());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Provides the event loops of the backend WebClient, apart from the loops of the server accepting and answering
+     * searches, so a wide fan-out of schedule calls and the work done on their responses does not delay incoming
+     * requests. The threads are only started once the client connects on them, which it does when dedicated event
+     * loops are enabled; otherwise the client shares the server's loops.
+     *
+     * @return The backend client event loops, disposed with the application context.
+     */
+    @Bean(destroyMethod = "dispose")
+    public LoopResources backendLoopResources() {
+        return LoopResources.create(eventLoopConfiguration.getThreadPrefix(), eventLoopConfiguration.getWorkerCount(), true);
+    }
 
     /**
      * Configures and provides a WebClient bean for making HTTP requests.
      *
+     * @param connectionProvider The pool of connections to the backend.
+     * @param loopResources      The event loops of the backend client, used when dedicated event loops are enabled.
      * @return Configured WebClient instance.
      */
     @Bean
-    public WebClient webclient() {
+    public WebClient webclient(ConnectionProvider connectionProvider, LoopResources loopResources) {
+
+        // Configure HTTP client options; the read timeout applies to each response rather than to the connection,
+        // so pooled connections and HTTP/2 connections shared by several calls are not closed while idle
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .protocol(connectionPoolConfiguration.getProtocols())
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, propertyConfiguration.getConnectTimeout())
+                .responseTimeout(Duration.ofMillis(propertyConfiguration.getReadTimeout()))
+                .doOnConnected(conn -> conn
+                        .addHandlerLast(new WriteTimeoutHandler(propertyConfiguration.getWriteTimeout(), TimeUnit.MILLISECONDS)));
+
+        // Run on dedicated event loops, with the native epoll transport on Linux when preferred and available
+        if (eventLoopConfiguration.isDedicated()) {
+            httpClient = httpClient.runOn(loopResources, eventLoopConfiguration.isPreferNative());
+        }
 
-        // Configure HTTP client options
-        HttpClient httpClient = HttpClient.create()
-                .tcpConfiguration(client ->
-                        client.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, propertyConfiguration.getConnectTimeout())
-                                .doOnConnected(conn -> conn
-                                        .addHandler(new ReadTimeoutHandler(propertyConfiguration.getReadTimeout(), TimeUnit.MILLISECONDS))
-                                        .addHandlerLast(new WriteTimeoutHandler(propertyConfiguration.getWriteTimeout(), TimeUnit.MILLISECONDS))));
+        // Wire level logging of the connections, off unless troubleshooting
+        if (loggingConfiguration.isWiretapEnabled()) {
+            httpClient = httpClient.wiretap(HttpClient.class.getName(), LogLevel.DEBUG, loggingConfiguration.getWiretapFormat());
+        }
 
         // Create a ReactorClientHttpConnector with the configured HTTP client
-        ClientHttpConnector connector = new ReactorClientHttpConnector(httpClient.wiretap(true));
+        ClientHttpConnector connector = new ReactorClientHttpConnector(connectionAcquireTimer.instrument(httpClient));
 
         // Configure exchange strategies for handling response body
         final int size = propertyConfiguration.getMaxInMemBufferSizeMb() * 1024 * 1024;
@@ -62,28 +127,9 @@ public class WebClientConfig {
                 .baseUrl(propertyConfiguration.getBaseUrl())
                 .clientConnector(connector)
                 .exchangeStrategies(strategies)
-                .filter(logRequestDetails())
-                .filter(logResponseDetails())
+                .filter(loggingFilter)
+                .filter(connectionAcquireTimer)
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .build();
     }
-
-    private ExchangeFilterFunction logRequestDetails() {
-        return ExchangeFilterFunction.ofRequestProcessor(clientRequest -> {
-            log.info("Sending [{}] request to URL [{}] with request headers [{}]",
-                    clientRequest.method(), clientRequest.url(), clientRequest.headers());
-            return Mono.just(clientRequest);
-        });
-    }
-
-    private ExchangeFilterFunction logResponseDetails() {
-        return ExchangeFilterFunction.ofResponseProcessor(clientResponse ->
-                clientResponse.bodyToMono(String.class).defaultIfEmpty("").flatMap(responseBody -> {
-                    final ClientResponse orgClientResponse = clientResponse.mutate().body(responseBody).build();
-                    log.info("Received response from API with status [{}]",
-                            clientResponse.statusCode());
-                    return Mono.just(orgClientResponse);
-                })
-        );
-    }
 }
@@ -0,0 +1,15 @@
+package org.ryanair.flight.api.config.property;
+
+/**
+ * Defines what happens to a backend call made while the concurrency limit is reached.
+ */
+public enum ConcurrencyLimitOverflowMode {
+    /**
+     * The call waits in a bounded queue until an in-flight call completes. Calls are shed once the queue is full.
+     */
+    QUEUE,
+    /**
+     * The call is rejected straight away.
+     */
+    SHED
+}
@@ -0,0 +1,32 @@
+package org.ryanair.flight.api.config.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Holds the properties tuning how a flight search is planned and executed.
+ */
+@Configuration
+@RefreshScope
+@Getter
+@Setter
+public class FlightSearchPropertyConfiguration {
+
+    @Value("${flight.search.interconnect.fetch-mode:PARALLEL}")
+    private InterconnectFetchMode interconnectFetchMode = InterconnectFetchMode.PARALLEL;
+
+    @Value("${flight.search.batch.concurrency:16}")
+    private int batchConcurrency = 16;
+
+    @Value("${flight.search.join.strategy:PARALLEL}")
+    private JoinExecutionStrategy joinStrategy = JoinExecutionStrategy.PARALLEL;
+
+    @Value("${flight.search.join.offload-threshold:5000}")
+    private int joinOffloadThreshold = 5000;
+
+    @Value("${flight.search.join.parallelism:0}")
+    private int joinParallelism = 0;
+}
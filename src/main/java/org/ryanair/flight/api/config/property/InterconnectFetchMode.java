@@ -0,0 +1,16 @@
+package org.ryanair.flight.api.config.property;
+
+/**
+ * Defines how the first and second leg schedules of an interconnected route are fetched.
+ */
+public enum InterconnectFetchMode {
+    /**
+     * First and second leg schedules are fetched at the same time for every hub and month.
+     */
+    PARALLEL,
+    /**
+     * First leg schedules are fetched first and the second leg of a month is only fetched when a first leg of that
+     * month or an earlier one can still connect to it. Finds the same connections as {@link #PARALLEL}.
+     */
+    PRUNED
+}
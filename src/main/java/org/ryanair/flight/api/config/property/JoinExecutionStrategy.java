@@ -0,0 +1,21 @@
+package org.ryanair.flight.api.config.property;
+
+/**
+ * Defines where the join of fetched flights into the final responses runs once its input reaches the offload threshold.
+ * Smaller joins always run inline.
+ */
+public enum JoinExecutionStrategy {
+    /**
+     * The join runs on the thread that delivered its input, usually the event loop of the last backend response.
+     */
+    INLINE,
+    /**
+     * The join runs on a bounded pool of platform threads, one per available processor unless configured otherwise.
+     */
+    PARALLEL,
+    /**
+     * The join runs on a virtual thread, carried by the JVM's pool of carrier threads. As with {@link #PARALLEL},
+     * at most as many joins as the configured parallelism run at once.
+     */
+    VIRTUAL_THREAD
+}
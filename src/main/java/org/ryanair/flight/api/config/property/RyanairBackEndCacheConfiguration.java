@@ -0,0 +1,32 @@
+package org.ryanair.flight.api.config.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Holds the in-memory caching properties applied on top of the backend API data.
+ */
+@Configuration
+@RefreshScope
+@Getter
+@Setter
+public class RyanairBackEndCacheConfiguration {
+
+    @Value("${backend.ryanair.cache.routes.enabled:true}")
+    private boolean routeSnapshotEnabled = true;
+    @Value("${backend.ryanair.cache.routes.refresh-interval-ms:3600000}")
+    private long routeSnapshotRefreshIntervalMs = 3600000;
+    @Value("${backend.ryanair.cache.schedules.enabled:true}")
+    private boolean scheduleCacheEnabled = true;
+    @Value("${backend.ryanair.cache.schedules.ttl-ms:300000}")
+    private long scheduleCacheTtlMs = 300000;
+    @Value("${backend.ryanair.cache.schedules.max-weight-flights:500000}")
+    private long scheduleCacheMaxWeightFlights = 500000;
+    @Value("${backend.ryanair.cache.stale-while-revalidate.enabled:false}")
+    private boolean staleWhileRevalidateEnabled = false;
+    @Value("${backend.ryanair.cache.stale-while-revalidate.stale-window-ms:3600000}")
+    private long staleWindowMs = 3600000;
+}
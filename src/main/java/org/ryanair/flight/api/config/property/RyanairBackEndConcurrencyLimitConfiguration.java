@@ -0,0 +1,34 @@
+package org.ryanair.flight.api.config.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Holds the properties of the adaptive limit on concurrent schedule calls to the backend API.
+ */
+@Configuration
+@RefreshScope
+@Getter
+@Setter
+public class RyanairBackEndConcurrencyLimitConfiguration {
+
+    @Value("${backend.ryanair.concurrency-limit.enabled:true}")
+    private boolean enabled = true;
+    @Value("${backend.ryanair.concurrency-limit.initial-limit:20}")
+    private int initialLimit = 20;
+    @Value("${backend.ryanair.concurrency-limit.min-limit:2}")
+    private int minLimit = 2;
+    @Value("${backend.ryanair.concurrency-limit.max-limit:200}")
+    private int maxLimit = 200;
+    @Value("${backend.ryanair.concurrency-limit.backoff-ratio:0.9}")
+    private double backoffRatio = 0.9;
+    @Value("${backend.ryanair.concurrency-limit.latency-threshold-ms:2000}")
+    private long latencyThresholdMs = 2000;
+    @Value("${backend.ryanair.concurrency-limit.overflow-mode:QUEUE}")
+    private ConcurrencyLimitOverflowMode overflowMode = ConcurrencyLimitOverflowMode.QUEUE;
+    @Value("${backend.ryanair.concurrency-limit.max-queue-size:1000}")
+    private int maxQueueSize = 1000;
+}
@@ -0,0 +1,51 @@
+package org.ryanair.flight.api.config.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.HttpProtocol;
+
+/**
+ * Holds the properties of the pooled connections to the backend API and of the HTTP protocols negotiated on them.
+ */
+@Configuration
+@RefreshScope
+@Getter
+@Setter
+public class RyanairBackEndConnectionPoolConfiguration {
+
+    @Value("${backend.ryanair.connection-pool.name:ryanair-backend}")
+    private String name = "ryanair-backend";
+    @Value("${backend.ryanair.connection-pool.max-connections:500}")
+    private int maxConnections = 500;
+    @Value("${backend.ryanair.connection-pool.pending-acquire-max-count:1000}")
+    private int pendingAcquireMaxCount = 1000;
+    @Value("${backend.ryanair.connection-pool.pending-acquire-timeout-ms:5000}")
+    private long pendingAcquireTimeoutMs = 5000;
+    @Value("${backend.ryanair.connection-pool.max-idle-time-ms:30000}")
+    private long maxIdleTimeMs = 30000;
+    @Value("${backend.ryanair.connection-pool.max-life-time-ms:300000}")
+    private long maxLifeTimeMs = 300000;
+    @Value("${backend.ryanair.connection-pool.evict-in-background-ms:60000}")
+    private long evictInBackgroundMs = 60000;
+    @Value("${backend.ryanair.connection-pool.metrics-enabled:true}")
+    private boolean metricsEnabled = true;
+    @Value("${backend.ryanair.connection-pool.protocols:HTTP11}")
+    private HttpProtocol[] protocols = {HttpProtocol.HTTP11};
+    @Value("${backend.ryanair.connection-pool.http2.max-concurrent-streams:100}")
+    private long http2MaxConcurrentStreams = 100;
+
+    /**
+     * @return whether HTTP/2 (h2 over TLS or h2c in clear text) may be negotiated with the backend.
+     */
+    public boolean isHttp2Enabled() {
+        for (HttpProtocol protocol : protocols) {
+            if (protocol == HttpProtocol.H2 || protocol == HttpProtocol.H2C) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
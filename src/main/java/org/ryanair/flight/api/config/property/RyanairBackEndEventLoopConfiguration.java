@@ -0,0 +1,33 @@
+package org.ryanair.flight.api.config.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Holds the properties of the event loops the backend WebClient runs on.
+ */
+@Configuration
+@RefreshScope
+@Getter
+@Setter
+public class RyanairBackEndEventLoopConfiguration {
+
+    @Value("${backend.ryanair.event-loop.dedicated:true}")
+    private boolean dedicated = true;
+    @Value("${backend.ryanair.event-loop.threads:0}")
+    private int threads = 0;
+    @Value("${backend.ryanair.event-loop.thread-prefix:backend-client}")
+    private String threadPrefix = "backend-client";
+    @Value("${backend.ryanair.event-loop.prefer-native:true}")
+    private boolean preferNative = true;
+
+    /**
+     * @return the configured number of event loop threads, or one per available processor (at least four) when not set.
+     */
+    public int getWorkerCount() {
+        return threads > 0 ? threads : Math.max(Runtime.getRuntime().availableProcessors(), 4);
+    }
+}
@@ -0,0 +1,36 @@
+package org.ryanair.flight.api.config.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Holds the properties of hedged schedule calls to the backend API.
+ */
+@Configuration
+@RefreshScope
+@Getter
+@Setter
+public class RyanairBackEndHedgingConfiguration {
+
+    @Value("${backend.ryanair.hedging.enabled:false}")
+    private boolean enabled = false;
+    @Value("${backend.ryanair.hedging.delay-percentile:0.95}")
+    private double delayPercentile = 0.95;
+    @Value("${backend.ryanair.hedging.initial-delay-ms:500}")
+    private long initialDelayMs = 500;
+    @Value("${backend.ryanair.hedging.min-delay-ms:20}")
+    private long minDelayMs = 20;
+    @Value("${backend.ryanair.hedging.max-delay-ms:2000}")
+    private long maxDelayMs = 2000;
+    @Value("${backend.ryanair.hedging.min-samples:100}")
+    private int minSamples = 100;
+    @Value("${backend.ryanair.hedging.sample-window:1000}")
+    private int sampleWindow = 1000;
+    @Value("${backend.ryanair.hedging.budget-ratio:0.1}")
+    private double budgetRatio = 0.1;
+    @Value("${backend.ryanair.hedging.budget-max-tokens:10}")
+    private double budgetMaxTokens = 10;
+}
@@ -0,0 +1,29 @@
+package org.ryanair.flight.api.config.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.transport.logging.AdvancedByteBufFormat;
+
+/**
+ * Holds the properties of the logging of backend API calls.
+ */
+@Configuration
+@RefreshScope
+@Getter
+@Setter
+public class RyanairBackEndLoggingConfiguration {
+
+    @Value("${backend.ryanair.logging.sample-rate:0.01}")
+    private double sampleRate = 0.01;
+    @Value("${backend.ryanair.logging.body-capture.enabled:false}")
+    private boolean bodyCaptureEnabled = false;
+    @Value("${backend.ryanair.logging.body-capture.max-bytes:2048}")
+    private int bodyCaptureMaxBytes = 2048;
+    @Value("${backend.ryanair.logging.wiretap.enabled:false}")
+    private boolean wiretapEnabled = false;
+    @Value("${backend.ryanair.logging.wiretap.format:SIMPLE}")
+    private AdvancedByteBufFormat wiretapFormat = AdvancedByteBufFormat.SIMPLE;
+}
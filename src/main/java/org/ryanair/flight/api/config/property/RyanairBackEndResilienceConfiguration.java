@@ -0,0 +1,24 @@
+package org.ryanair.flight.api.config.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Holds the resilience properties not covered by the resilience4j instances, such as the per route pair breakers.
+ */
+@Configuration
+@RefreshScope
+@Getter
+@Setter
+public class RyanairBackEndResilienceConfiguration {
+
+    @Value("${backend.ryanair.resilience.route-pair-breakers.enabled:false}")
+    private boolean routePairBreakersEnabled = false;
+    @Value("${backend.ryanair.resilience.route-pair-breakers.max-pairs:1000}")
+    private long routePairBreakersMaxPairs = 1000;
+    @Value("${backend.ryanair.resilience.route-pair-breakers.idle-expiry-ms:600000}")
+    private long routePairBreakersIdleExpiryMs = 600000;
+}
@@ -0,0 +1,34 @@
+package org.ryanair.flight.api.config.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Holds the properties of the budgeted, jittered retries of failed backend calls.
+ */
+@Configuration
+@RefreshScope
+@Getter
+@Setter
+public class RyanairBackEndRetryConfiguration {
+
+    @Value("${backend.ryanair.retry.max-attempts:3}")
+    private int maxAttempts = 3;
+    @Value("${backend.ryanair.retry.initial-backoff-ms:200}")
+    private long initialBackoffMs = 200;
+    @Value("${backend.ryanair.retry.backoff-multiplier:2}")
+    private double backoffMultiplier = 2;
+    @Value("${backend.ryanair.retry.max-backoff-ms:2000}")
+    private long maxBackoffMs = 2000;
+    @Value("${backend.ryanair.retry.jitter:0.5}")
+    private double jitter = 0.5;
+    @Value("${backend.ryanair.retry.min-attempt-time-ms:200}")
+    private long minAttemptTimeMs = 200;
+    @Value("${backend.ryanair.retry.budget-ratio:0.1}")
+    private double budgetRatio = 0.1;
+    @Value("${backend.ryanair.retry.budget-max-tokens:10}")
+    private double budgetMaxTokens = 10;
+}
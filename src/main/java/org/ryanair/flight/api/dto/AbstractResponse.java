@@ -1,5 +1,6 @@
 package org.ryanair.flight.api.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
 import java.io.Serial;
@@ -23,4 +24,6 @@ public class AbstractResponse implements Serializable {
     private String message;
     private String messageDescription;
     private Object data;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private SearchMetadataDto metadata;
 }
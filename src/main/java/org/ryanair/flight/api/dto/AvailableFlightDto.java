@@ -4,7 +4,6 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.ryanair.flight.api.model.Flight;
 
 import java.util.List;
 
@@ -19,6 +18,6 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 public class AvailableFlightDto {
-    private List<Flight> directFlights;
+    private List<ScheduledFlightDto> directFlights;
     private List<InterConnectedFlightData> interconnectedFlights;
 }
@@ -0,0 +1,22 @@
+package org.ryanair.flight.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Outcome of one search of a batch: either its result or the error that ended it.
+ */
+@Getter
+@AllArgsConstructor
+public class BatchQueryResultDto {
+    private SearchResultDto result;
+    private Throwable error;
+
+    public static BatchQueryResultDto success(SearchResultDto result) {
+        return new BatchQueryResultDto(result, null);
+    }
+
+    public static BatchQueryResultDto failure(Throwable error) {
+        return new BatchQueryResultDto(null, error);
+    }
+}
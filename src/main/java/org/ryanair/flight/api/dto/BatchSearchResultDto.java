@@ -0,0 +1,20 @@
+package org.ryanair.flight.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcomes of the searches of a batch, in the order of the queries, together with the batch level metadata.
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchSearchResultDto {
+    private List<BatchQueryResultDto> results;
+    private SearchMetadataDto metadata;
+}
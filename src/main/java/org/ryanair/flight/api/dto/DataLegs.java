@@ -1,6 +1,10 @@
 package org.ryanair.flight.api.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import lombok.*;
+import org.ryanair.flight.api.util.EpochMinutes;
 
 import java.util.Objects;
 
@@ -8,31 +12,50 @@ import java.util.Objects;
  * Author: Gayan Sanjeewa
  * User: gayan
  * Date: 3/28/24
- * Time: 11:37 PM
+ * Time: 11:37 PM
+ */
+
+/**
+ * A single leg of a final flight response. Times are held as epoch minutes and only formatted
+ * as ISO strings when the response is serialized.
  */
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonPropertyOrder({"departureAirport", "arrivalAirport", "departureDateTime", "arrivalDateTime"})
 public class DataLegs {
     private String departureAirport;
     private String arrivalAirport;
-    private String departureDateTime;
-    private String arrivalDateTime;
+    @JsonIgnore
+    private long departureEpochMinute;
+    @JsonIgnore
+    private long arrivalEpochMinute;
+
+    @JsonProperty("departureDateTime")
+    public String getDepartureDateTime() {
+        return EpochMinutes.format(departureEpochMinute);
+    }
+
+    @JsonProperty("arrivalDateTime")
+    public String getArrivalDateTime() {
+        return EpochMinutes.format(arrivalEpochMinute);
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
         if (obj == null || getClass() != obj.getClass()) return false;
         DataLegs dataLegs = (DataLegs) obj;
-        return Objects.equals(departureAirport, dataLegs.departureAirport) &&
-                Objects.equals(arrivalAirport, dataLegs.arrivalAirport) &&
-                Objects.equals(departureDateTime, dataLegs.departureDateTime) &&
-                Objects.equals(arrivalDateTime, dataLegs.arrivalDateTime);
+        return departureEpochMinute == dataLegs.departureEpochMinute &&
+                arrivalEpochMinute == dataLegs.arrivalEpochMinute &&
+                Objects.equals(departureAirport, dataLegs.departureAirport) &&
+                Objects.equals(arrivalAirport, dataLegs.arrivalAirport);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(departureAirport, arrivalAirport, departureDateTime, arrivalDateTime);
+        return Objects.hash(departureAirport, arrivalAirport, departureEpochMinute, arrivalEpochMinute);
     }
 }
@@ -0,0 +1,34 @@
+package org.ryanair.flight.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * A month of the search whose schedules were not fetched before the request deadline, either of the direct
+ * route or of the route through a hub. Flights of that month and route may be missing from a partial result.
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IncompleteFetchDto implements Serializable {
+    @Serial
+    private static final long serialVersionUID = -3311958702846725137L;
+    /**
+     * The month as {@code yyyy-MM}.
+     */
+    private String month;
+    /**
+     * IATA code of the connecting airport, or null for the direct route.
+     */
+    private String hub;
+}
@@ -4,7 +4,6 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.ryanair.flight.api.model.Flight;
 
 import java.util.List;
 
@@ -21,6 +20,6 @@ import java.util.List;
 public class InterConnectedFlightData {
     private String departSection; //Exp : DUB-STN
     private String arrivingSection; //Exp : STN-WRO
-    private List<Flight> departureFlightData;
-    private List<Flight> arriveFlightData;
+    private List<ScheduledFlightDto> departureFlightData;
+    private List<ScheduledFlightDto> arriveFlightData;
 }
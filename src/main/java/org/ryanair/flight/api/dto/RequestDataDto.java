@@ -1,6 +1,7 @@
 package org.ryanair.flight.api.dto;
 
 import lombok.*;
+import org.ryanair.flight.api.util.Deadline;
 
 import java.time.LocalDateTime;
 
@@ -20,4 +21,16 @@ public class RequestDataDto {
     private String departure;
     private LocalDateTime departureDateTime;
     private LocalDateTime arrivalDateTime;
+    /**
+     * Maximum number of flights to return, or null for all of them.
+     */
+    private Integer limit;
+    /**
+     * Requested ordering of the flights, or null to keep the search order.
+     */
+    private ResultSort sort;
+    /**
+     * Point in time by which the caller needs the answer, or null to wait for every backend call.
+     */
+    private Deadline deadline;
 }
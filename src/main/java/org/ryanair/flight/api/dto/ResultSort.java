@@ -0,0 +1,52 @@
+package org.ryanair.flight.api.dto;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.function.ToLongFunction;
+
+/**
+ * Orderings supported for search results, each defined by a key in epoch minutes.
+ * Orderings that are monotonic in time allow a limited search to stop fetching later months early.
+ */
+public enum ResultSort {
+    DEPARTURE(flight -> flight.getLegs().getFirst().getDepartureEpochMinute(), true),
+    ARRIVAL(flight -> flight.getLegs().getLast().getArrivalEpochMinute(), true),
+    DURATION(flight -> flight.getLegs().getLast().getArrivalEpochMinute() - flight.getLegs().getFirst().getDepartureEpochMinute(), false);
+
+    private final ToLongFunction<FinalFlightResponseDto> key;
+    private final boolean monotonicInTime;
+    private final Comparator<FinalFlightResponseDto> comparator;
+
+    ResultSort(ToLongFunction<FinalFlightResponseDto> key, boolean monotonicInTime) {
+        this.key = key;
+        this.monotonicInTime = monotonicInTime;
+        this.comparator = Comparator.comparingLong(key)
+                .thenComparingLong(flight -> flight.getLegs().getFirst().getDepartureEpochMinute())
+                .thenComparingInt(FinalFlightResponseDto::getStops);
+    }
+
+    public long keyOf(FinalFlightResponseDto flight) {
+        return key.applyAsLong(flight);
+    }
+
+    public Comparator<FinalFlightResponseDto> comparator() {
+        return comparator;
+    }
+
+    /**
+     * @return true if results found in later months can only have a larger key than results of earlier months.
+     */
+    public boolean isMonotonicInTime() {
+        return monotonicInTime;
+    }
+
+    /**
+     * Resolves a sort from its case-insensitive name.
+     * @param name The requested sort.
+     * @return The matching sort, or empty if the name is unknown.
+     */
+    public static Optional<ResultSort> from(String name) {
+        return Arrays.stream(values()).filter(sort -> sort.name().equalsIgnoreCase(name)).findFirst();
+    }
+}
@@ -0,0 +1,8 @@
+package org.ryanair.flight.api.dto;
+
+/**
+ * A scheduled flight as used by the search, with its times converted into epoch minutes once, when the
+ * schedule is filtered. Immutable, so the same instances are safely shared by concurrent searches.
+ */
+public record ScheduledFlightDto(String carrierCode, String number, long departureEpochMinute, long arrivalEpochMinute) {
+}
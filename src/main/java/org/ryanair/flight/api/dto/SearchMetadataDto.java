@@ -0,0 +1,54 @@
+package org.ryanair.flight.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Describes how a search result was shaped. Only the attributes that apply to the request are serialized.
+ */
+@Getter
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SearchMetadataDto implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 6618226420391772113L;
+    private Integer limit;
+    private ResultSort sort;
+    /**
+     * True when more flights than the returned ones may match the criteria.
+     */
+    private Boolean truncated;
+    /**
+     * True when the request deadline passed before every schedule was fetched, so flights may be missing.
+     */
+    private Boolean partial;
+    /**
+     * The months and hubs whose schedules were not fetched before the request deadline.
+     */
+    private List<IncompleteFetchDto> incompleteFetches;
+    /**
+     * True when schedules or routes were served past their freshness because the backend could not refresh them.
+     */
+    private Boolean stale;
+    /**
+     * Age in seconds of the oldest stale data the result was found in.
+     */
+    private Long staleDataAgeSeconds;
+    /**
+     * Schedule fetches the searches of a batch asked for.
+     */
+    private Integer scheduleFetchesRequested;
+    /**
+     * Schedule calls a batch actually made to the backend, leaving out those served from the schedule cache.
+     */
+    private Integer scheduleFetchesMade;
+}
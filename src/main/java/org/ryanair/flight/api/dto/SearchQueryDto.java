@@ -0,0 +1,22 @@
+package org.ryanair.flight.api.dto;
+
+import lombok.*;
+
+/**
+ * One query of a batch search as sent by the client. The attributes mirror the query parameters of
+ * a single search and are validated the same way before being turned into a {@link RequestDataDto}.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchQueryDto {
+    private String departure;
+    private String arrival;
+    private String departureDateTime;
+    private String arrivalDateTime;
+    private String limit;
+    private String sort;
+    private String timeoutMs;
+}
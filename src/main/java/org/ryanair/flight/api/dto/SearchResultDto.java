@@ -0,0 +1,20 @@
+package org.ryanair.flight.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Flights found by a search together with the metadata describing how they were selected.
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultDto {
+    private List<FinalFlightResponseDto> flights;
+    private SearchMetadataDto metadata;
+}
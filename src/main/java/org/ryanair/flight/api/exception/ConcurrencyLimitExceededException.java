@@ -0,0 +1,13 @@
+package org.ryanair.flight.api.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Raised when a backend call is shed because the concurrency limit and its queue are exhausted.
+ * It is neither retried nor recorded by the circuit breaker, as the backend was never called.
+ */
+public class ConcurrencyLimitExceededException extends BackendInvocationException {
+    public ConcurrencyLimitExceededException(String message, String messageDescription) {
+        super(message, messageDescription, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
@@ -0,0 +1,13 @@
+package org.ryanair.flight.api.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Raised when the deadline of a request passes before a backend call answered.
+ * The call is cancelled rather than failed by the backend, so it is neither retried nor recorded by the circuit breaker.
+ */
+public class DeadlineExceededException extends BackendInvocationException {
+    public DeadlineExceededException(String message, String messageDescription) {
+        super(message, messageDescription, HttpStatus.GATEWAY_TIMEOUT);
+    }
+}
@@ -2,19 +2,32 @@ package org.ryanair.flight.api.handler;
 
 import lombok.RequiredArgsConstructor;
 import org.ryanair.flight.api.dto.AbstractResponse;
+import org.ryanair.flight.api.dto.BatchQueryResultDto;
+import org.ryanair.flight.api.dto.FinalFlightResponseDto;
 import org.ryanair.flight.api.dto.RequestDataDto;
+import org.ryanair.flight.api.dto.ResultSort;
+import org.ryanair.flight.api.dto.SearchQueryDto;
 import org.ryanair.flight.api.helper.ResponseGenerator;
 import org.ryanair.flight.api.service.frontend.FlightSearchService;
+import org.ryanair.flight.api.util.Constant;
+import org.ryanair.flight.api.util.Deadline;
 import org.ryanair.flight.api.util.ResponseMessage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.util.StringUtils;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Author: Gayan Sanjeewa
@@ -39,16 +52,9 @@ public class FlightSearchHandler {
      * @return org.ryanair.flight.api.A Mono representing the server response.
      */
     public Mono<ServerResponse> findAvailableFlights(ServerRequest request) {
-        return request.queryParam("departure")
-                .flatMap(departure -> request.queryParam("arrival")
-                        .flatMap(arrival -> request.queryParam("departureDateTime")
-                                .flatMap(departureDateTime -> request.queryParam("arrivalDateTime")
-                                        .map(arrivalDateTime -> buildRequestDataDto(departure, arrival, departureDateTime, arrivalDateTime))
-                                )
-                        )
-                )
-                .map(requestDataDto -> flightSearchService.findFlights(requestDataDto)
-                        .flatMap(finalFlightResponseDtoList -> ServerResponse.ok().bodyValue(responseGenerator.processSuccessResponse(finalFlightResponseDtoList)))
+        return extractRequestData(request)
+                .map(requestDataDto -> flightSearchService.searchFlights(requestDataDto)
+                        .flatMap(searchResultDto -> ServerResponse.ok().bodyValue(responseGenerator.processSuccessResponse(searchResultDto)))
                         .onErrorResume(throwable -> {
                             AbstractResponse abstractResponse = responseGenerator.processExceptionResponse(throwable);
                             return ServerResponse.status(abstractResponse.getResponseCode()).bodyValue(abstractResponse);
@@ -68,6 +74,126 @@ public class FlightSearchHandler {
                 );
     }
 
+    /**
+     * Handles the request to find available flights for a batch of queries sent as a JSON array in the body.
+     * Each query takes the same attributes as the query parameters of a single search. Invalid or failing
+     * queries are reported in their own response without failing the rest of the batch. A timeout given
+     * for the whole request applies to the queries that do not give their own.
+     * @param request The incoming server request.
+     * @return org.ryanair.flight.api.A Mono representing the server response holding one response per query.
+     */
+    public Mono<ServerResponse> findAvailableFlightsBatch(ServerRequest request) {
+        return request.bodyToFlux(SearchQueryDto.class)
+                .collectList()
+                .flatMap(searchQueryDtoList -> {
+                    if (searchQueryDtoList.isEmpty() || searchQueryDtoList.size() > Constant.MAX_BATCH_QUERIES) {
+                        return ServerResponse.badRequest()
+                                .bodyValue(responseGenerator.processErrorResponse(HttpStatus.BAD_REQUEST,
+                                        ResponseMessage.RESPONSE_MESSAGE_FAILED,
+                                        String.format(ResponseMessage.ERR_INVALID_BATCH_SIZE, Constant.MAX_BATCH_QUERIES)));
+                    }
+                    String batchTimeoutMs = requestedTimeout(request);
+                    List<Optional<RequestDataDto>> requestDataList = searchQueryDtoList.stream()
+                            .map(searchQueryDto -> Optional.ofNullable(buildRequestDataDto(searchQueryDto.getDeparture(), searchQueryDto.getArrival(),
+                                    searchQueryDto.getDepartureDateTime(), searchQueryDto.getArrivalDateTime(),
+                                    searchQueryDto.getLimit(), searchQueryDto.getSort(),
+                                    StringUtils.hasText(searchQueryDto.getTimeoutMs()) ? searchQueryDto.getTimeoutMs() : batchTimeoutMs)))
+                            .toList();
+                    return flightSearchService.searchFlightsBatch(requestDataList.stream().flatMap(Optional::stream).toList())
+                            .flatMap(batchSearchResultDto -> {
+                                Iterator<BatchQueryResultDto> outcomes = batchSearchResultDto.getResults().iterator();
+                                List<AbstractResponse> queryResponses = requestDataList.stream()
+                                        .map(requestData -> requestData.isPresent()
+                                                ? toQueryResponse(outcomes.next())
+                                                : responseGenerator.processErrorResponse(HttpStatus.BAD_REQUEST,
+                                                        ResponseMessage.RESPONSE_MESSAGE_FAILED,
+                                                        ResponseMessage.ERR_INVALID_REQ_PARAMETERS))
+                                        .toList();
+                                return ServerResponse.ok().bodyValue(responseGenerator.processBatchResponse(queryResponses, batchSearchResultDto.getMetadata()));
+                            });
+                })
+                .onErrorResume(ServerWebInputException.class, exception ->
+                        ServerResponse.badRequest()
+                                .bodyValue(responseGenerator.processErrorResponse(HttpStatus.BAD_REQUEST,
+                                        ResponseMessage.RESPONSE_MESSAGE_FAILED,
+                                        ResponseMessage.ERR_INVALID_REQ_PARAMETERS)))
+                .onErrorResume(throwable -> {
+                    AbstractResponse abstractResponse = responseGenerator.processExceptionResponse(throwable);
+                    return ServerResponse.status(abstractResponse.getResponseCode()).bodyValue(abstractResponse);
+                });
+    }
+
+    private AbstractResponse toQueryResponse(BatchQueryResultDto batchQueryResultDto) {
+        return Objects.isNull(batchQueryResultDto.getError())
+                ? responseGenerator.processSuccessResponse(batchQueryResultDto.getResult())
+                : responseGenerator.processExceptionResponse(batchQueryResultDto.getError());
+    }
+
+    /**
+     * Handles the request to stream available flights based on the provided criteria.
+     * Flights are written as server-sent events when the client accepts {@code text/event-stream},
+     * otherwise as newline delimited JSON, each one as soon as it is found. The response status is only
+     * committed once the first flight is found, or the search ends without any, so a search failing before
+     * that gets the same error response as a non-streaming search.
+     * @param request The incoming server request.
+     * @return org.ryanair.flight.api.A Mono representing the streaming server response.
+     */
+    public Mono<ServerResponse> streamAvailableFlights(ServerRequest request) {
+        MediaType streamMediaType = request.headers().accept().contains(MediaType.TEXT_EVENT_STREAM)
+                ? MediaType.TEXT_EVENT_STREAM
+                : MediaType.APPLICATION_NDJSON;
+        return extractRequestData(request)
+                .map(requestDataDto -> flightSearchService.streamFlights(requestDataDto)
+                        .switchOnFirst((firstSignal, flights) -> {
+                            if (firstSignal.isOnError()) {
+                                AbstractResponse abstractResponse = responseGenerator.processExceptionResponse(firstSignal.getThrowable());
+                                return ServerResponse.status(abstractResponse.getResponseCode())
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .bodyValue(abstractResponse);
+                            }
+                            return ServerResponse.ok()
+                                    .contentType(streamMediaType)
+                                    .body(flights, FinalFlightResponseDto.class);
+                        }, false) // the flights keep streaming once the response is emitted
+                        .singleOrEmpty())
+                .orElseGet(() ->
+                        ServerResponse.badRequest()
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .bodyValue(
+                                        responseGenerator
+                                                .processErrorResponse(HttpStatus.BAD_REQUEST,
+                                                        ResponseMessage.RESPONSE_MESSAGE_FAILED,
+                                                        ResponseMessage.ERR_INVALID_REQ_PARAMETERS)));
+    }
+
+    /**
+     * Reads and validates the search criteria from the query parameters.
+     * @param request The incoming server request.
+     * @return The request data, or empty if a parameter is missing or invalid.
+     */
+    private Optional<RequestDataDto> extractRequestData(ServerRequest request) {
+        return request.queryParam("departure")
+                .flatMap(departure -> request.queryParam("arrival")
+                        .flatMap(arrival -> request.queryParam("departureDateTime")
+                                .flatMap(departureDateTime -> request.queryParam("arrivalDateTime")
+                                        .map(arrivalDateTime -> buildRequestDataDto(departure, arrival, departureDateTime, arrivalDateTime,
+                                                request.queryParam("limit").orElse(null), request.queryParam("sort").orElse(null),
+                                                requestedTimeout(request)))
+                                )
+                        )
+                );
+    }
+
+    /**
+     * Reads the timeout of the request in milliseconds from the query parameter, or else from the header.
+     * @param request The incoming server request.
+     * @return The requested timeout, or null if none was given.
+     */
+    private static String requestedTimeout(ServerRequest request) {
+        return request.queryParam(Constant.QUERY_PARAM_TIMEOUT)
+                .orElseGet(() -> request.headers().firstHeader(Constant.HEADER_REQUEST_TIMEOUT));
+    }
+
     /**
      * Builds RequestDataDto object from the provided parameters.
      *
@@ -75,13 +201,52 @@ public class FlightSearchHandler {
      * @param arrival           Arrival location.
      * @param departureDateTime Departure date and time.
      * @param arrivalDateTime   Arrival date and time.
-     * @return RequestDataDto object.
+     * @param limit             Optional maximum number of flights.
+     * @param sort              Optional ordering of the flights.
+     * @param timeoutMs         Optional time in milliseconds the caller waits for the answer, starting now.
+     * @return RequestDataDto object, or null if a parameter is invalid.
      */
-    private RequestDataDto buildRequestDataDto(String departure, String arrival, String departureDateTime, String arrivalDateTime) {
+    private RequestDataDto buildRequestDataDto(String departure, String arrival, String departureDateTime, String arrivalDateTime, String limit, String sort, String timeoutMs) {
         if (!validate(departure, arrival, departureDateTime, arrivalDateTime)) {
             return null;
         }
-        return new RequestDataDto(arrival, departure, LocalDateTime.parse(departureDateTime), LocalDateTime.parse(arrivalDateTime));
+        Integer resultLimit = null;
+        if (StringUtils.hasText(limit)) {
+            try {
+                resultLimit = Integer.parseInt(limit);
+            } catch (NumberFormatException ex) {
+                return null;
+            }
+            if (resultLimit < 1 || resultLimit > Constant.MAX_RESULT_LIMIT) {
+                return null;
+            }
+        }
+        Optional<ResultSort> resultSort = ResultSort.from(sort);
+        if (StringUtils.hasText(sort) && resultSort.isEmpty()) {
+            return null;
+        }
+        Deadline deadline = null;
+        if (StringUtils.hasText(timeoutMs)) {
+            long requestTimeoutMs;
+            try {
+                requestTimeoutMs = Long.parseLong(timeoutMs.trim());
+            } catch (NumberFormatException ex) {
+                return null;
+            }
+            if (requestTimeoutMs < 1 || requestTimeoutMs > Constant.MAX_REQUEST_TIMEOUT_MS) {
+                return null;
+            }
+            deadline = Deadline.in(Duration.ofMillis(requestTimeoutMs));
+        }
+        return RequestDataDto.builder()
+                .arrival(arrival)
+                .departure(departure)
+                .departureDateTime(LocalDateTime.parse(departureDateTime))
+                .arrivalDateTime(LocalDateTime.parse(arrivalDateTime))
+                .limit(resultLimit)
+                .sort(resultSort.orElse(null))
+                .deadline(deadline)
+                .build();
     }
 
     /**
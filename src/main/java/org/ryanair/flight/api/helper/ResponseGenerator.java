@@ -2,6 +2,8 @@ package org.ryanair.flight.api.helper;
 
 import org.ryanair.flight.api.dto.AbstractResponse;
 import org.ryanair.flight.api.dto.FinalFlightResponseDto;
+import org.ryanair.flight.api.dto.SearchMetadataDto;
+import org.ryanair.flight.api.dto.SearchResultDto;
 import org.springframework.http.HttpStatus;
 
 import java.util.List;
@@ -22,6 +24,23 @@ public interface ResponseGenerator {
      */
     AbstractResponse processSuccessResponse(List<FinalFlightResponseDto> finalResponse);
 
+    /**
+     * Processes a successful response based on a search result, including its metadata.
+     *
+     * @param searchResult The flights found and the metadata describing their selection.
+     * @return AbstractResponse representing the processed success response.
+     */
+    AbstractResponse processSuccessResponse(SearchResultDto searchResult);
+
+    /**
+     * Processes the response of a batch search from the responses of its queries.
+     *
+     * @param queryResponses The response of each query of the batch, in order.
+     * @param metadata       The batch level metadata.
+     * @return AbstractResponse holding the query responses as its data.
+     */
+    AbstractResponse processBatchResponse(List<AbstractResponse> queryResponses, SearchMetadataDto metadata);
+
     /**
      * Processes an exception response based on the thrown throwable.
      *
@@ -2,10 +2,10 @@ package org.ryanair.flight.api.helper;
 
 import org.ryanair.flight.api.dto.InterConnectedFlightData;
 import org.ryanair.flight.api.dto.RequestDataDto;
+import org.ryanair.flight.api.dto.ScheduledFlightDto;
 import org.ryanair.flight.api.dto.YearMonthDataDto;
-import org.ryanair.flight.api.model.Flight;
+import org.ryanair.flight.api.index.ConnectionIndex;
 
-import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 
@@ -23,12 +23,19 @@ import java.util.List;
 public interface ServiceHelper {
 
     /**
-     * Finds the flight occurring two hours after the closest flight to the given date and time.
-     * @param dateTime The reference date and time.
-     * @param flightList The list of flights to search within.
-     * @return The flight occurring two hours after the closest flight, or null if none is found.
+     * Builds a departure-time index over the given second leg flights of a hub.
+     * @param flightList The list of flights to index.
+     * @return The ConnectionIndex for the given flights.
      */
-    Flight findTwoHourAfterClosestFlightByGivenDateTime(LocalDateTime dateTime, List<Flight> flightList);
+    ConnectionIndex buildConnectionIndex(List<ScheduledFlightDto> flightList);
+
+    /**
+     * Finds the earliest indexed flight departing at least the minimum connection time after the given arrival.
+     * @param arrivalEpochMinute The arrival of the first leg in epoch minutes.
+     * @param connectionIndex The index of the second leg flights.
+     * @return The earliest feasible connecting flight, or null if none is found.
+     */
+    ScheduledFlightDto findEarliestConnectingFlight(long arrivalEpochMinute, ConnectionIndex connectionIndex);
 
     /**
      * Calculates the number of months for the provided date range.
@@ -43,7 +50,7 @@ public interface ServiceHelper {
      * @param arriveFlightDataMap The map to store arriving flight data.
      * @param interConnectedFlightData The list of interconnected flight data.
      */
-    void linearizingDepartingAndArrivingInterconnectedFlights(HashMap<String, List<Flight>> departFlightDataMap, HashMap<String, List<Flight>> arriveFlightDataMap, List<InterConnectedFlightData> interConnectedFlightData);
+    void linearizingDepartingAndArrivingInterconnectedFlights(HashMap<String, List<ScheduledFlightDto>> departFlightDataMap, HashMap<String, List<ScheduledFlightDto>> arriveFlightDataMap, List<InterConnectedFlightData> interConnectedFlightData);
 
 }
 
@@ -2,18 +2,20 @@ package org.ryanair.flight.api.helper.impl;
 
 import org.ryanair.flight.api.dto.AbstractResponse;
 import org.ryanair.flight.api.dto.FinalFlightResponseDto;
+import org.ryanair.flight.api.dto.SearchMetadataDto;
+import org.ryanair.flight.api.dto.SearchResultDto;
 import org.ryanair.flight.api.exception.BackendInvocationException;
 import org.ryanair.flight.api.exception.DataProcessingCommonServiceException;
 import org.ryanair.flight.api.exception.DataValidationException;
 import org.ryanair.flight.api.helper.ResponseGenerator;
-import org.ryanair.flight.api.util.Constant;
+import org.ryanair.flight.api.util.EpochMinutes;
 import org.ryanair.flight.api.util.ResponseMessage;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Author: Gayan Sanjeewa
@@ -31,14 +33,49 @@ public class ResponseGeneratorImpl implements ResponseGenerator {
      */
     @Override
     public AbstractResponse processSuccessResponse(List<FinalFlightResponseDto> finalResponse){
+        return processSuccessResponseInternal(finalResponse, null);
+    }
+
+    /**
+     * Processes the response based on a search result, attaching its metadata when present.
+     * A partial result says so in the message description.
+     *
+     * @param searchResult The flights found and the metadata describing their selection.
+     * @return AbstractResponse representing the processed response.
+     */
+    @Override
+    public AbstractResponse processSuccessResponse(SearchResultDto searchResult) {
+        return processSuccessResponseInternal(searchResult.getFlights(), searchResult.getMetadata());
+    }
+
+    private AbstractResponse processSuccessResponseInternal(List<FinalFlightResponseDto> finalResponse, SearchMetadataDto metadata) {
         if(!finalResponse.isEmpty()){
             long directFlightCount = finalResponse.stream().filter(finalFlightResponseDto -> finalFlightResponseDto.getStops() == 0).count();
             long interConnectedFlightCount = finalResponse.stream().filter(finalFlightResponseDto -> finalFlightResponseDto.getStops() > 0).count();
-            return createAbstractResponse(finalResponse, HttpStatus.OK , ResponseMessage.RESPONSE_MESSAGE_SUCCESS,ResponseMessage.RESPONSE_MESSAGE_SUCCESS + String.format(ResponseMessage.RESPONSE_DESCRIPTION_INFO , directFlightCount,interConnectedFlightCount));
+            String messageDescription = ResponseMessage.RESPONSE_MESSAGE_SUCCESS + String.format(ResponseMessage.RESPONSE_DESCRIPTION_INFO , directFlightCount,interConnectedFlightCount);
+            if (Objects.nonNull(metadata) && Boolean.TRUE.equals(metadata.getPartial())) {
+                messageDescription += String.format(ResponseMessage.RESPONSE_DESCRIPTION_PARTIAL_INFO, metadata.getIncompleteFetches().size());
+            }
+            return createAbstractResponse(finalResponse, metadata, HttpStatus.OK , ResponseMessage.RESPONSE_MESSAGE_SUCCESS, messageDescription);
         }else {
-            return createAbstractResponse(finalResponse,HttpStatus.NO_CONTENT , ResponseMessage.RESPONSE_MESSAGE_NO_CONTENT,ResponseMessage.RESPONSE_MESSAGE_NO_CONTENT);
+            return createAbstractResponse(finalResponse, metadata, HttpStatus.NO_CONTENT , ResponseMessage.RESPONSE_MESSAGE_NO_CONTENT,ResponseMessage.RESPONSE_MESSAGE_NO_CONTENT);
         }
     }
+    /**
+     * Processes the response of a batch search. The batch succeeds as a whole, each query response
+     * carries its own response code.
+     *
+     * @param queryResponses The response of each query of the batch, in order.
+     * @param metadata       The batch level metadata.
+     * @return AbstractResponse holding the query responses as its data.
+     */
+    @Override
+    public AbstractResponse processBatchResponse(List<AbstractResponse> queryResponses, SearchMetadataDto metadata) {
+        long succeededQueryCount = queryResponses.stream().filter(queryResponse -> queryResponse.getResponseCode() < HttpStatus.BAD_REQUEST.value()).count();
+        return createAbstractResponse(queryResponses, metadata, HttpStatus.OK, ResponseMessage.RESPONSE_MESSAGE_SUCCESS,
+                ResponseMessage.RESPONSE_MESSAGE_SUCCESS + String.format(ResponseMessage.RESPONSE_DESCRIPTION_BATCH_INFO, succeededQueryCount, queryResponses.size()));
+    }
+
     /**
      * Processes the error response based on the thrown exception.
      *
@@ -79,7 +116,7 @@ public class ResponseGeneratorImpl implements ResponseGenerator {
     private AbstractResponse processErrorResponseInternal(HttpStatus httpResponseCode, String errMessage, String errMessageDescription) {
         return AbstractResponse.builder()
                 .responseCode(httpResponseCode.value())
-                .timeStamp(DateTimeFormatter.ofPattern(Constant.DATE_FORMAT_ISO).format(LocalDateTime.now()))
+                .timeStamp(EpochMinutes.ISO_FORMATTER.format(LocalDateTime.now()))
                 .messageDescription(errMessageDescription)
                 .message(errMessage)
                 .build();
@@ -89,16 +126,18 @@ public class ResponseGeneratorImpl implements ResponseGenerator {
      * Creates an AbstractResponse with the provided data, HTTP status code, message, and message description.
      *
      * @param data The data to be included in the response.
+     * @param metadata The metadata describing the data, or null.
      * @param httpResponseCode The HTTP status code.
      * @param message The message of the response.
      * @param messageDescription The description of the message.
      * @return AbstractResponse representing the created response.
      */
-    private AbstractResponse createAbstractResponse(Object data , HttpStatus httpResponseCode,String message ,String messageDescription){
+    private AbstractResponse createAbstractResponse(Object data , SearchMetadataDto metadata, HttpStatus httpResponseCode,String message ,String messageDescription){
         return AbstractResponse.builder()
                 .data(data)
+                .metadata(metadata)
                 .responseCode(httpResponseCode.value())
-                .timeStamp(DateTimeFormatter.ofPattern(Constant.DATE_FORMAT_ISO).format(LocalDateTime.now()))
+                .timeStamp(EpochMinutes.ISO_FORMATTER.format(LocalDateTime.now()))
                 .messageDescription(messageDescription)
                 .message(message)
                 .build();
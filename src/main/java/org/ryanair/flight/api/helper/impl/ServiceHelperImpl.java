@@ -2,16 +2,17 @@ package org.ryanair.flight.api.helper.impl;
 
 import org.ryanair.flight.api.dto.InterConnectedFlightData;
 import org.ryanair.flight.api.dto.RequestDataDto;
+import org.ryanair.flight.api.dto.ScheduledFlightDto;
 import org.ryanair.flight.api.dto.YearMonthDataDto;
 import org.ryanair.flight.api.helper.ServiceHelper;
-import org.ryanair.flight.api.model.Flight;
+import org.ryanair.flight.api.index.ConnectionIndex;
 import org.ryanair.flight.api.util.Constant;
+import org.ryanair.flight.api.util.EpochMinutes;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAdjusters;
 import java.util.*;
 
@@ -28,25 +29,14 @@ import java.util.*;
 @Component
 public class ServiceHelperImpl implements ServiceHelper {
     @Override
-    public Flight findTwoHourAfterClosestFlightByGivenDateTime(LocalDateTime dateTime, List<Flight> flightList) {
-        long minDifference = Long.MIN_VALUE;
-        int index = -1;
-        for (int i = 0; i < flightList.size(); i++) {
-            Flight flight = flightList.get(i);
-            LocalDateTime departLocalDateTime = LocalDateTime.parse(flight.getDepartureTime(), DateTimeFormatter.ofPattern(Constant.DATE_FORMAT_ISO));
-            LocalDateTime plus2LocalDateTime = dateTime.plusHours(2);
-            long diff = departLocalDateTime.until(plus2LocalDateTime, java.time.temporal.ChronoUnit.SECONDS);
-
-            if (diff <= 0 && (diff > minDifference)) {
-                    minDifference = diff;
-                    index = i;
+    public ConnectionIndex buildConnectionIndex(List<ScheduledFlightDto> flightList) {
+        return ConnectionIndex.of(flightList);
+    }
 
-            }
-        }
-        if (index == -1) {
-            return null;
-        }
-        return flightList.get(index);
+    @Override
+    public ScheduledFlightDto findEarliestConnectingFlight(long arrivalEpochMinute, ConnectionIndex connectionIndex) {
+        return connectionIndex.findEarliestDepartingAtOrAfter(
+                arrivalEpochMinute + (long) Constant.MIN_CONNECTION_TIME_HOURS * EpochMinutes.MINUTES_PER_HOUR);
     }
 
     @Override
@@ -82,25 +72,26 @@ public class ServiceHelperImpl implements ServiceHelper {
     }
 
     @Override
-    public void linearizingDepartingAndArrivingInterconnectedFlights(HashMap<String, List<Flight>> departFlightDataMap, HashMap<String, List<Flight>> arriveFlightDataMap, List<InterConnectedFlightData> interConnectedFlightData) {
+    public void linearizingDepartingAndArrivingInterconnectedFlights(HashMap<String, List<ScheduledFlightDto>> departFlightDataMap, HashMap<String, List<ScheduledFlightDto>> arriveFlightDataMap, List<InterConnectedFlightData> interConnectedFlightData) {
         for (InterConnectedFlightData connectedFlightData : interConnectedFlightData) {
 
             String departSection = connectedFlightData.getDepartSection();
             String arrivingSection = connectedFlightData.getArrivingSection();
             if(StringUtils.hasText(departSection) && StringUtils.hasText(arrivingSection)) {
-                List<Flight> arriveFlightData = connectedFlightData.getArriveFlightData();
-                List<Flight> departureFlightData = connectedFlightData.getDepartureFlightData();
+                List<ScheduledFlightDto> arriveFlightData = connectedFlightData.getArriveFlightData();
+                List<ScheduledFlightDto> departureFlightData = connectedFlightData.getDepartureFlightData();
 
-                List<Flight> arFlights = arriveFlightDataMap.get(arrivingSection);
+                // the maps get their own lists so the flight data of the given months is never modified
+                List<ScheduledFlightDto> arFlights = arriveFlightDataMap.get(arrivingSection);
                 if (CollectionUtils.isEmpty(arFlights)) {
-                    arriveFlightDataMap.put(arrivingSection, arriveFlightData);
+                    arriveFlightDataMap.put(arrivingSection, new ArrayList<>(arriveFlightData));
                 } else {
                     arriveFlightDataMap.get(arrivingSection).addAll(arriveFlightData);
                 }
 
-                List<Flight> drFlights = departFlightDataMap.get(departSection);
+                List<ScheduledFlightDto> drFlights = departFlightDataMap.get(departSection);
                 if (CollectionUtils.isEmpty(drFlights)) {
-                    departFlightDataMap.put(departSection, departureFlightData);
+                    departFlightDataMap.put(departSection, new ArrayList<>(departureFlightData));
                 } else {
                     departFlightDataMap.get(departSection).addAll(departureFlightData);
                 }
@@ -0,0 +1,73 @@
+package org.ryanair.flight.api.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the best {@code capacity} items offered according to the given order, in O(log capacity) per offer.
+ * The worst kept item sits at the head of the heap so it can be replaced by a better one.
+ */
+public final class BoundedResultHeap<T> {
+
+    private final int capacity;
+    private final Comparator<T> order;
+    private final PriorityQueue<T> heap;
+    private int offered;
+
+    public BoundedResultHeap(int capacity, Comparator<T> order) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.order = order;
+        this.heap = new PriorityQueue<>(Math.min(capacity, 1024) + 1, order.reversed());
+    }
+
+    /**
+     * Offers an item to the heap.
+     * @param item The item.
+     * @return true if the item is kept.
+     */
+    public boolean offer(T item) {
+        offered++;
+        if (heap.size() < capacity) {
+            heap.add(item);
+            return true;
+        }
+        if (order.compare(item, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(item);
+            return true;
+        }
+        return false;
+    }
+
+    public boolean isFull() {
+        return heap.size() == capacity;
+    }
+
+    /**
+     * @return The worst kept item, or null if the heap is empty.
+     */
+    public T worst() {
+        return heap.peek();
+    }
+
+    /**
+     * @return true if more items were offered than the heap can keep.
+     */
+    public boolean isOverflowed() {
+        return offered > capacity;
+    }
+
+    /**
+     * @return The kept items from best to worst.
+     */
+    public List<T> toSortedList() {
+        List<T> sorted = new ArrayList<>(heap);
+        sorted.sort(order);
+        return sorted;
+    }
+}
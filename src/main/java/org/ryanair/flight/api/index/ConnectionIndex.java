@@ -0,0 +1,71 @@
+package org.ryanair.flight.api.index;
+
+import org.ryanair.flight.api.dto.ScheduledFlightDto;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Index of the second leg flights of a hub sorted by departure time.
+ * Departure times are copied into a primitive epoch-minute array so that the earliest feasible
+ * connection is found with a binary search. Flights departing at the same minute keep their original order.
+ */
+public final class ConnectionIndex {
+
+    private final long[] departureMinutes;
+    private final ScheduledFlightDto[] flights;
+
+    private ConnectionIndex(long[] departureMinutes, ScheduledFlightDto[] flights) {
+        this.departureMinutes = departureMinutes;
+        this.flights = flights;
+    }
+
+    /**
+     * Builds the index for the given flights.
+     *
+     * @param flightList The second leg flights of a hub.
+     * @return The built ConnectionIndex.
+     */
+    public static ConnectionIndex of(List<ScheduledFlightDto> flightList) {
+        int size = flightList.size();
+        long[] unsortedMinutes = new long[size];
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            unsortedMinutes[i] = flightList.get(i).departureEpochMinute();
+            order[i] = i;
+        }
+        Arrays.sort(order, (first, second) -> Long.compare(unsortedMinutes[first], unsortedMinutes[second])); // stable
+
+        long[] departureMinutes = new long[size];
+        ScheduledFlightDto[] flights = new ScheduledFlightDto[size];
+        for (int i = 0; i < size; i++) {
+            departureMinutes[i] = unsortedMinutes[order[i]];
+            flights[i] = flightList.get(order[i]);
+        }
+        return new ConnectionIndex(departureMinutes, flights);
+    }
+
+    /**
+     * Finds the earliest flight departing at or after the given minute.
+     *
+     * @param epochMinute The earliest acceptable departure in epoch minutes.
+     * @return The earliest departing flight, or null if none departs late enough.
+     */
+    public ScheduledFlightDto findEarliestDepartingAtOrAfter(long epochMinute) {
+        int low = 0;
+        int high = departureMinutes.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (departureMinutes[mid] < epochMinute) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low < flights.length ? flights[low] : null;
+    }
+
+    public int size() {
+        return flights.length;
+    }
+}
@@ -0,0 +1,97 @@
+package org.ryanair.flight.api.index;
+
+import org.ryanair.flight.api.model.RouteAPIResponseModel;
+
+import java.util.*;
+
+/**
+ * Immutable adjacency index over a route list keyed by airport.
+ * Each airport keeps its outbound and inbound edges in the order they appeared in the source list,
+ * so direct lookups cost O(out-degree) and one-stop lookups cost O(out-degree + in-degree).
+ */
+public final class RouteGraph {
+
+    private final List<RouteAPIResponseModel> source;
+    private final Map<String, List<RouteAPIResponseModel>> outbound;
+    private final Map<String, List<RouteAPIResponseModel>> inbound;
+
+    private RouteGraph(List<RouteAPIResponseModel> source, Map<String, List<RouteAPIResponseModel>> outbound, Map<String, List<RouteAPIResponseModel>> inbound) {
+        this.source = source;
+        this.outbound = outbound;
+        this.inbound = inbound;
+    }
+
+    /**
+     * Builds the adjacency index for the given route list. Airport codes are interned so every
+     * edge list of the same airport shares a single key instance.
+     *
+     * @param routes The route list to index.
+     * @return The built RouteGraph.
+     */
+    public static RouteGraph of(List<RouteAPIResponseModel> routes) {
+        Map<String, String> airportCodes = new HashMap<>();
+        Map<String, List<RouteAPIResponseModel>> outbound = new HashMap<>();
+        Map<String, List<RouteAPIResponseModel>> inbound = new HashMap<>();
+        for (RouteAPIResponseModel route : routes) {
+            String airportFrom = airportCodes.computeIfAbsent(route.getAirportFrom(), code -> code);
+            String airportTo = airportCodes.computeIfAbsent(route.getAirportTo(), code -> code);
+            outbound.computeIfAbsent(airportFrom, code -> new ArrayList<>()).add(route);
+            inbound.computeIfAbsent(airportTo, code -> new ArrayList<>()).add(route);
+        }
+        return new RouteGraph(routes, outbound, inbound);
+    }
+
+    /**
+     * Checks whether this index was built from the given route list instance.
+     *
+     * @param routes The route list to check.
+     * @return true if the index reflects exactly this route list, otherwise false.
+     */
+    public boolean isBuiltFrom(List<RouteAPIResponseModel> routes) {
+        return source == routes;
+    }
+
+    /**
+     * Finds a direct route between the given airports.
+     *
+     * @param departureIATACode The IATA code of the departure airport.
+     * @param arrivalIATACode   The IATA code of the arrival airport.
+     * @return The direct route if one exists.
+     */
+    public Optional<RouteAPIResponseModel> findDirectRoute(String departureIATACode, String arrivalIATACode) {
+        for (RouteAPIResponseModel route : outbound.getOrDefault(departureIATACode, Collections.emptyList())) {
+            if (route.getAirportTo().equals(arrivalIATACode)) {
+                return Optional.of(route);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Finds all one-stop routes between the given airports as [departing leg, arriving leg] pairs.
+     *
+     * @param departureIATACode The IATA code of the departure airport.
+     * @param arrivalIATACode   The IATA code of the arrival airport.
+     * @return The list of one-stop route pairs, in source list order.
+     */
+    public List<List<RouteAPIResponseModel>> findOneStopRoutes(String departureIATACode, String arrivalIATACode) {
+        List<RouteAPIResponseModel> departingLegs = outbound.getOrDefault(departureIATACode, Collections.emptyList());
+        List<RouteAPIResponseModel> arrivingLegs = inbound.getOrDefault(arrivalIATACode, Collections.emptyList());
+        if (departingLegs.isEmpty() || arrivingLegs.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<String, List<RouteAPIResponseModel>> arrivingLegsByHub = new HashMap<>();
+        for (RouteAPIResponseModel arrivingLeg : arrivingLegs) {
+            arrivingLegsByHub.computeIfAbsent(arrivingLeg.getAirportFrom(), code -> new ArrayList<>()).add(arrivingLeg);
+        }
+
+        List<List<RouteAPIResponseModel>> oneStopRoutes = new ArrayList<>();
+        for (RouteAPIResponseModel departingLeg : departingLegs) {
+            for (RouteAPIResponseModel arrivingLeg : arrivingLegsByHub.getOrDefault(departingLeg.getAirportTo(), Collections.emptyList())) {
+                oneStopRoutes.add(Arrays.asList(departingLeg, arrivingLeg));
+            }
+        }
+        return oneStopRoutes;
+    }
+}
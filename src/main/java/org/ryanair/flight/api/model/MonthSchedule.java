@@ -0,0 +1,116 @@
+package org.ryanair.flight.api.model;
+
+import lombok.Getter;
+import lombok.ToString;
+import org.ryanair.flight.api.dto.ScheduledFlightDto;
+import org.ryanair.flight.api.util.EpochMinutes;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The schedule of a route for one month, in the form the search reads it: the flights of each day of the month,
+ * indexed by day, with their times converted into epoch minutes once, while the backend response is decoded.
+ * A search window is read by visiting only the days it overlaps and comparing primitives, and the selected
+ * flights are handed on as they are. Immutable, so one decoded month is cached and shared by concurrent searches.
+ */
+@ToString(onlyExplicitlyIncluded = true)
+public final class MonthSchedule {
+
+    @Getter
+    @ToString.Include
+    private final int year;
+    @Getter
+    @ToString.Include
+    private final int month;
+    @Getter
+    @ToString.Include
+    private final int flightCount;
+    private final long monthStart;
+    private final List<List<ScheduledFlightDto>> flightsByDay;
+
+    private MonthSchedule(int year, int month, long monthStart, List<List<ScheduledFlightDto>> flightsByDay, int flightCount) {
+        this.year = year;
+        this.month = month;
+        this.monthStart = monthStart;
+        this.flightsByDay = flightsByDay;
+        this.flightCount = flightCount;
+    }
+
+    public static Builder builder(int year, int month) {
+        return new Builder(year, month);
+    }
+
+    public int getLengthOfMonth() {
+        return flightsByDay.size();
+    }
+
+    /**
+     * @return the day of the month the given epoch minute falls on, below one or past the length of the month
+     * when it falls outside of it.
+     */
+    public long dayOf(long epochMinute) {
+        return Math.floorDiv(epochMinute - monthStart, EpochMinutes.MINUTES_PER_DAY) + 1;
+    }
+
+    /**
+     * @return the flights departing on the given day of the month, in the order of the backend response.
+     */
+    public List<ScheduledFlightDto> flightsOn(int day) {
+        return flightsByDay.get(day - 1);
+    }
+
+    /**
+     * Collects the flights of a month, day by day, as they are decoded.
+     */
+    public static final class Builder {
+
+        private final int year;
+        private final int month;
+        private final long monthStart;
+        private final List<List<ScheduledFlightDto>> flightsByDay;
+        private int flightCount;
+
+        private Builder(int year, int month) {
+            int lengthOfMonth = YearMonth.of(year, month).lengthOfMonth();
+            this.year = year;
+            this.month = month;
+            this.monthStart = EpochMinutes.ofDate(year, month, 1);
+            this.flightsByDay = new ArrayList<>(lengthOfMonth);
+            for (int day = 0; day < lengthOfMonth; day++) {
+                flightsByDay.add(new ArrayList<>());
+            }
+        }
+
+        /**
+         * Adds a flight departing on the given day, with its clock times in minutes of the day.
+         *
+         * @throws IllegalArgumentException if the day is not in the month or a clock time is not in a day.
+         */
+        public Builder flight(int day, String carrierCode, String number, int departureMinuteOfDay, int arrivalMinuteOfDay) {
+            if (day < 1 || day > flightsByDay.size()) {
+                throw new IllegalArgumentException("No day " + day + " in " + YearMonth.of(year, month));
+            }
+            if (!isMinuteOfDay(departureMinuteOfDay) || !isMinuteOfDay(arrivalMinuteOfDay)) {
+                throw new IllegalArgumentException("Invalid clock time of flight " + carrierCode + number);
+            }
+            long dayStart = monthStart + (day - 1L) * EpochMinutes.MINUTES_PER_DAY;
+            flightsByDay.get(day - 1).add(new ScheduledFlightDto(carrierCode, number, dayStart + departureMinuteOfDay, dayStart + arrivalMinuteOfDay));
+            flightCount++;
+            return this;
+        }
+
+        public MonthSchedule build() {
+            List<List<ScheduledFlightDto>> days = new ArrayList<>(flightsByDay.size());
+            for (List<ScheduledFlightDto> flights : flightsByDay) {
+                days.add(List.copyOf(flights));
+            }
+            return new MonthSchedule(year, month, monthStart, List.copyOf(days), flightCount);
+        }
+
+        private static boolean isMinuteOfDay(int minute) {
+            return minute >= 0 && minute < EpochMinutes.MINUTES_PER_DAY;
+        }
+    }
+}
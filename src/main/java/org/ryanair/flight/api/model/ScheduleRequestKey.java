@@ -0,0 +1,15 @@
+package org.ryanair.flight.api.model;
+
+/**
+ * Value identity of a schedule request, used wherever schedule calls are keyed (caching, coalescing).
+ */
+public record ScheduleRequestKey(String departure, String arrival, int year, int month) {
+
+    public static ScheduleRequestKey of(ScheduleAPIRequestModel scheduleAPIRequestModel) {
+        return new ScheduleRequestKey(
+                scheduleAPIRequestModel.getDeparture(),
+                scheduleAPIRequestModel.getArrival(),
+                scheduleAPIRequestModel.getYear(),
+                scheduleAPIRequestModel.getMonth());
+    }
+}
@@ -29,6 +29,10 @@ public class FlightRouter {
      */
     @Bean
     public RouterFunction<ServerResponse> flightInterConnectRoutes(FlightSearchHandler handler) {
-        return RouterFunctions.route().GET(Endpoint.END_POINT_INTERCONNECT, handler::findAvailableFlights).build();
+        return RouterFunctions.route()
+                .GET(Endpoint.END_POINT_INTERCONNECT, handler::findAvailableFlights)
+                .GET(Endpoint.END_POINT_INTERCONNECT_STREAM, handler::streamAvailableFlights)
+                .POST(Endpoint.END_POINT_INTERCONNECT_BATCH, handler::findAvailableFlightsBatch)
+                .build();
     }
 }
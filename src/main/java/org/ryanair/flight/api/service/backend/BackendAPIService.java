@@ -1,9 +1,9 @@
 package org.ryanair.flight.api.service.backend;
 
 import org.ryanair.flight.api.exception.BackendInvocationException;
+import org.ryanair.flight.api.model.MonthSchedule;
 import org.ryanair.flight.api.model.RouteAPIResponseModel;
 import org.ryanair.flight.api.model.ScheduleAPIRequestModel;
-import org.ryanair.flight.api.model.ScheduleAPIResponseModel;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -21,8 +21,8 @@ public interface BackendAPIService {
      * Retrieves schedules based on the provided ScheduleAPIRequestModel.
      *
      * @param scheduleAPIRequestModel The request model containing schedule parameters.
-     * @return org.ryanair.flight.api.A Mono emitting a ScheduleAPIResponseModel object.
+     * @return org.ryanair.flight.api.A Mono emitting the MonthSchedule of the requested month.
      * @throws BackendInvocationException if there's an error invoking the backend API.
      */
-     Mono<ScheduleAPIResponseModel> getSchedules(ScheduleAPIRequestModel scheduleAPIRequestModel) throws BackendInvocationException;
+     Mono<MonthSchedule> getSchedules(ScheduleAPIRequestModel scheduleAPIRequestModel) throws BackendInvocationException;
 }
@@ -0,0 +1,52 @@
+package org.ryanair.flight.api.service.backend.cache;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records the stale schedules and routes served to one search, carried in the Reactor context under this class.
+ * Data is stale when it is served past its time to live, or after its background refresh failed, because the
+ * backend could not be reached to revalidate it.
+ */
+public class DataFreshness {
+
+    private final AtomicInteger staleSchedules = new AtomicInteger();
+    private final AtomicInteger staleRoutes = new AtomicInteger();
+    private final AtomicLong oldestStaleAgeMs = new AtomicLong();
+
+    /**
+     * Records a schedule served stale.
+     *
+     * @param age Time since the schedule was fetched.
+     */
+    public void recordStaleSchedule(Duration age) {
+        staleSchedules.incrementAndGet();
+        oldestStaleAgeMs.accumulateAndGet(age.toMillis(), Math::max);
+    }
+
+    /**
+     * Records the route list served stale.
+     *
+     * @param age Time since the route list was fetched.
+     */
+    public void recordStaleRoutes(Duration age) {
+        staleRoutes.incrementAndGet();
+        oldestStaleAgeMs.accumulateAndGet(age.toMillis(), Math::max);
+    }
+
+    public boolean isStale() {
+        return staleSchedules.get() > 0 || staleRoutes.get() > 0;
+    }
+
+    public int getStaleSchedules() {
+        return staleSchedules.get();
+    }
+
+    /**
+     * @return the age in seconds of the oldest stale data served.
+     */
+    public long getOldestStaleAgeSeconds() {
+        return Duration.ofMillis(oldestStaleAgeMs.get()).toSeconds();
+    }
+}
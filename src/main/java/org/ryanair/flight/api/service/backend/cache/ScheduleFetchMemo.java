@@ -0,0 +1,75 @@
+package org.ryanair.flight.api.service.backend.cache;
+
+import org.ryanair.flight.api.exception.DeadlineExceededException;
+import org.ryanair.flight.api.model.MonthSchedule;
+import org.ryanair.flight.api.model.ScheduleAPIRequestModel;
+import org.ryanair.flight.api.model.ScheduleRequestKey;
+import org.ryanair.flight.api.util.Deadline;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Schedule fetches shared by all the searches of one batch, carried in the Reactor context under this class.
+ * Every departure, arrival, year and month is fetched at most once per batch however many searches need it,
+ * and its response (or failure) is replayed to all of them, with the freshness it was served with. Unlike the schedule cache it lives only as long as the batch.
+ * <p>
+ * The searches of a batch each have their own {@link Deadline}, so the shared fetch runs without any and every
+ * search waits for it only until the deadline in its own context. A {@link DeadlineExceededException} is never
+ * replayed: a later search subscribing after one fetches the schedule again.
+ */
+public class ScheduleFetchMemo {
+
+    private final Map<ScheduleRequestKey, Mono<ServedSchedule>> fetches = new ConcurrentHashMap<>();
+    private final AtomicInteger requestedFetches = new AtomicInteger();
+    private final AtomicInteger madeFetches = new AtomicInteger();
+
+    /**
+     * Returns the batch's fetch for the request, creating it through the given loader the first time it is requested.
+     *
+     * @param scheduleAPIRequestModel The request model containing schedule parameters.
+     * @param loader                  The fetch used the first time the schedule is requested in the batch.
+     * @return org.ryanair.flight.api.A Mono replaying the single fetch of the schedule.
+     */
+    public Mono<ServedSchedule> get(ScheduleAPIRequestModel scheduleAPIRequestModel, Function<ScheduleAPIRequestModel, Mono<ServedSchedule>> loader) {
+        requestedFetches.incrementAndGet();
+        return fetches.computeIfAbsent(ScheduleRequestKey.of(scheduleAPIRequestModel),
+                        key -> loader.apply(scheduleAPIRequestModel)
+                                .contextWrite(context -> context.delete(Deadline.class)) // ORDER - the first search's deadline must not bound the fetch shared with the others
+                                .cache(servedSchedule -> Duration.ofMillis(Long.MAX_VALUE),
+                                        throwable -> throwable instanceof DeadlineExceededException ? Duration.ZERO : Duration.ofMillis(Long.MAX_VALUE),
+                                        () -> Duration.ofMillis(Long.MAX_VALUE)))
+                .transform(Deadline::enforce);
+    }
+
+    /**
+     * Wraps the backend call of the schedules so that every call the batch makes is counted. The count includes a
+     * schedule fetched again after a {@link DeadlineExceededException}, and leaves out schedules served from the
+     * schedule cache, which never reach the backend call.
+     *
+     * @param backendCall The call to the schedules endpoint.
+     * @return The same call, counted each time it is subscribed.
+     */
+    public Function<ScheduleAPIRequestModel, Mono<MonthSchedule>> counting(Function<ScheduleAPIRequestModel, Mono<MonthSchedule>> backendCall) {
+        return scheduleAPIRequestModel -> backendCall.apply(scheduleAPIRequestModel)
+                .doOnSubscribe(subscription -> madeFetches.incrementAndGet());
+    }
+
+    /**
+     * @return the number of schedule fetches the searches of the batch asked for.
+     */
+    public int getRequestedFetches() {
+        return requestedFetches.get();
+    }
+
+    /**
+     * @return the number of schedule calls the batch actually made to the backend.
+     */
+    public int getMadeFetches() {
+        return madeFetches.get();
+    }
+}
@@ -0,0 +1,143 @@
+package org.ryanair.flight.api.service.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.ryanair.flight.api.config.property.RyanairBackEndCacheConfiguration;
+import org.ryanair.flight.api.model.MonthSchedule;
+import org.ryanair.flight.api.model.ScheduleAPIRequestModel;
+import org.ryanair.flight.api.model.ScheduleRequestKey;
+import org.ryanair.flight.api.util.Constant;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Reactive cache in front of the schedule backend calls keyed by departure, arrival, year and month.
+ * Each entry is the decoded {@link MonthSchedule} of a whole month, searched in place for every search window.
+ * Entries expire after the configured TTL and are evicted by the total number of cached flights.
+ * Only successful responses are cached.
+ * <p>
+ * In stale-while-revalidate mode an entry stays servable for the stale window after its TTL. A stale entry is
+ * served straight away and refreshed in the background, one refresh per entry at a time. While the schedules
+ * circuit breaker is open the refresh is refused without reaching the backend and the stale entry keeps being
+ * served, so searches survive a backend outage as long as the stale window. Each schedule is served as a
+ * {@link ServedSchedule} telling whether it was stale and how old it was.
+ */
+@Component
+@Slf4j
+public class ScheduleResponseCache {
+
+    private final boolean enabled;
+    private final boolean staleWhileRevalidate;
+    private final long ttlNanos;
+    private final Ticker ticker;
+    private final Cache<ScheduleRequestKey, CachedSchedule> cache;
+    private final Set<ScheduleRequestKey> revalidating = ConcurrentHashMap.newKeySet();
+    private final Counter staleServed;
+    private final Counter revalidationSucceeded;
+    private final Counter revalidationFailed;
+
+    @Autowired
+    public ScheduleResponseCache(RyanairBackEndCacheConfiguration cacheConfiguration, MeterRegistry meterRegistry) {
+        this(cacheConfiguration, meterRegistry, Ticker.systemTicker());
+    }
+
+    public ScheduleResponseCache(RyanairBackEndCacheConfiguration cacheConfiguration, MeterRegistry meterRegistry, Ticker ticker) {
+        this.enabled = cacheConfiguration.isScheduleCacheEnabled();
+        this.staleWhileRevalidate = cacheConfiguration.isStaleWhileRevalidateEnabled();
+        this.ttlNanos = Duration.ofMillis(cacheConfiguration.getScheduleCacheTtlMs()).toNanos();
+        this.ticker = ticker;
+        long servableMs = cacheConfiguration.getScheduleCacheTtlMs() + (staleWhileRevalidate ? cacheConfiguration.getStaleWindowMs() : 0);
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(servableMs))
+                .maximumWeight(cacheConfiguration.getScheduleCacheMaxWeightFlights())
+                .weigher((ScheduleRequestKey key, CachedSchedule value) -> Math.max(value.schedule().getFlightCount(), 1))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, Constant.CACHE_NAME_SCHEDULES);
+        this.staleServed = Counter.builder(Constant.METRIC_SCHEDULE_CACHE_STALE_SERVED)
+                .description("Schedules served from the cache after their TTL")
+                .register(meterRegistry);
+        this.revalidationSucceeded = revalidationCounter(meterRegistry, "success");
+        this.revalidationFailed = revalidationCounter(meterRegistry, "failure");
+    }
+
+    /**
+     * Returns the cached schedule for the request or loads it through the given loader.
+     *
+     * @param scheduleAPIRequestModel The request model containing schedule parameters.
+     * @param loader                  The backend call used on a cache miss and to refresh stale entries.
+     * @return org.ryanair.flight.api.A Mono emitting the cached or freshly loaded schedule with its freshness.
+     */
+    public Mono<ServedSchedule> get(ScheduleAPIRequestModel scheduleAPIRequestModel, Function<ScheduleAPIRequestModel, Mono<MonthSchedule>> loader) {
+        if (!enabled) {
+            return loader.apply(scheduleAPIRequestModel).map(ServedSchedule::fresh);
+        }
+        ScheduleRequestKey key = ScheduleRequestKey.of(scheduleAPIRequestModel);
+        return Mono.defer(() -> {
+            CachedSchedule cached = cache.getIfPresent(key);
+            if (Objects.isNull(cached)) {
+                return loader.apply(scheduleAPIRequestModel)
+                        .doOnNext(monthSchedule -> put(key, monthSchedule))
+                        .map(ServedSchedule::fresh);
+            }
+            long ageNanos = ticker.read() - cached.loadedAtNanos();
+            boolean stale = staleWhileRevalidate && ageNanos >= ttlNanos;
+            if (stale) {
+                staleServed.increment();
+                revalidate(key, scheduleAPIRequestModel, loader);
+            }
+            return Mono.just(new ServedSchedule(cached.schedule(), stale, Duration.ofNanos(ageNanos)));
+        });
+    }
+
+    /**
+     * Refreshes a stale entry in the background unless a refresh of it is already running.
+     * A failed refresh leaves the stale entry in place.
+     */
+    private void revalidate(ScheduleRequestKey key, ScheduleAPIRequestModel scheduleAPIRequestModel, Function<ScheduleAPIRequestModel, Mono<MonthSchedule>> loader) {
+        if (!revalidating.add(key)) {
+            return;
+        }
+        loader.apply(scheduleAPIRequestModel)
+                .doFinally(signalType -> revalidating.remove(key))
+                .subscribe(
+                        monthSchedule -> {
+                            put(key, monthSchedule);
+                            revalidationSucceeded.increment();
+                        },
+                        throwable -> {
+                            revalidationFailed.increment();
+                            log.debug("Refreshing stale schedule {} failed, serving it stale - {}", key, throwable.getMessage());
+                        });
+    }
+
+    private void put(ScheduleRequestKey key, MonthSchedule monthSchedule) {
+        cache.put(key, new CachedSchedule(monthSchedule, ticker.read()));
+    }
+
+    private static Counter revalidationCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(Constant.METRIC_SCHEDULE_CACHE_REVALIDATION)
+                .description("Background refreshes of stale schedules")
+                .tag(Constant.TAG_OUTCOME, outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * A cached schedule together with the ticker time it was fetched at.
+     */
+    private record CachedSchedule(MonthSchedule schedule, long loadedAtNanos) {
+    }
+}
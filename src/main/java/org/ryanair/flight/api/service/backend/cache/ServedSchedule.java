@@ -0,0 +1,32 @@
+package org.ryanair.flight.api.service.backend.cache;
+
+import org.ryanair.flight.api.model.MonthSchedule;
+
+import java.time.Duration;
+
+/**
+ * A schedule as served by the schedule cache, together with its freshness. The freshness travels with the
+ * schedule, so every search it is served to, including each search of a batch sharing one fetch, records it
+ * in its own {@link DataFreshness}.
+ *
+ * @param schedule The schedule of the month.
+ * @param stale    Whether the schedule was served past its time to live.
+ * @param age      Time since the schedule was fetched, zero when it was just fetched.
+ */
+public record ServedSchedule(MonthSchedule schedule, boolean stale, Duration age) {
+
+    public static ServedSchedule fresh(MonthSchedule schedule) {
+        return new ServedSchedule(schedule, false, Duration.ZERO);
+    }
+
+    /**
+     * Records the schedule in the given freshness if it was served stale.
+     *
+     * @param dataFreshness The freshness of the search the schedule is served to.
+     */
+    public void recordIn(DataFreshness dataFreshness) {
+        if (stale) {
+            dataFreshness.recordStaleSchedule(age);
+        }
+    }
+}
@@ -1,20 +1,37 @@
 package org.ryanair.flight.api.service.backend.impl;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.ryanair.flight.api.client.APIClient;
+import org.ryanair.flight.api.config.property.RyanairBackEndCacheConfiguration;
 import org.ryanair.flight.api.exception.BackendInvocationException;
 import org.ryanair.flight.api.exception.DataValidationException;
+import org.ryanair.flight.api.model.MonthSchedule;
 import org.ryanair.flight.api.model.RouteAPIResponseModel;
 import org.ryanair.flight.api.model.ScheduleAPIRequestModel;
-import org.ryanair.flight.api.model.ScheduleAPIResponseModel;
 import org.ryanair.flight.api.service.backend.BackendAPIService;
+import org.ryanair.flight.api.service.backend.cache.DataFreshness;
+import org.ryanair.flight.api.service.backend.cache.ScheduleFetchMemo;
+import org.ryanair.flight.api.service.backend.cache.ScheduleResponseCache;
+import org.ryanair.flight.api.service.backend.cache.ServedSchedule;
 import org.ryanair.flight.api.util.Constant;
+import org.ryanair.flight.api.util.Deadline;
 import org.ryanair.flight.api.util.ResponseMessage;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Implementation of the BackendAPIService interface responsible for interacting with the backend API.
@@ -23,12 +40,42 @@ import java.util.*;
  */
 @Service
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@Slf4j
 public class RyanairBackendAPIServiceImpl implements BackendAPIService {
 
     private final APIClient apiClient;
+    private final RyanairBackEndCacheConfiguration cacheConfiguration;
+    private final MeterRegistry meterRegistry;
+    private final ScheduleResponseCache scheduleResponseCache;
+
+    private final AtomicReference<RouteSnapshot> routeSnapshot = new AtomicReference<>();
+    private final AtomicBoolean routeSnapshotRefreshing = new AtomicBoolean(false);
+    private final AtomicBoolean routeSnapshotStale = new AtomicBoolean(false);
+    private final AtomicReference<Mono<RouteSnapshot>> routeSnapshotLoad = new AtomicReference<>();
+
+    /**
+     * Registers the route snapshot age gauge.
+     */
+    @PostConstruct
+    public void registerRouteSnapshotMetrics() {
+        Gauge.builder(Constant.METRIC_ROUTE_SNAPSHOT_AGE, routeSnapshot, snapshot -> {
+                    RouteSnapshot current = snapshot.get();
+                    return Objects.isNull(current) ? Double.NaN : (System.currentTimeMillis() - current.refreshedAt()) / 1000d;
+                })
+                .description("Age of the in-memory route snapshot")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
 
     /**
      * Retrieves the routes between the given arrival and departure IATA codes.
+     * When the route snapshot is enabled the pre-filtered in-memory snapshot is served and the backend
+     * is only called when no snapshot has been loaded yet, by a single load shared by every caller waiting for it.
+     * In stale-while-revalidate mode a snapshot whose last refresh failed is served stale for up to the stale
+     * window, after which it is loaded again like a missing one.
+     * Otherwise the backend is called every time and, in stale-while-revalidate mode, the last valid routes are
+     * served stale for up to the stale window when the call fails. Stale routes served to a search are recorded
+     * in the {@link DataFreshness} found in the subscriber context.
      *
      * @param arrivalIATACode   The IATA code of the arrival airport.
      * @param departureIATACode The IATA code of the departure airport.
@@ -37,21 +84,142 @@ public class RyanairBackendAPIServiceImpl implements BackendAPIService {
      */
     @Override
     public Mono<List<RouteAPIResponseModel>> getRoutes(String arrivalIATACode , String departureIATACode) throws BackendInvocationException {
-        return apiClient.getRoutes().flatMap(this::filterAndGetValidRoutes);
+        if (!cacheConfiguration.isRouteSnapshotEnabled()) {
+            Mono<List<RouteAPIResponseModel>> routes = apiClient.getRoutes().flatMap(this::filterAndGetValidRoutes);
+            if (!cacheConfiguration.isStaleWhileRevalidateEnabled()) {
+                return routes;
+            }
+            return routes
+                    .doOnNext(validRoutes -> routeSnapshot.set(new RouteSnapshot(validRoutes, System.currentTimeMillis())))
+                    .onErrorResume(throwable -> !(throwable instanceof DataValidationException), this::serveStaleRoutes);
+        }
+        return Mono.deferContextual(contextView -> {
+            RouteSnapshot snapshot = routeSnapshot.get();
+            if (Objects.nonNull(snapshot) && !routeSnapshotStale.get()) {
+                return Mono.just(snapshot.routes());
+            }
+            if (Objects.nonNull(snapshot) && isWithinStaleWindow(snapshot)) {
+                recordStaleRoutes(contextView, snapshot);
+                return Mono.just(snapshot.routes());
+            }
+            return loadRouteSnapshot().transform(Deadline::enforce).map(RouteSnapshot::routes);
+        });
+    }
+
+    /**
+     * Serves the last valid routes in place of a failed route lookup, if they are younger than the stale window.
+     *
+     * @param throwable The failure of the route lookup, passed on when there are no servable routes.
+     * @return org.ryanair.flight.api.A Mono emitting the stale routes.
+     */
+    private Mono<List<RouteAPIResponseModel>> serveStaleRoutes(Throwable throwable) {
+        return Mono.deferContextual(contextView -> {
+            RouteSnapshot snapshot = routeSnapshot.get();
+            if (Objects.isNull(snapshot) || !isWithinStaleWindow(snapshot)) {
+                return Mono.error(throwable);
+            }
+            log.warn("Route lookup failed, serving the routes loaded at {} - {}", snapshot.refreshedAt(), throwable.getMessage());
+            recordStaleRoutes(contextView, snapshot);
+            return Mono.just(snapshot.routes());
+        });
+    }
+
+    private boolean isWithinStaleWindow(RouteSnapshot snapshot) {
+        return System.currentTimeMillis() - snapshot.refreshedAt() <= cacheConfiguration.getStaleWindowMs();
+    }
+
+    private void recordStaleRoutes(ContextView contextView, RouteSnapshot snapshot) {
+        meterRegistry.counter(Constant.METRIC_ROUTES_STALE_SERVED).increment();
+        contextView.<DataFreshness>getOrEmpty(DataFreshness.class)
+                .ifPresent(dataFreshness -> dataFreshness.recordStaleRoutes(
+                        Duration.ofMillis(System.currentTimeMillis() - snapshot.refreshedAt())));
     }
 
     /**
      * Retrieves the flight schedules based on the provided ScheduleAPIRequestModel.
+     * Responses are served from the schedule cache when present. Within a batch search the
+     * {@link ScheduleFetchMemo} found in the subscriber context makes sure each schedule is fetched only once.
+     * Stale schedules are recorded in the {@link DataFreshness} found in the context of each subscriber, so every
+     * search of a batch sharing a stale schedule is marked stale.
      *
      * @param scheduleAPIRequestModel The request model containing schedule parameters.
-     * @return org.ryanair.flight.api.A Mono emitting a ScheduleAPIResponseModel object.
+     * @return org.ryanair.flight.api.A Mono emitting the MonthSchedule of the requested month.
      * @throws BackendInvocationException if an error occurs during backend invocation.
      */
     @Override
-    public Mono<ScheduleAPIResponseModel> getSchedules(ScheduleAPIRequestModel scheduleAPIRequestModel) throws BackendInvocationException {
-        return apiClient.getSchedules(scheduleAPIRequestModel);
+    public Mono<MonthSchedule> getSchedules(ScheduleAPIRequestModel scheduleAPIRequestModel) throws BackendInvocationException {
+        return Mono.deferContextual(contextView -> contextView.<ScheduleFetchMemo>getOrEmpty(ScheduleFetchMemo.class)
+                .map(scheduleFetchMemo -> scheduleFetchMemo.get(scheduleAPIRequestModel,
+                        request -> scheduleResponseCache.get(request, scheduleFetchMemo.counting(apiClient::getSchedules))))
+                .orElseGet(() -> scheduleResponseCache.get(scheduleAPIRequestModel, apiClient::getSchedules))
+                .doOnNext(servedSchedule -> contextView.<DataFreshness>getOrEmpty(DataFreshness.class)
+                        .ifPresent(servedSchedule::recordIn))
+                .map(ServedSchedule::schedule));
+    }
+
+    /**
+     * Refreshes the in-memory route snapshot in the background on the configured interval.
+     * The previous snapshot keeps being served if the refresh fails, marked stale in stale-while-revalidate mode.
+     */
+    @Scheduled(initialDelayString = "${backend.ryanair.cache.routes.initial-delay-ms:0}",
+            fixedDelayString = "${backend.ryanair.cache.routes.refresh-interval-ms:3600000}")
+    public void refreshRouteSnapshot() {
+        if (!cacheConfiguration.isRouteSnapshotEnabled() || !routeSnapshotRefreshing.compareAndSet(false, true)) {
+            return;
+        }
+        long started = System.nanoTime();
+        loadRouteSnapshot()
+                .doFinally(signalType -> routeSnapshotRefreshing.set(false))
+                .subscribe(
+                        snapshot -> {
+                            recordRouteSnapshotRefresh(started, "success");
+                            log.info("Route snapshot refreshed with [{}] valid routes", snapshot.routes().size());
+                        },
+                        throwable -> {
+                            routeSnapshotStale.set(cacheConfiguration.isStaleWhileRevalidateEnabled());
+                            recordRouteSnapshotRefresh(started, "failure");
+                            log.error("Route snapshot refresh failed, keeping the previous snapshot - {}", throwable.getMessage());
+                        });
     }
 
+    /**
+     * Downloads and filters the route list and swaps it in as the current snapshot. Concurrent loads, from a cold
+     * start or overlapping the background refresh, share a single download until it completes. The shared download
+     * runs without the {@link Deadline} of whoever started it, so callers bound their own wait.
+     *
+     * @return org.ryanair.flight.api.A Mono emitting the newly loaded RouteSnapshot.
+     */
+    private Mono<RouteSnapshot> loadRouteSnapshot() {
+        return Mono.defer(() -> routeSnapshotLoad.updateAndGet(inFlight -> Objects.nonNull(inFlight) ? inFlight : newRouteSnapshotLoad()));
+    }
+
+    private Mono<RouteSnapshot> newRouteSnapshotLoad() {
+        AtomicReference<Mono<RouteSnapshot>> load = new AtomicReference<>();
+        load.set(downloadRouteSnapshot()
+                .contextWrite(context -> context.delete(Deadline.class))
+                .doFinally(signalType -> routeSnapshotLoad.compareAndSet(load.get(), null))
+                .share());
+        return load.get();
+    }
+
+    private Mono<RouteSnapshot> downloadRouteSnapshot() {
+        return apiClient.getRoutes()
+                .flatMap(this::filterAndGetValidRoutes)
+                .map(routes -> {
+                    RouteSnapshot snapshot = new RouteSnapshot(routes, System.currentTimeMillis());
+                    routeSnapshot.set(snapshot);
+                    routeSnapshotStale.set(false);
+                    return snapshot;
+                });
+    }
+
+    private void recordRouteSnapshotRefresh(long started, String outcome) {
+        Timer.builder(Constant.METRIC_ROUTE_SNAPSHOT_REFRESH)
+                .description("Duration of the background route snapshot refresh")
+                .tag(Constant.TAG_OUTCOME, outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
 
     /**
      * Filters and retrieves valid routes from the list of RouteAPIResponseModel objects.
@@ -88,4 +256,10 @@ public class RyanairBackendAPIServiceImpl implements BackendAPIService {
             return Boolean.FALSE;
         }
     }
+
+    /**
+     * Immutable pre-filtered route list together with the time it was loaded.
+     */
+    private record RouteSnapshot(List<RouteAPIResponseModel> routes, long refreshedAt) {
+    }
 }
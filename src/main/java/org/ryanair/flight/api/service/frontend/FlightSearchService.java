@@ -1,7 +1,10 @@
 package org.ryanair.flight.api.service.frontend;
 
+import org.ryanair.flight.api.dto.BatchSearchResultDto;
 import org.ryanair.flight.api.dto.FinalFlightResponseDto;
 import org.ryanair.flight.api.dto.RequestDataDto;
+import org.ryanair.flight.api.dto.SearchResultDto;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -25,4 +28,29 @@ public interface FlightSearchService {
      * @return org.ryanair.flight.api.A Mono emitting a list of FinalFlightResponseDto objects representing available flights.
      */
     Mono<List<FinalFlightResponseDto>> findFlights(RequestDataDto requestDataDto);
+
+    /**
+     * Searches available flights based on the provided request data, honouring its limit and sort.
+     *
+     * @param requestDataDto The request data containing flight search parameters.
+     * @return org.ryanair.flight.api.A Mono emitting the selected flights and the metadata describing the selection.
+     */
+    Mono<SearchResultDto> searchFlights(RequestDataDto requestDataDto);
+
+    /**
+     * Searches available flights for every query of a batch, fetching each schedule needed by the batch only once.
+     * A failing query does not fail the batch, its error is reported in its own outcome.
+     *
+     * @param requestDataDtoList The request data of each query.
+     * @return org.ryanair.flight.api.A Mono emitting the outcome of each query, in order, and the batch fetch counts.
+     */
+    Mono<BatchSearchResultDto> searchFlightsBatch(List<RequestDataDto> requestDataDtoList);
+
+    /**
+     * Streams available flights based on the provided request data, emitting each flight as soon as it is found.
+     *
+     * @param requestDataDto The request data containing flight search parameters.
+     * @return org.ryanair.flight.api.A Flux emitting FinalFlightResponseDto objects representing available flights.
+     */
+    Flux<FinalFlightResponseDto> streamFlights(RequestDataDto requestDataDto);
 }
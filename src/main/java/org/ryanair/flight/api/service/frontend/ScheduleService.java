@@ -1,7 +1,7 @@
 package org.ryanair.flight.api.service.frontend;
 
 import org.ryanair.flight.api.dto.ScheduledServiceDto;
-import org.ryanair.flight.api.model.Flight;
+import org.ryanair.flight.api.dto.ScheduledFlightDto;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -25,7 +25,7 @@ public interface ScheduleService {
      * @param scheduledServiceDto The DTO containing information for scheduling departing flights.
      * @return org.ryanair.flight.api.A Mono emitting FlightDataDto containing scheduled departing flight data.
      */
-    Mono<List<Flight>>  getScheduledDepartingFlightData(ScheduledServiceDto scheduledServiceDto);
+    Mono<List<ScheduledFlightDto>>  getScheduledDepartingFlightData(ScheduledServiceDto scheduledServiceDto);
 
     /**
      * Retrieves scheduled arriving flight data based on the provided ScheduledServiceDto.
@@ -33,7 +33,7 @@ public interface ScheduleService {
      * @param scheduledServiceDto The DTO containing information for scheduling arriving flights.
      * @return org.ryanair.flight.api.A Mono emitting FlightDataDto containing scheduled arriving flight data.
      */
-    Mono<List<Flight>> getScheduledArrivingFlightData(ScheduledServiceDto scheduledServiceDto);
+    Mono<List<ScheduledFlightDto>> getScheduledArrivingFlightData(ScheduledServiceDto scheduledServiceDto);
 
     /**
      * Retrieves scheduled direct flight data based on the provided ScheduledServiceDto.
@@ -41,5 +41,5 @@ public interface ScheduleService {
      * @param scheduledServiceDto The DTO containing information for scheduling direct flights.
      * @return org.ryanair.flight.api.A Mono emitting FlightDataDto containing scheduled direct flight data.
      */
-    Mono<List<Flight>> getScheduledDirectFlightData(ScheduledServiceDto scheduledServiceDto);
+    Mono<List<ScheduledFlightDto>> getScheduledDirectFlightData(ScheduledServiceDto scheduledServiceDto);
 }
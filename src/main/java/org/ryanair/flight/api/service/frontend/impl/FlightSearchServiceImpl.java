@@ -1,27 +1,46 @@
 package org.ryanair.flight.api.service.frontend.impl;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.ryanair.flight.api.config.property.FlightSearchPropertyConfiguration;
+import org.ryanair.flight.api.config.property.InterconnectFetchMode;
 import org.ryanair.flight.api.dto.*;
 import org.ryanair.flight.api.exception.BackendInvocationException;
+import org.ryanair.flight.api.exception.DeadlineExceededException;
 import org.ryanair.flight.api.helper.ServiceHelper;
+import org.ryanair.flight.api.index.BoundedResultHeap;
+import org.ryanair.flight.api.index.ConnectionIndex;
 import org.ryanair.flight.api.model.*;
+import org.ryanair.flight.api.service.backend.cache.DataFreshness;
+import org.ryanair.flight.api.service.backend.cache.ScheduleFetchMemo;
 import org.ryanair.flight.api.service.frontend.FlightSearchService;
 import org.ryanair.flight.api.service.frontend.RouteService;
 import org.ryanair.flight.api.service.frontend.ScheduleService;
+import org.ryanair.flight.api.service.frontend.join.ConnectionJoinExecutor;
 import org.ryanair.flight.api.util.Constant;
+import org.ryanair.flight.api.util.Deadline;
+import org.ryanair.flight.api.util.EpochMinutes;
+import org.ryanair.flight.api.util.ReactorTimers;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.context.Context;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.YearMonth;
 import java.util.*;
-
-import static org.ryanair.flight.api.util.Constant.DATE_FORMAT_ISO;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 
 /**
  * Author: Gayan Sanjeewa
@@ -41,9 +60,14 @@ public class FlightSearchServiceImpl implements FlightSearchService {
     private final ServiceHelper serviceHelper;
     private final RouteService routeService;
     private final ScheduleService scheduleService;
+    private final FlightSearchPropertyConfiguration searchConfiguration;
+    private final MeterRegistry meterRegistry;
+    private final ConnectionJoinExecutor connectionJoinExecutor;
 
     /**
      * Finds all available flights based on the given request data.
+     * The whole search and each of its stages are timed, see {@link Constant#METRIC_SEARCH_STAGE}.
+     * When the request has a deadline, the months and hubs not fetched by then are left out of the result.
      * @param requestDataDto The request data containing departure and arrival details.
      * @return org.ryanair.flight.api.A Mono emitting a list of FinalFlightResponseDto objects.
      */
@@ -52,27 +76,516 @@ public class FlightSearchServiceImpl implements FlightSearchService {
         String arrival = requestDataDto.getArrival();
         String departure = requestDataDto.getDeparture();
         log.debug("processing received request findFlights()");
-        return routeService.findAllPossibleRoutes(departure, arrival) //finding all possible routes
-                .flatMap(routeAPIResponseModels ->
-                        processAllAvailableInterconnectedAndDirectFlights(routeAPIResponseModels, requestDataDto)) // finding all available flights
-                .flatMap(availableFlightDto ->
-                        processCollectedFlightsToFinalResponse(availableFlightDto, requestDataDto)); //combining all available flights together
+        Mono<List<FinalFlightResponseDto>> search = timedStage(Constant.STAGE_ROUTE_LOOKUP,
+                routeService.findAllPossibleRoutes(departure, arrival)) //finding all possible routes
+                .flatMap(routeAPIResponseModels -> processAllAvailableInterconnectedAndDirectFlights(
+                        routeAPIResponseModels, requestDataDto, planMonths(requestDataDto))) // finding all available flights
+                .flatMap(availableFlightDto -> timedStage(Constant.STAGE_RESPONSE, Mono.defer(() ->
+                        processCollectedFlightsToFinalResponse(availableFlightDto, requestDataDto)))) //combining all available flights together
+                .doOnNext(this::recordResultCount);
+        return timedRequest(search).contextWrite(deadlineContext(requestDataDto));
+    }
+
+    /**
+     * Searches available flights based on the given request data, honouring the requested limit and sort.
+     * A limited search keeps only the best {@code limit} flights in a bounded heap during the join. For orderings
+     * that are monotonic in time, months are fetched one after the other and fetching stops as soon as no later
+     * month can contribute a flight better than the worst one kept.
+     * When the request deadline passes first, the flights found so far are returned and the metadata marks the
+     * result as partial, listing the months and hubs whose schedules were not fetched. When stale schedules or
+     * routes were served, the metadata marks the result as stale with the age of the oldest data.
+     * @param requestDataDto The request data containing departure, arrival, limit and sort details.
+     * @return Mono emitting the selected flights and the metadata describing the selection.
+     */
+    @Override
+    public Mono<SearchResultDto> searchFlights(RequestDataDto requestDataDto) {
+        return Mono.defer(() -> {
+            IncompleteFetches incompleteFetches = new IncompleteFetches();
+            DataFreshness dataFreshness = new DataFreshness();
+            return selectFlights(requestDataDto)
+                    .map(incompleteFetches::markPartial)
+                    .map(searchResultDto -> markStale(searchResultDto, dataFreshness))
+                    .contextWrite(Context.of(IncompleteFetches.class, incompleteFetches, DataFreshness.class, dataFreshness));
+        });
+    }
+
+    private Mono<SearchResultDto> selectFlights(RequestDataDto requestDataDto) {
+        ResultSort sort = requestDataDto.getSort();
+        if (Objects.isNull(requestDataDto.getLimit())) {
+            return findFlights(requestDataDto).map(finalFlightResponseDtoList -> {
+                if (Objects.isNull(sort)) {
+                    return SearchResultDto.builder().flights(finalFlightResponseDtoList).build();
+                }
+                List<FinalFlightResponseDto> sorted = new ArrayList<>(finalFlightResponseDtoList);
+                sorted.sort(sort.comparator());
+                return SearchResultDto.builder()
+                        .flights(sorted)
+                        .metadata(SearchMetadataDto.builder().sort(sort).build())
+                        .build();
+            });
+        }
+        ResultSort effectiveSort = Objects.requireNonNullElse(sort, ResultSort.DEPARTURE);
+        log.debug("processing received request searchFlights() limit {} sort {}", requestDataDto.getLimit(), effectiveSort);
+        Mono<SearchResultDto> search = timedStage(Constant.STAGE_ROUTE_LOOKUP,
+                routeService.findAllPossibleRoutes(requestDataDto.getDeparture(), requestDataDto.getArrival()))
+                .flatMap(allPossibleRoute -> findTopFlights(allPossibleRoute, requestDataDto, effectiveSort))
+                .doOnNext(searchResultDto -> recordResultCount(searchResultDto.getFlights()));
+        return timedRequest(search).contextWrite(deadlineContext(requestDataDto));
+    }
+
+    /**
+     * Searches available flights for every query of a batch. The searches run concurrently and share a
+     * {@link ScheduleFetchMemo} through the subscriber context, so the union of the schedules they need is
+     * fetched once and every fetch is fanned back out to the joins of all the searches that need it.
+     * @param requestDataDtoList The request data of each query.
+     * @return Mono emitting the outcome of each query, in order, and how many schedule fetches were requested and made.
+     */
+    @Override
+    public Mono<BatchSearchResultDto> searchFlightsBatch(List<RequestDataDto> requestDataDtoList) {
+        log.debug("processing received request searchFlightsBatch() with {} queries", requestDataDtoList.size());
+        return Mono.defer(() -> {
+            ScheduleFetchMemo scheduleFetchMemo = new ScheduleFetchMemo();
+            return Flux.fromIterable(requestDataDtoList)
+                    .flatMapSequential(requestDataDto -> searchFlights(requestDataDto)
+                                    .map(BatchQueryResultDto::success)
+                                    .onErrorResume(throwable -> Mono.just(BatchQueryResultDto.failure(throwable))),
+                            searchConfiguration.getBatchConcurrency())
+                    .collectList()
+                    .map(batchQueryResultDtoList -> toBatchResult(batchQueryResultDtoList, scheduleFetchMemo))
+                    .contextWrite(Context.of(ScheduleFetchMemo.class, scheduleFetchMemo));
+        });
+    }
+
+    private BatchSearchResultDto toBatchResult(List<BatchQueryResultDto> batchQueryResultDtoList, ScheduleFetchMemo scheduleFetchMemo) {
+        int requestedFetches = scheduleFetchMemo.getRequestedFetches();
+        int madeFetches = scheduleFetchMemo.getMadeFetches();
+        meterRegistry.counter(Constant.METRIC_BATCH_SCHEDULE_FETCHES, Constant.TAG_FETCH, Constant.FETCH_REQUESTED).increment(requestedFetches);
+        meterRegistry.counter(Constant.METRIC_BATCH_SCHEDULE_FETCHES, Constant.TAG_FETCH, Constant.FETCH_MADE).increment(madeFetches);
+        log.debug("batch of {} queries made {} of {} requested schedule fetches", batchQueryResultDtoList.size(), madeFetches, requestedFetches);
+        return BatchSearchResultDto.builder()
+                .results(batchQueryResultDtoList)
+                .metadata(SearchMetadataDto.builder()
+                        .scheduleFetchesRequested(requestedFetches)
+                        .scheduleFetchesMade(madeFetches)
+                        .build())
+                .build();
+    }
+
+    /**
+     * Finds the best flights of a limited search.
+     * @param allPossibleRoute List of possible routes.
+     * @param requestDataDto The request data.
+     * @param sort The ordering deciding which flights are the best.
+     * @return Mono emitting the selected flights and whether more flights may match.
+     */
+    private Mono<SearchResultDto> findTopFlights(List<PossibleRoutesDto> allPossibleRoute, RequestDataDto requestDataDto, ResultSort sort) {
+        List<YearMonthDataDto> noOfMonthWithYear = planMonths(requestDataDto);
+        if (!sort.isMonotonicInTime() || noOfMonthWithYear.size() == 1) {
+            return processAllAvailableInterconnectedAndDirectFlights(allPossibleRoute, requestDataDto, noOfMonthWithYear)
+                    .flatMap(availableFlightDto -> connectionJoinExecutor.join(joinInputSize(availableFlightDto), () -> toTopResult(
+                            selectTopFlights(availableFlightDto, requestDataDto, sort), requestDataDto, sort, false)));
+        }
+
+        TopFlightsJoin topFlightsJoin = new TopFlightsJoin(requestDataDto, sort);
+        FirstLegArrivals firstLegArrivals = new FirstLegArrivals(noOfMonthWithYear);
+        return Flux.fromIterable(noOfMonthWithYear)
+                .flatMapSequential(yearMonthDataDto -> processAllAvailableInterconnectedAndDirectFlights(
+                        allPossibleRoute, requestDataDto, List.of(yearMonthDataDto), firstLegArrivals), 2) // fetches the next month while one is joined
+                .index()
+                .concatMap(indexedMonthFlights -> connectionJoinExecutor.join(joinInputSize(indexedMonthFlights.getT2()), () -> {
+                    BoundedResultHeap<FinalFlightResponseDto> topFlights = ReactorTimers.timed(
+                            () -> topFlightsJoin.add(indexedMonthFlights.getT2()),
+                            meterRegistry, outcome -> stageTimer(Constant.STAGE_RESPONSE, outcome));
+
+                    int nextMonthIndex = indexedMonthFlights.getT1().intValue() + 1;
+                    boolean topFlightsFinal = nextMonthIndex < noOfMonthWithYear.size()
+                            && topFlights.isFull()
+                            && sort.keyOf(topFlights.worst()) < topFlightsJoin.lowestKeyOfLaterMonths(noOfMonthWithYear.get(nextMonthIndex));
+                    if (topFlightsFinal) {
+                        log.debug("top {} flights final after {} of {} months", requestDataDto.getLimit(), nextMonthIndex, noOfMonthWithYear.size());
+                    }
+                    return new TopFlightsStep(topFlights, topFlightsFinal);
+                }), 0) // no month is requested, so none is fetched, before the one before it is joined
+                .takeUntil(TopFlightsStep::stoppedEarly) // cancels the fetches of the remaining months
+                .last()
+                .map(step -> toTopResult(step.topFlights(), requestDataDto, sort, step.stoppedEarly()));
+    }
+
+    /**
+     * Join of the months of a limited search, one month at a time and in order, into the heap of its best flights.
+     * The second legs of a month all depart within it, after every second leg of the months before, so a month
+     * only adds the connections to its own second legs: from the first legs of the months before that had no
+     * connection yet, and from its own first legs. Each month is joined against an index of its second legs
+     * only, in the order of a join over all months at once, so the same connections are found.
+     */
+    private final class TopFlightsJoin {
+        private final RequestDataDto requestDataDto;
+        private final ResultSort sort;
+        private final BoundedResultHeap<FinalFlightResponseDto> topFlights;
+        private final Set<LegKey> chosenLegs = new HashSet<>();
+        private final Map<String, List<ScheduledFlightDto>> unconnectedFirstLegsByHub = new HashMap<>();
+
+        TopFlightsJoin(RequestDataDto requestDataDto, ResultSort sort) {
+            this.requestDataDto = requestDataDto;
+            this.sort = sort;
+            this.topFlights = new BoundedResultHeap<>(requestDataDto.getLimit(), sort.comparator());
+        }
+
+        /**
+         * Joins the flights of the next month.
+         * @param monthFlights The flights fetched for the month.
+         * @return The best flights of the months joined so far.
+         */
+        BoundedResultHeap<FinalFlightResponseDto> add(AvailableFlightDto monthFlights) {
+            generateAndAttachDirectFlightsToFinaResponse(topFlights::offer, monthFlights.getDirectFlights(), requestDataDto);
+
+            HashMap<String, List<ScheduledFlightDto>> arrivingFlightsDataMap = new HashMap<>();
+            HashMap<String, List<ScheduledFlightDto>> departingFlightsDataMap = new HashMap<>();
+            serviceHelper.linearizingDepartingAndArrivingInterconnectedFlights(
+                    departingFlightsDataMap, arrivingFlightsDataMap, monthFlights.getInterconnectedFlights());
+            departingFlightsDataMap.forEach((departSection, departingFlights) -> unconnectedFirstLegsByHub
+                    .computeIfAbsent(departSection.split("-")[1], hub -> new ArrayList<>())
+                    .addAll(departingFlights));
+
+            ReactorTimers.timed(() -> {
+                unconnectedFirstLegsByHub.replaceAll((hub, firstLegs) -> connectHub(hub, firstLegs,
+                        arrivingFlightsDataMap.get(hub + "-" + requestDataDto.getArrival()), chosenLegs, requestDataDto, topFlights::offer));
+                return topFlights;
+            }, meterRegistry, outcome -> stageTimer(Constant.STAGE_JOIN, outcome));
+            return topFlights;
+        }
+
+        /**
+         * Lower bound of the sort key of any flight that joining the given and later months could still add.
+         * Flights of later months depart, and so arrive, after the start of the next month. With departure ordering
+         * a first leg without a connection yet may still connect to a second leg of a later month, so its
+         * departure bounds the key as well.
+         */
+        long lowestKeyOfLaterMonths(YearMonthDataDto nextMonth) {
+            long lowestKey = EpochMinutes.ofDate(nextMonth.getYear(), nextMonth.getMonth(), 1);
+            if (sort == ResultSort.DEPARTURE) {
+                for (List<ScheduledFlightDto> firstLegs : unconnectedFirstLegsByHub.values()) {
+                    for (ScheduledFlightDto firstLeg : firstLegs) {
+                        lowestKey = Math.min(lowestKey, firstLeg.departureEpochMinute());
+                    }
+                }
+            }
+            return lowestKey;
+        }
+    }
+
+    /**
+     * Joins the fetched flights into a bounded heap keeping the best {@code limit} of them.
+     */
+    private BoundedResultHeap<FinalFlightResponseDto> selectTopFlights(AvailableFlightDto availableFlightDto, RequestDataDto requestDataDto, ResultSort sort) {
+        return ReactorTimers.timed(() -> {
+            BoundedResultHeap<FinalFlightResponseDto> topFlights = new BoundedResultHeap<>(requestDataDto.getLimit(), sort.comparator());
+            collectFinalFlights(availableFlightDto, requestDataDto, topFlights::offer);
+            return topFlights;
+        }, meterRegistry, outcome -> stageTimer(Constant.STAGE_RESPONSE, outcome));
+    }
+
+    private static SearchResultDto toTopResult(BoundedResultHeap<FinalFlightResponseDto> topFlights, RequestDataDto requestDataDto, ResultSort sort, boolean stoppedEarly) {
+        return SearchResultDto.builder()
+                .flights(topFlights.toSortedList())
+                .metadata(SearchMetadataDto.builder()
+                        .limit(requestDataDto.getLimit())
+                        .sort(sort)
+                        .truncated(topFlights.isOverflowed() || stoppedEarly)
+                        .build())
+                .build();
+    }
+
+    /**
+     * Top flights after fetching a month, and whether they can no longer change.
+     */
+    private record TopFlightsStep(BoundedResultHeap<FinalFlightResponseDto> topFlights, boolean stoppedEarly) {
+    }
+
+    private List<YearMonthDataDto> planMonths(RequestDataDto requestDataDto) {
+        return ReactorTimers.timed(
+                () -> serviceHelper.calculateNoOfMonthForTheProvidedDateRange(requestDataDto),
+                meterRegistry, outcome -> stageTimer(Constant.STAGE_MONTH_PLANNING, outcome));
+    }
+
+    private <T> Mono<T> timedRequest(Mono<T> search) {
+        return ReactorTimers.timed(search, meterRegistry, outcome -> Timer.builder(Constant.METRIC_SEARCH_REQUEST)
+                .description("End to end flight searches")
+                .tag(Constant.TAG_OUTCOME, outcome)
+                .register(meterRegistry));
+    }
+
+    /**
+     * Carries the deadline of the request, if any, to the backend calls of the search.
+     */
+    private static Function<Context, Context> deadlineContext(RequestDataDto requestDataDto) {
+        return context -> Objects.isNull(requestDataDto.getDeadline()) ? context : context.put(Deadline.class, requestDataDto.getDeadline());
+    }
+
+    /**
+     * Bounds the fetch of one month of a route by the request deadline. A fetch still running when the deadline
+     * passes is cancelled and replaced by the fallback, and its month and hub are recorded as incomplete.
+     * @param fetch The schedule fetch.
+     * @param yearMonthDataDto The month fetched.
+     * @param hub The connecting airport of the route, or null for the direct route.
+     * @param fallback The value standing in for the schedules that were not fetched.
+     * @return Mono emitting the fetched schedules, or the fallback once the deadline passed.
+     */
+    private <T> Mono<T> fetchWithinDeadline(Mono<T> fetch, YearMonthDataDto yearMonthDataDto, String hub, T fallback) {
+        return Deadline.enforce(fetch)
+                .onErrorResume(DeadlineExceededException.class, exception -> Mono.deferContextual(contextView -> {
+                    log.debug("request deadline passed before fetching {}-{} via {}", yearMonthDataDto.getYear(), yearMonthDataDto.getMonth(), hub);
+                    meterRegistry.counter(Constant.METRIC_SEARCH_INCOMPLETE_FETCHES, Constant.TAG_FANOUT_TYPE,
+                            Objects.isNull(hub) ? Constant.FANOUT_TYPE_DIRECT : Constant.FANOUT_TYPE_INTERCONNECT).increment();
+                    contextView.<IncompleteFetches>getOrEmpty(IncompleteFetches.class)
+                            .ifPresent(incompleteFetches -> incompleteFetches.add(yearMonthDataDto, hub));
+                    return Mono.just(fallback);
+                }));
+    }
+
+    /**
+     * Months and hubs of a search whose schedules were not fetched before the request deadline,
+     * collected through the subscriber context.
+     */
+    private static final class IncompleteFetches {
+        private final Set<IncompleteFetchDto> fetches = ConcurrentHashMap.newKeySet();
+
+        void add(YearMonthDataDto yearMonthDataDto, String hub) {
+            fetches.add(IncompleteFetchDto.builder()
+                    .month(String.format("%04d-%02d", yearMonthDataDto.getYear(), yearMonthDataDto.getMonth()))
+                    .hub(hub)
+                    .build());
+        }
+
+        /**
+         * Marks the result as partial when any fetch was incomplete.
+         */
+        SearchResultDto markPartial(SearchResultDto searchResultDto) {
+            if (fetches.isEmpty()) {
+                return searchResultDto;
+            }
+            List<IncompleteFetchDto> incompleteFetches = new ArrayList<>(fetches);
+            incompleteFetches.sort(Comparator.comparing(IncompleteFetchDto::getMonth)
+                    .thenComparing(IncompleteFetchDto::getHub, Comparator.nullsFirst(Comparator.naturalOrder())));
+            return withMetadata(searchResultDto, metadata -> metadata
+                    .partial(true)
+                    .incompleteFetches(incompleteFetches));
+        }
+    }
+
+    /**
+     * Earliest arrival of the first leg flights of every hub and month of one search, published as each first leg
+     * schedule arrives. The second legs of a month can be reached from the first legs of that month and of every
+     * month before it, so the pruned fetch mode waits for the arrivals of all of them before deciding on the month.
+     */
+    private static final class FirstLegArrivals {
+        private final List<YearMonthDataDto> months;
+        private final Map<HubMonth, Sinks.One<Long>> earliestArrivals = new ConcurrentHashMap<>();
+
+        FirstLegArrivals(List<YearMonthDataDto> months) {
+            this.months = months;
+        }
+
+        /**
+         * Publishes the first legs of a hub and month. Only the first publication of a hub and month counts.
+         */
+        void publish(String hub, YearMonthDataDto yearMonthDataDto, List<ScheduledFlightDto> firstLegs) {
+            long earliestArrival = Long.MAX_VALUE;
+            for (ScheduledFlightDto flight : firstLegs) {
+                earliestArrival = Math.min(earliestArrival, flight.arrivalEpochMinute());
+            }
+            earliestArrival(hub, yearMonthDataDto.getYear(), yearMonthDataDto.getMonth()).tryEmitValue(earliestArrival);
+        }
+
+        /**
+         * @return Mono emitting the earliest first leg arrival of the hub over the given month and the months before
+         * it, {@link Long#MAX_VALUE} if none of them has first legs, once all of them are published.
+         */
+        Mono<Long> earliestUpTo(String hub, YearMonthDataDto yearMonthDataDto) {
+            List<Mono<Long>> arrivals = new ArrayList<>();
+            for (YearMonthDataDto month : months) {
+                arrivals.add(earliestArrival(hub, month.getYear(), month.getMonth()).asMono());
+                if (month.getYear() == yearMonthDataDto.getYear() && month.getMonth() == yearMonthDataDto.getMonth()) {
+                    break;
+                }
+            }
+            return Flux.merge(arrivals).reduce(Long.MAX_VALUE, Math::min);
+        }
+
+        private Sinks.One<Long> earliestArrival(String hub, int year, int month) {
+            return earliestArrivals.computeIfAbsent(new HubMonth(hub, year, month), hubMonth -> Sinks.one());
+        }
+
+        private record HubMonth(String hub, int year, int month) {
+        }
+    }
+
+    /**
+     * Marks the result as stale when any of the data it was found in was served stale.
+     */
+    private static SearchResultDto markStale(SearchResultDto searchResultDto, DataFreshness dataFreshness) {
+        if (!dataFreshness.isStale()) {
+            return searchResultDto;
+        }
+        return withMetadata(searchResultDto, metadata -> metadata
+                .stale(true)
+                .staleDataAgeSeconds(dataFreshness.getOldestStaleAgeSeconds()));
+    }
+
+    private static SearchResultDto withMetadata(SearchResultDto searchResultDto, UnaryOperator<SearchMetadataDto.SearchMetadataDtoBuilder> metadataUpdate) {
+        SearchMetadataDto metadata = Objects.isNull(searchResultDto.getMetadata())
+                ? new SearchMetadataDto()
+                : searchResultDto.getMetadata();
+        return SearchResultDto.builder()
+                .flights(searchResultDto.getFlights())
+                .metadata(metadataUpdate.apply(metadata.toBuilder()).build())
+                .build();
+    }
 
+    private void recordResultCount(List<FinalFlightResponseDto> finalFlightResponseDtoList) {
+        DistributionSummary.builder(Constant.METRIC_SEARCH_RESULTS)
+                .description("Flights returned per search")
+                .register(meterRegistry)
+                .record(finalFlightResponseDtoList.size());
+    }
+
+    /**
+     * Streams available flights based on the given request data.
+     * Direct flights are emitted month by month as their schedules arrive and the connections of a hub
+     * are joined and emitted as soon as all months of that hub are fetched. Hubs are fetched concurrently,
+     * each one held only until its connections are emitted, so the first results do not wait for the slowest
+     * backend call. When the request deadline passes, the stream completes after the flights found so far.
+     * A search failing before its first flight fails the stream before anything is emitted.
+     * @param requestDataDto The request data containing departure and arrival details.
+     * @return Flux emitting FinalFlightResponseDto objects as they are computed.
+     */
+    @Override
+    public Flux<FinalFlightResponseDto> streamFlights(RequestDataDto requestDataDto) {
+        log.debug("processing received request streamFlights()");
+        Flux<FinalFlightResponseDto> stream = timedStage(Constant.STAGE_ROUTE_LOOKUP,
+                routeService.findAllPossibleRoutes(requestDataDto.getDeparture(), requestDataDto.getArrival()))
+                .flatMapMany(allPossibleRoute -> {
+                    List<YearMonthDataDto> noOfMonthWithYear = planMonths(requestDataDto);
+                    return Flux.merge(
+                            streamDirectFlights(allPossibleRoute, noOfMonthWithYear, requestDataDto),
+                            streamInterConnectedFlights(allPossibleRoute, noOfMonthWithYear, requestDataDto));
+                })
+                .contextWrite(deadlineContext(requestDataDto));
+        return Flux.defer(() -> {
+            Timer.Sample firstResultSample = Timer.start(meterRegistry);
+            AtomicBoolean firstResult = new AtomicBoolean(true);
+            return stream.doOnNext(finalFlightResponseDto -> {
+                if (firstResult.compareAndSet(true, false)) {
+                    firstResultSample.stop(meterRegistry.timer(Constant.METRIC_SEARCH_FIRST_RESULT));
+                }
+            });
+        });
+    }
+
+    private Flux<FinalFlightResponseDto> streamDirectFlights(List<PossibleRoutesDto> allPossibleRoute, List<YearMonthDataDto> noOfMonthWithYear, RequestDataDto requestDataDto) {
+        return Flux.fromIterable(allPossibleRoute)
+                .filter(possibleRoutesDto -> possibleRoutesDto.getType().equals(Constant.ROUTE_TYPE_DIRECT))
+                .take(1)
+                .flatMap(possibleRoutesDto -> Flux.fromIterable(noOfMonthWithYear)
+                        .flatMap(yearMonthDataDto -> fetchDirectMonth(possibleRoutesDto.getDirectRoute(), requestDataDto, yearMonthDataDto)))
+                .flatMapIterable(flightList -> flightList)
+                .map(flight -> toDirectFlightResponse(flight, requestDataDto));
+    }
+
+    private Flux<FinalFlightResponseDto> streamInterConnectedFlights(List<PossibleRoutesDto> allPossibleRoute, List<YearMonthDataDto> noOfMonthWithYear, RequestDataDto requestDataDto) {
+        InterconnectFetchMode fetchMode = searchConfiguration.getInterconnectFetchMode();
+        AtomicInteger savedBackendCalls = new AtomicInteger();
+        FirstLegArrivals firstLegArrivals = new FirstLegArrivals(noOfMonthWithYear);
+        return Flux.fromIterable(allPossibleRoute)
+                .filter(possibleRoutesDto -> possibleRoutesDto.getType().equals(Constant.ROUTE_TYPE_INTER_CONNECTED))
+                .flatMap(possibleRoutesDto -> Flux.fromIterable(noOfMonthWithYear)
+                        .flatMap(yearMonthDataDto -> fetchInterConnectedMonth(
+                                requestDataDto, possibleRoutesDto, yearMonthDataDto, fetchMode, savedBackendCalls, firstLegArrivals))
+                        .filter(interConnectedFlightData ->
+                                StringUtils.hasText(interConnectedFlightData.getDepartSection()) &&
+                                        StringUtils.hasText(interConnectedFlightData.getArrivingSection()))
+                        .collectList()
+                        .flatMap(hubFlightData -> connectionJoinExecutor.join(joinInputSize(hubFlightData), () -> {
+                            List<FinalFlightResponseDto> hubConnections = new ArrayList<>();
+                            generateAndAttachInterConnectedFlightsToFinaResponse(hubConnections::add, hubFlightData, requestDataDto);
+                            return hubConnections;
+                        }))
+                        .flatMapIterable(hubConnections -> hubConnections));
+    }
+
+    /**
+     * Times a stage of the search pipeline.
+     * @param stage The stage name.
+     * @param source The Mono producing the result of the stage.
+     * @return The timed Mono.
+     */
+    private <T> Mono<T> timedStage(String stage, Mono<T> source) {
+        return ReactorTimers.timed(source, meterRegistry, outcome -> stageTimer(stage, outcome));
+    }
+
+    private Timer stageTimer(String stage, String outcome) {
+        return Timer.builder(Constant.METRIC_SEARCH_STAGE)
+                .description("Stages of the flight search pipeline")
+                .tag(Constant.TAG_STAGE, stage)
+                .tag(Constant.TAG_OUTCOME, outcome)
+                .register(meterRegistry);
+    }
+
+    private void recordFanOutWidth(String type, int width) {
+        DistributionSummary.builder(Constant.METRIC_SEARCH_FANOUT_WIDTH)
+                .description("Backend schedule lookups planned per search")
+                .tag(Constant.TAG_FANOUT_TYPE, type)
+                .register(meterRegistry)
+                .record(width);
     }
 
     /**
      * Processes collected flights to generate final flight response.
+     * The join of interconnected flights is timed as its own stage within the response stage, and runs on the
+     * event loop or is offloaded by the {@link ConnectionJoinExecutor} depending on the number of flights joined.
      * @param availableFlightDto The available flight data.
      * @param requestDataDto The request data.
      * @return org.ryanair.flight.api.A Mono emitting a list of FinalFlightResponseDto objects.
      */
     private Mono<List<FinalFlightResponseDto>> processCollectedFlightsToFinalResponse(AvailableFlightDto availableFlightDto, RequestDataDto requestDataDto) {
+        return connectionJoinExecutor.join(joinInputSize(availableFlightDto), () -> {
+            List<FinalFlightResponseDto> finalFlightResponseDtoList = new ArrayList<>();
+            collectFinalFlights(availableFlightDto, requestDataDto, finalFlightResponseDtoList::add);
+            return finalFlightResponseDtoList;
+        });
+    }
+
+    /**
+     * @return the number of direct and interconnected flight legs the join of the given flights goes through.
+     */
+    private static int joinInputSize(AvailableFlightDto availableFlightDto) {
+        return availableFlightDto.getDirectFlights().size() + joinInputSize(availableFlightDto.getInterconnectedFlights());
+    }
+
+    private static int joinInputSize(List<InterConnectedFlightData> interConnectedFlightDataList) {
+        int size = 0;
+        for (InterConnectedFlightData interConnectedFlightData : interConnectedFlightDataList) {
+            size += sizeOf(interConnectedFlightData.getDepartureFlightData()) + sizeOf(interConnectedFlightData.getArriveFlightData());
+        }
+        return size;
+    }
+
+    private static int sizeOf(List<ScheduledFlightDto> flights) {
+        return Objects.isNull(flights) ? 0 : flights.size();
+    }
+
+    /**
+     * Generates the final flight responses of the collected flights and hands each one to the given sink.
+     * @param availableFlightDto The available flight data.
+     * @param requestDataDto The request data.
+     * @param finalFlightSink Receives every generated FinalFlightResponseDto.
+     */
+    private void collectFinalFlights(AvailableFlightDto availableFlightDto, RequestDataDto requestDataDto, Consumer<FinalFlightResponseDto> finalFlightSink) {
         log.debug("Started generating final response");
-        List<FinalFlightResponseDto> finalFlightResponseDtoList = new ArrayList<>();
 
         //generating final response for the direct flights
-        List<Flight> allAvailableDirectFlights = availableFlightDto.getDirectFlights();
-        generateAndAttachDirectFlightsToFinaResponse(finalFlightResponseDtoList, allAvailableDirectFlights,requestDataDto);
+        List<ScheduledFlightDto> allAvailableDirectFlights = availableFlightDto.getDirectFlights();
+        generateAndAttachDirectFlightsToFinaResponse(finalFlightSink, allAvailableDirectFlights, requestDataDto);
 
         //generating final response for the interconnected flights with checking conditions
         List<InterConnectedFlightData> allFoundedInterconnectedFlights = availableFlightDto.getInterconnectedFlights()
@@ -80,117 +593,168 @@ public class FlightSearchServiceImpl implements FlightSearchService {
                         StringUtils.hasText(interConnectedFlightData.getDepartSection()) &&
                                 StringUtils.hasText(interConnectedFlightData.getArrivingSection())
                 ).toList();
-        generateAndAttachInterConnectedFlightsToFinaResponse(
-                finalFlightResponseDtoList, allFoundedInterconnectedFlights, requestDataDto);
+        ReactorTimers.timed(() -> {
+            generateAndAttachInterConnectedFlightsToFinaResponse(
+                    finalFlightSink, allFoundedInterconnectedFlights, requestDataDto);
+            return finalFlightSink;
+        }, meterRegistry, outcome -> stageTimer(Constant.STAGE_JOIN, outcome));
 
         log.debug("finished generating final response");
-
-        return Mono.just(finalFlightResponseDtoList);
     }
 
     /**
      * Generates and attaches interconnected flights to the final flight response.
-     * @param finalFlightResponseDtoList The list to which final flight response DTOs are added.
+     * @param finalFlightSink Receives the generated final flight response DTOs.
      * @param allFoundedInterconnectedFlights List of interconnected flight data.
      * @param requestDataDto The request data.
      */
-    private void generateAndAttachInterConnectedFlightsToFinaResponse(List<FinalFlightResponseDto> finalFlightResponseDtoList, List<InterConnectedFlightData> allFoundedInterconnectedFlights, RequestDataDto requestDataDto) {
+    private void generateAndAttachInterConnectedFlightsToFinaResponse(Consumer<FinalFlightResponseDto> finalFlightSink, List<InterConnectedFlightData> allFoundedInterconnectedFlights, RequestDataDto requestDataDto) {
         if (!CollectionUtils.isEmpty(allFoundedInterconnectedFlights)) {
-            HashMap<String, List<Flight>> arrivingFlightsDataMap = new HashMap<>();
-            HashMap<String, List<Flight>> departingFlightsDataMap = new HashMap<>();
+            HashMap<String, List<ScheduledFlightDto>> arrivingFlightsDataMap = new HashMap<>();
+            HashMap<String, List<ScheduledFlightDto>> departingFlightsDataMap = new HashMap<>();
 
             serviceHelper.linearizingDepartingAndArrivingInterconnectedFlights(
                     departingFlightsDataMap, arrivingFlightsDataMap, allFoundedInterconnectedFlights);
 
             findAndMapRelatedInterConnectedFlights(
-                    arrivingFlightsDataMap, departingFlightsDataMap, requestDataDto, finalFlightResponseDtoList);
+                    arrivingFlightsDataMap, departingFlightsDataMap, requestDataDto, finalFlightSink);
         }
     }
 
     /**
      * Generates and attaches direct flights to the final flight response.
-     * @param finalFlightResponseDtoList The list to which final flight response DTOs are added.
+     * @param finalFlightSink Receives the generated final flight response DTOs.
      * @param directFlights List of direct flight data.
      */
-    private void generateAndAttachDirectFlightsToFinaResponse(List<FinalFlightResponseDto> finalFlightResponseDtoList, List<Flight> directFlights, RequestDataDto requestDataDto) {
+    private void generateAndAttachDirectFlightsToFinaResponse(Consumer<FinalFlightResponseDto> finalFlightSink, List<ScheduledFlightDto> directFlights, RequestDataDto requestDataDto) {
         if (!CollectionUtils.isEmpty(directFlights)) {
-            directFlights.forEach(flight -> finalFlightResponseDtoList.add(
-                    FinalFlightResponseDto.builder()
-                            .stops(0)
-                            .legs(
-                                    Collections.singletonList(
-                                            DataLegs.builder()
-                                                    .departureDateTime(flight.getDepartureTime())
-                                                    .arrivalDateTime(flight.getArrivalTime())
-                                                    .departureAirport(requestDataDto.getDeparture())
-                                                    .arrivalAirport(requestDataDto.getArrival())
-                                                    .build()))
-                            .build()
-            ));
+            directFlights.forEach(flight -> finalFlightSink.accept(toDirectFlightResponse(flight, requestDataDto)));
         }
     }
 
+    private static FinalFlightResponseDto toDirectFlightResponse(ScheduledFlightDto flight, RequestDataDto requestDataDto) {
+        return FinalFlightResponseDto.builder()
+                .stops(0)
+                .legs(
+                        Collections.singletonList(
+                                DataLegs.builder()
+                                        .departureEpochMinute(flight.departureEpochMinute())
+                                        .arrivalEpochMinute(flight.arrivalEpochMinute())
+                                        .departureAirport(requestDataDto.getDeparture())
+                                        .arrivalAirport(requestDataDto.getArrival())
+                                        .build()))
+                .build();
+    }
+
 
     /**
      * Finds and maps related interconnected flights to the final flight response.
+     * The second leg flights of every hub are indexed by departure time once, so each departing flight
+     * finds its earliest feasible connection with a binary search. A connection is skipped when one of its
+     * legs was already used, which is checked against a set of compact leg keys.
      * @param arrivingFlightsDataMap Map containing arriving flights data.
      * @param departingFlightsDataMap Map containing departing flights data.
      * @param requestDataDto The request data.
-     * @param finalFlightResponseDtoList The list to which final flight response DTOs are added.
+     * @param finalFlightSink Receives the generated final flight response DTOs.
      */
-    private void findAndMapRelatedInterConnectedFlights(HashMap<String, List<Flight>> arrivingFlightsDataMap, HashMap<String, List<Flight>> departingFlightsDataMap, RequestDataDto requestDataDto, List<FinalFlightResponseDto> finalFlightResponseDtoList) {
+    private void findAndMapRelatedInterConnectedFlights(HashMap<String, List<ScheduledFlightDto>> arrivingFlightsDataMap, HashMap<String, List<ScheduledFlightDto>> departingFlightsDataMap, RequestDataDto requestDataDto, Consumer<FinalFlightResponseDto> finalFlightSink) {
+        Set<LegKey> chosenLegs = new HashSet<>();
         departingFlightsDataMap.forEach((key, departingFlights) -> {
-            String[] split = key.split("-");
-            String splitArrivingAirport = split[1];
-            departingFlights.forEach(departingFlight -> {
-                List<Flight> arrivingFlights = arrivingFlightsDataMap.get(split[1] + "-" + requestDataDto.getArrival());
-                arrivingFlights.forEach(arrivingFlight -> {
-
-                    LocalDateTime flightArrivingDateTime = LocalDateTime
-                            .parse(departingFlight.getArrivalTime(), DateTimeFormatter.ofPattern(DATE_FORMAT_ISO));
-
-                    Flight closestFoundedArrivingFlight = serviceHelper
-                            .findTwoHourAfterClosestFlightByGivenDateTime(flightArrivingDateTime, arrivingFlights);
-
-                    if (Objects.nonNull(closestFoundedArrivingFlight)) {
-                        DataLegs dataLegsDepart = DataLegs.builder()
-                                .departureAirport(requestDataDto.getDeparture())
-                                .arrivalAirport(splitArrivingAirport)
-                                .arrivalDateTime(departingFlight.getArrivalTime())
-                                .departureDateTime(departingFlight.getDepartureTime())
-                                .build();
-                        DataLegs dataLegsArrv = DataLegs.builder()
-                                .departureAirport(splitArrivingAirport)
-                                .arrivalAirport(requestDataDto.getArrival())
-                                .arrivalDateTime(closestFoundedArrivingFlight.getArrivalTime())
-                                .departureDateTime(closestFoundedArrivingFlight.getDepartureTime())
-                                .build();
-
-                       boolean areFlightsAlreadyChosen = finalFlightResponseDtoList
-                                .stream()
-                                .anyMatch(finalFlightResponseDto -> finalFlightResponseDto.getLegs().contains(dataLegsArrv) || finalFlightResponseDto.getLegs().contains(dataLegsDepart));
-
-                       if(!areFlightsAlreadyChosen) {
-                           List<DataLegs> legs = new ArrayList<>();
-                           legs.add(dataLegsDepart);
-                           legs.add(dataLegsArrv);
-                           finalFlightResponseDtoList.add(FinalFlightResponseDto.builder().stops(1).legs(legs).build());
-                       }
-                    }
-                });
-            });
+            String hub = key.split("-")[1];
+            connectHub(hub, departingFlights, arrivingFlightsDataMap.get(hub + "-" + requestDataDto.getArrival()),
+                    chosenLegs, requestDataDto, finalFlightSink);
         });
     }
 
+    /**
+     * Connects the first legs of a hub, in order, to the earliest of the given second legs departing at least the
+     * minimum connection time after each one lands. The second legs are indexed by departure time once, so each
+     * first leg finds its connection with a binary search. A connection is skipped when one of its legs was
+     * already used, which is checked against a set of compact leg keys.
+     * @param hub The connecting airport.
+     * @param firstLegs The first leg flights to the hub.
+     * @param secondLegs The second leg flights from the hub, or null if there are none.
+     * @param chosenLegs The keys of the legs already used.
+     * @param requestDataDto The request data.
+     * @param finalFlightSink Receives the generated final flight response DTOs.
+     * @return The first legs without any second leg late enough among the given ones.
+     */
+    private List<ScheduledFlightDto> connectHub(String hub, List<ScheduledFlightDto> firstLegs, List<ScheduledFlightDto> secondLegs, Set<LegKey> chosenLegs, RequestDataDto requestDataDto, Consumer<FinalFlightResponseDto> finalFlightSink) {
+        if (CollectionUtils.isEmpty(secondLegs)) {
+            return firstLegs;
+        }
+        ConnectionIndex connectionIndex = serviceHelper.buildConnectionIndex(secondLegs);
+        List<ScheduledFlightDto> unconnectedFirstLegs = new ArrayList<>();
+        for (ScheduledFlightDto departingFlight : firstLegs) {
+
+            ScheduledFlightDto closestFoundedArrivingFlight = serviceHelper
+                    .findEarliestConnectingFlight(departingFlight.arrivalEpochMinute(), connectionIndex);
+
+            if (Objects.isNull(closestFoundedArrivingFlight)) {
+                unconnectedFirstLegs.add(departingFlight);
+                continue;
+            }
+            LegKey departLegKey = LegKey.of(requestDataDto.getDeparture(), hub, departingFlight);
+            LegKey arriveLegKey = LegKey.of(hub, requestDataDto.getArrival(), closestFoundedArrivingFlight);
+
+            boolean areFlightsAlreadyChosen = chosenLegs.contains(departLegKey) || chosenLegs.contains(arriveLegKey);
+
+            if(!areFlightsAlreadyChosen) {
+                chosenLegs.add(departLegKey);
+                chosenLegs.add(arriveLegKey);
+                DataLegs dataLegsDepart = DataLegs.builder()
+                        .departureAirport(requestDataDto.getDeparture())
+                        .arrivalAirport(hub)
+                        .arrivalEpochMinute(departingFlight.arrivalEpochMinute())
+                        .departureEpochMinute(departingFlight.departureEpochMinute())
+                        .build();
+                DataLegs dataLegsArrv = DataLegs.builder()
+                        .departureAirport(hub)
+                        .arrivalAirport(requestDataDto.getArrival())
+                        .arrivalEpochMinute(closestFoundedArrivingFlight.arrivalEpochMinute())
+                        .departureEpochMinute(closestFoundedArrivingFlight.departureEpochMinute())
+                        .build();
+                List<DataLegs> legs = new ArrayList<>();
+                legs.add(dataLegsDepart);
+                legs.add(dataLegsArrv);
+                finalFlightSink.accept(FinalFlightResponseDto.builder().stops(1).legs(legs).build());
+            }
+        }
+        return unconnectedFirstLegs;
+    }
+
+    /**
+     * Compact identity of a flown leg: airport pair, flight number and departure minute.
+     */
+    private record LegKey(String departureAirport, String arrivalAirport, String carrierCode, String number, long departureEpochMinute) {
+        static LegKey of(String departureAirport, String arrivalAirport, ScheduledFlightDto flight) {
+            return new LegKey(departureAirport, arrivalAirport, flight.carrierCode(), flight.number(), flight.departureEpochMinute());
+        }
+    }
+
 
     /**
      * Process all available interconnected and direct flights based on the given possible routes and request data.
      * @param allPossibleRoute List of possible routes.
      * @param requestDataDto The request data.
+     * @param noOfMonthWithYear The months to fetch.
      * @return org.ryanair.flight.api.A Mono emitting the available flight data.
      * @throws BackendInvocationException if an error occurs during backend invocation.
      */
-    private Mono<AvailableFlightDto> processAllAvailableInterconnectedAndDirectFlights(List<PossibleRoutesDto> allPossibleRoute, RequestDataDto requestDataDto) throws BackendInvocationException {
+    private Mono<AvailableFlightDto> processAllAvailableInterconnectedAndDirectFlights(List<PossibleRoutesDto> allPossibleRoute, RequestDataDto requestDataDto, List<YearMonthDataDto> noOfMonthWithYear) throws BackendInvocationException {
+        return processAllAvailableInterconnectedAndDirectFlights(allPossibleRoute, requestDataDto, noOfMonthWithYear, new FirstLegArrivals(noOfMonthWithYear));
+    }
+
+    /**
+     * Process all available interconnected and direct flights of the given months of a search.
+     * @param allPossibleRoute List of possible routes.
+     * @param requestDataDto The request data.
+     * @param noOfMonthWithYear The months to fetch.
+     * @param firstLegArrivals The first leg arrivals of the search, shared by the months fetched by separate calls.
+     * @return org.ryanair.flight.api.A Mono emitting the available flight data.
+     * @throws BackendInvocationException if an error occurs during backend invocation.
+     */
+    private Mono<AvailableFlightDto> processAllAvailableInterconnectedAndDirectFlights(List<PossibleRoutesDto> allPossibleRoute, RequestDataDto requestDataDto, List<YearMonthDataDto> noOfMonthWithYear, FirstLegArrivals firstLegArrivals) throws BackendInvocationException {
 
         //filtering and get direct route from the allPossibleRoute list
         Optional<PossibleRoutesDto> directRouteOptional = allPossibleRoute
@@ -200,16 +764,16 @@ public class FlightSearchServiceImpl implements FlightSearchService {
                 .findAny();
 
         Flux<InterConnectedFlightData> selectedInterconnectedFLightDataFlux = Flux.empty();
-        Mono<List<Flight>> selectedDirectFlightListMono = Mono.empty();
-
-        List<YearMonthDataDto> noOfMonthWithYear = serviceHelper.calculateNoOfMonthForTheProvidedDateRange(requestDataDto);
+        Mono<List<ScheduledFlightDto>> selectedDirectFlightListMono = Mono.empty();
 
         log.debug("Processing direct routes - {}",Constant.ROUTE_TYPE_DIRECT);
 
         if (directRouteOptional.isPresent()) {
             RouteAPIResponseModel directRoute = directRouteOptional.get().getDirectRoute();
             log.debug("direct route detected and process - {} to {} " , directRoute.getAirportFrom() , directRoute.getAirportTo());
-            selectedDirectFlightListMono = getAvailableFlightForTheDirectRouteMono(directRoute, noOfMonthWithYear, requestDataDto);
+            recordFanOutWidth(Constant.FANOUT_TYPE_DIRECT, noOfMonthWithYear.size());
+            selectedDirectFlightListMono = timedStage(Constant.STAGE_DIRECT_FANOUT,
+                    getAvailableFlightForTheDirectRouteMono(directRoute, noOfMonthWithYear, requestDataDto));
         } else {
             log.debug("No direct route founded");
         }
@@ -224,16 +788,18 @@ public class FlightSearchServiceImpl implements FlightSearchService {
                 .toList();
         if (!list.isEmpty()) {
             log.debug("Interconnected routes detected and processing " );
-            selectedInterconnectedFLightDataFlux = getInterConnectedAvailableFlightFlux(requestDataDto, list, noOfMonthWithYear);
+            recordFanOutWidth(Constant.FANOUT_TYPE_INTERCONNECT, list.size() * noOfMonthWithYear.size());
+            selectedInterconnectedFLightDataFlux = getInterConnectedAvailableFlightFlux(requestDataDto, list, noOfMonthWithYear, firstLegArrivals);
         } else {
             log.debug("No interconnected routes found");
         }
 
         //combining direct flights and interconnected flights mono's together
         return selectedDirectFlightListMono.defaultIfEmpty(Collections.emptyList())
-                .zipWith(selectedInterconnectedFLightDataFlux.collectList().defaultIfEmpty(Collections.emptyList()))
+                .zipWith(timedStage(Constant.STAGE_INTERCONNECT_FANOUT, selectedInterconnectedFLightDataFlux.collectList())
+                        .defaultIfEmpty(Collections.emptyList()))
                 .map(tuple -> {
-            List<Flight> selectedDirectFlights = tuple.getT1();
+            List<ScheduledFlightDto> selectedDirectFlights = tuple.getT1();
             List<InterConnectedFlightData> interConnectedFlightData = tuple.getT2();
             // Create a new object to hold both types of data
             AvailableFlightDto combinedDetails = new AvailableFlightDto();
@@ -246,51 +812,112 @@ public class FlightSearchServiceImpl implements FlightSearchService {
 
     /**
      * Retrieves the flux of available interconnected flights.
+     * In {@link InterconnectFetchMode#PRUNED} mode the arriving leg of a hub and month is only fetched when a
+     * departing leg flight of that month or an earlier one can still make a connection to it within the requested window.
+     * The fetch is timed by mode and outcome, and the calls it saved are recorded however it ends, so searches that
+     * fail, are cancelled or are cut short by their deadline are counted too.
      * @param requestDataDto The request data.
      * @param interConnectedRoutes Details of interconnected routes.
      * @param noOfMonthWithYear The list of YearMonthDataDto objects.
+     * @param firstLegArrivals The first leg arrivals of the search.
      * @return Flux emitting InterConnectedFlightData.
      */
-    private Flux<InterConnectedFlightData> getInterConnectedAvailableFlightFlux(RequestDataDto requestDataDto, List<PossibleRoutesDto> interConnectedRoutes, List<YearMonthDataDto> noOfMonthWithYear) {
+    private Flux<InterConnectedFlightData> getInterConnectedAvailableFlightFlux(RequestDataDto requestDataDto, List<PossibleRoutesDto> interConnectedRoutes, List<YearMonthDataDto> noOfMonthWithYear, FirstLegArrivals firstLegArrivals) {
+        InterconnectFetchMode fetchMode = searchConfiguration.getInterconnectFetchMode();
+        AtomicInteger savedBackendCalls = new AtomicInteger();
 
-        return Flux.fromIterable(interConnectedRoutes)
+        Flux<InterConnectedFlightData> fetch = Flux.fromIterable(interConnectedRoutes)
                 .flatMap(possibleRoutesDto -> Flux.fromIterable(noOfMonthWithYear)
-                        .flatMap(yearMonthDataDto -> {
-                            List<RouteAPIResponseModel> interConnectedRoute = possibleRoutesDto.getInterConnectedRoute();
-                            ScheduledServiceDto scheduledServiceDto = ScheduledServiceDto.builder()
-                                    .arrivingRouteData(interConnectedRoute.getLast()) // Arriving section
-                                    .departingRouteData(interConnectedRoute.getFirst()) // Departing section
-                                    .requestData(requestDataDto)
-                                    .yearMonthData(yearMonthDataDto)
-                                    .build();
-
-                            Mono<List<Flight>> scheduledDepartingFlightData = scheduleService
-                                    .getScheduledDepartingFlightData(scheduledServiceDto)
-                                    .switchIfEmpty(Mono.just(Collections.emptyList()));
-
-                            Mono<List<Flight>> scheduledArrivingFlightData = scheduleService
-                                    .getScheduledArrivingFlightData(scheduledServiceDto)
-                                    .switchIfEmpty(Mono.just(Collections.emptyList()));
-
-
-                            return scheduledDepartingFlightData.zipWith(scheduledArrivingFlightData)
-                                    .map(tuple -> {
-                                        List<Flight> departingFlights = tuple.getT1();
-                                        List<Flight> arrivingFlights = tuple.getT2();
-
-                                        if (departingFlights.isEmpty() || arrivingFlights.isEmpty()) {
-                                           return new InterConnectedFlightData();
-                                        }
-                                        return getInterConnectedFlightData(interConnectedRoute, departingFlights, arrivingFlights);
+                        .flatMap(yearMonthDataDto -> fetchInterConnectedMonth(
+                                requestDataDto, possibleRoutesDto, yearMonthDataDto, fetchMode, savedBackendCalls, firstLegArrivals)));
+        return ReactorTimers.timed(fetch, meterRegistry, outcome -> Timer.builder(Constant.METRIC_INTERCONNECT_FETCH)
+                        .description("Interconnected leg fetches per search")
+                        .tag(Constant.TAG_FETCH_MODE, fetchMode.name())
+                        .tag(Constant.TAG_OUTCOME, outcome)
+                        .register(meterRegistry))
+                .doFinally(signalType -> {
+                    if (fetchMode == InterconnectFetchMode.PRUNED) {
+                        DistributionSummary.builder(Constant.METRIC_INTERCONNECT_CALLS_SAVED)
+                                .description("Second leg schedule calls skipped per search by the pruned fetch mode")
+                                .register(meterRegistry)
+                                .record(savedBackendCalls.get());
+                    }
+                });
+    }
 
-                                    });
+    /**
+     * Fetches both legs of one interconnected route for one month, within the request deadline.
+     * The legs are kept even when the other leg of the same month has no flights, as a first leg late in a month
+     * may connect to a second leg early in the next one.
+     * @param requestDataDto The request data.
+     * @param possibleRoutesDto The interconnected route.
+     * @param yearMonthDataDto The month to fetch.
+     * @param fetchMode The interconnect fetch mode.
+     * @param savedBackendCalls Counter of second leg calls skipped by the pruned fetch mode.
+     * @param firstLegArrivals The first leg arrivals of the search, read and published by the pruned fetch mode.
+     * @return Mono emitting the flights of both legs, or empty InterConnectedFlightData if neither leg has flights
+     * or the deadline passed first.
+     */
+    private Mono<InterConnectedFlightData> fetchInterConnectedMonth(RequestDataDto requestDataDto, PossibleRoutesDto possibleRoutesDto, YearMonthDataDto yearMonthDataDto, InterconnectFetchMode fetchMode, AtomicInteger savedBackendCalls, FirstLegArrivals firstLegArrivals) {
+        List<RouteAPIResponseModel> interConnectedRoute = possibleRoutesDto.getInterConnectedRoute();
+        String hub = interConnectedRoute.getFirst().getAirportTo();
+        ScheduledServiceDto scheduledServiceDto = ScheduledServiceDto.builder()
+                .arrivingRouteData(interConnectedRoute.getLast()) // Arriving section
+                .departingRouteData(interConnectedRoute.getFirst()) // Departing section
+                .requestData(requestDataDto)
+                .yearMonthData(yearMonthDataDto)
+                .build();
+
+        Mono<List<ScheduledFlightDto>> scheduledDepartingFlightData = scheduleService
+                .getScheduledDepartingFlightData(scheduledServiceDto)
+                .switchIfEmpty(Mono.just(Collections.emptyList()));
+
+        Mono<List<ScheduledFlightDto>> scheduledArrivingFlightData = Mono.defer(() -> scheduleService
+                .getScheduledArrivingFlightData(scheduledServiceDto)
+                .switchIfEmpty(Mono.just(Collections.emptyList())));
+
+        Mono<InterConnectedFlightData> interConnectedFlightData;
+        if (fetchMode == InterconnectFetchMode.PRUNED) {
+            interConnectedFlightData = scheduledDepartingFlightData
+                    .doOnNext(departingFlights -> firstLegArrivals.publish(hub, yearMonthDataDto, departingFlights))
+                    .doFinally(signalType -> firstLegArrivals.publish(hub, yearMonthDataDto, Collections.emptyList())) // unblocks later months when not fetched
+                    .flatMap(departingFlights -> firstLegArrivals.earliestUpTo(hub, yearMonthDataDto)
+                            .flatMap(earliestFirstLegArrival -> {
+                                if (!hasFeasibleConnection(earliestFirstLegArrival, yearMonthDataDto, requestDataDto)) {
+                                    savedBackendCalls.incrementAndGet();
+                                    return Mono.just(getInterConnectedFlightData(interConnectedRoute, departingFlights, Collections.emptyList()));
+                                }
+                                return scheduledArrivingFlightData.map(arrivingFlights ->
+                                        getInterConnectedFlightData(interConnectedRoute, departingFlights, arrivingFlights));
+                            }));
+        } else {
+            interConnectedFlightData = scheduledDepartingFlightData.zipWith(scheduledArrivingFlightData)
+                    .map(tuple -> getInterConnectedFlightData(interConnectedRoute, tuple.getT1(), tuple.getT2()));
+        }
+        return fetchWithinDeadline(interConnectedFlightData, yearMonthDataDto, hub, new InterConnectedFlightData());
+    }
 
-                        })
-                );
+    /**
+     * Checks whether a first leg arriving at the given time can still catch a second leg of the given month,
+     * departing at least the minimum connection time later, before the month ends and inside the requested window.
+     * @param earliestFirstLegArrival The earliest arrival of the first leg flights of the month and the months before it.
+     * @param yearMonthDataDto The month of the second leg.
+     * @param requestDataDto The request data.
+     * @return true if a connection is still possible, otherwise false.
+     */
+    private static boolean hasFeasibleConnection(long earliestFirstLegArrival, YearMonthDataDto yearMonthDataDto, RequestDataDto requestDataDto) {
+        YearMonth nextMonth = YearMonth.of(yearMonthDataDto.getYear(), yearMonthDataDto.getMonth()).plusMonths(1);
+        long secondLegDepartureBound = Math.min(EpochMinutes.of(requestDataDto.getArrivalDateTime()),
+                EpochMinutes.ofDate(nextMonth.getYear(), nextMonth.getMonthValue(), 1));
+        long minConnectionMinutes = (long) Constant.MIN_CONNECTION_TIME_HOURS * EpochMinutes.MINUTES_PER_HOUR;
+        return earliestFirstLegArrival < secondLegDepartureBound - minConnectionMinutes;
     }
 
-    private static InterConnectedFlightData getInterConnectedFlightData(List<RouteAPIResponseModel> interConnectedRoute, List<Flight> departingFlights, List<Flight> arrivingFlights) {
+    private static InterConnectedFlightData getInterConnectedFlightData(List<RouteAPIResponseModel> interConnectedRoute, List<ScheduledFlightDto> departingFlights, List<ScheduledFlightDto> arrivingFlights) {
         InterConnectedFlightData interConnectedFlightData = new InterConnectedFlightData();
+        if (departingFlights.isEmpty() && arrivingFlights.isEmpty()) {
+            return interConnectedFlightData;
+        }
         RouteAPIResponseModel first = interConnectedRoute.getFirst();
         RouteAPIResponseModel last = interConnectedRoute.getLast();
         interConnectedFlightData.setDepartSection(first.getAirportFrom() + "-" + first.getAirportTo());
@@ -308,20 +935,29 @@ public class FlightSearchServiceImpl implements FlightSearchService {
      * @param requestDataDto The request data.
      * @return Mono emitting a list of FlightDataDto objects.
      */
-    private Mono<List<Flight>> getAvailableFlightForTheDirectRouteMono(
+    private Mono<List<ScheduledFlightDto>> getAvailableFlightForTheDirectRouteMono(
             RouteAPIResponseModel directRoute,
             List<YearMonthDataDto> noOfMonthWithYear,
             RequestDataDto requestDataDto) {
         return Flux.fromIterable(noOfMonthWithYear)
-                .flatMap(yearMonthDataDto -> {
-                    ScheduledServiceDto build = ScheduledServiceDto.builder()
-                            .directRouteData(directRoute) // direct route section
-                            .requestData(requestDataDto)
-                            .yearMonthData(yearMonthDataDto)
-                            .build();
-                    return scheduleService.getScheduledDirectFlightData(build);
-                })
+                .flatMap(yearMonthDataDto -> fetchDirectMonth(directRoute, requestDataDto, yearMonthDataDto))
                 .flatMapIterable(flightList -> flightList) // Flatten the nested lists
                 .collectList();// Collect all flights into one list
     }
+
+    /**
+     * Fetches the direct route for one month, within the request deadline.
+     * @param directRoute Details of the direct route.
+     * @param requestDataDto The request data.
+     * @param yearMonthDataDto The month to fetch.
+     * @return Mono emitting the flights of the month, none if the deadline passed first.
+     */
+    private Mono<List<ScheduledFlightDto>> fetchDirectMonth(RouteAPIResponseModel directRoute, RequestDataDto requestDataDto, YearMonthDataDto yearMonthDataDto) {
+        ScheduledServiceDto build = ScheduledServiceDto.builder()
+                .directRouteData(directRoute) // direct route section
+                .requestData(requestDataDto)
+                .yearMonthData(yearMonthDataDto)
+                .build();
+        return fetchWithinDeadline(scheduleService.getScheduledDirectFlightData(build), yearMonthDataDto, null, Collections.emptyList());
+    }
 }
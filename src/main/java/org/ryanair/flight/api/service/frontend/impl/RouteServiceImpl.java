@@ -2,6 +2,7 @@ package org.ryanair.flight.api.service.frontend.impl;
 
 import lombok.RequiredArgsConstructor;
 import org.ryanair.flight.api.dto.PossibleRoutesDto;
+import org.ryanair.flight.api.index.RouteGraph;
 import org.ryanair.flight.api.model.RouteAPIResponseModel;
 import org.ryanair.flight.api.service.backend.BackendAPIService;
 import org.ryanair.flight.api.service.frontend.RouteService;
@@ -26,6 +27,7 @@ import java.util.*;
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 public class RouteServiceImpl implements RouteService {
     private final BackendAPIService backendAPIService;
+    private volatile RouteGraph routeGraph;
 
     /**
      * Finds all possible routes between the specified departure and arrival airports.
@@ -54,8 +56,9 @@ public class RouteServiceImpl implements RouteService {
      * @return org.ryanair.flight.api.A Mono emitting a list of PossibleRoutesDto representing all direct and interconnected routes.
      */
     private Mono<List<PossibleRoutesDto>> extractAllDirectAndInterConnectedRoutesFromTheResponse(List<RouteAPIResponseModel> list, String departureIATACode, String arrivalIATACode) {
+        RouteGraph graph = getRouteGraph(list);
         List<PossibleRoutesDto> possibleRoutesDtoList = new ArrayList<>();
-        Optional<RouteAPIResponseModel> directRoute = findDirectRoute(list, departureIATACode, arrivalIATACode);
+        Optional<RouteAPIResponseModel> directRoute = graph.findDirectRoute(departureIATACode, arrivalIATACode);
         if (directRoute.isPresent()) {
             PossibleRoutesDto possibleRoutesDto = new PossibleRoutesDto();
             possibleRoutesDto.setType(Constant.ROUTE_TYPE_DIRECT);
@@ -63,47 +66,39 @@ public class RouteServiceImpl implements RouteService {
             possibleRoutesDtoList.add(possibleRoutesDto);
         }
 
-        findAndAddOneStopRoutes(list, departureIATACode, arrivalIATACode, possibleRoutesDtoList);
+        findAndAddOneStopRoutes(graph, departureIATACode, arrivalIATACode, possibleRoutesDtoList);
         return Mono.just(possibleRoutesDtoList);
     }
 
     /**
-     * Finds direct routes between the specified departure and arrival airports.
+     * Returns the adjacency index for the given route list, rebuilding it only when the route data changed.
      *
-     * @param list             The list of route data.
-     * @param departureIATACode The IATA code of the departure airport.
-     * @param arrivalIATACode   The IATA code of the arrival airport.
-     * @return org.ryanair.flight.api.A list of RouteAPIResponseModel representing all direct routes.
+     * @param list The list of route data.
+     * @return The RouteGraph built from the given list.
      */
-    private Optional<RouteAPIResponseModel> findDirectRoute(List<RouteAPIResponseModel> list, String departureIATACode, String arrivalIATACode) {
-        return list.stream()
-                .filter(routeAPIResponseModel ->
-                        routeAPIResponseModel.getAirportFrom().equals(departureIATACode) && routeAPIResponseModel.getAirportTo().equals(arrivalIATACode))
-                .findAny();
+    private RouteGraph getRouteGraph(List<RouteAPIResponseModel> list) {
+        RouteGraph graph = routeGraph;
+        if (Objects.isNull(graph) || !graph.isBuiltFrom(list)) {
+            graph = RouteGraph.of(list);
+            routeGraph = graph;
+        }
+        return graph;
     }
 
     /**
      * Finds and adds one-stop routes between the specified departure and arrival airports.
      *
-     * @param list                 The list of route data.
+     * @param graph                 The adjacency index of the route data.
      * @param departureIATACode     The IATA code of the departure airport.
      * @param arrivalIATACode       The IATA code of the arrival airport.
      * @param possibleRoutesDtoList The list to which the found routes will be added.
      */
-    private void findAndAddOneStopRoutes(List<RouteAPIResponseModel> list, String departureIATACode, String arrivalIATACode, List<PossibleRoutesDto> possibleRoutesDtoList) {
-        for (int i = 0; i < list.size(); i++) {
-            RouteAPIResponseModel model = list.get(i);
-            String airportTo = model.getAirportTo();
-            if (departureIATACode.equals(model.getAirportFrom())) {
-                for (RouteAPIResponseModel mm : list) {
-                    if (airportTo.equals(mm.getAirportFrom()) && (mm.getAirportTo().equals(arrivalIATACode))) {
-                            PossibleRoutesDto possibleRoutesDto = new PossibleRoutesDto();
-                            possibleRoutesDto.setType(Constant.ROUTE_TYPE_INTER_CONNECTED);
-                            possibleRoutesDto.setInterConnectedRoute(Arrays.asList(model, mm));
-                            possibleRoutesDtoList.add(possibleRoutesDto);
-                    }
-                }
-            }
+    private void findAndAddOneStopRoutes(RouteGraph graph, String departureIATACode, String arrivalIATACode, List<PossibleRoutesDto> possibleRoutesDtoList) {
+        for (List<RouteAPIResponseModel> oneStopRoute : graph.findOneStopRoutes(departureIATACode, arrivalIATACode)) {
+            PossibleRoutesDto possibleRoutesDto = new PossibleRoutesDto();
+            possibleRoutesDto.setType(Constant.ROUTE_TYPE_INTER_CONNECTED);
+            possibleRoutesDto.setInterConnectedRoute(oneStopRoute);
+            possibleRoutesDtoList.add(possibleRoutesDto);
         }
     }
 }
@@ -2,22 +2,20 @@ package org.ryanair.flight.api.service.frontend.impl;
 
 import lombok.RequiredArgsConstructor;
 import org.ryanair.flight.api.dto.RequestDataDto;
+import org.ryanair.flight.api.dto.ScheduledFlightDto;
 import org.ryanair.flight.api.dto.ScheduledServiceDto;
 import org.ryanair.flight.api.dto.YearMonthDataDto;
 import org.ryanair.flight.api.model.*;
 import org.ryanair.flight.api.service.backend.BackendAPIService;
 import org.ryanair.flight.api.service.frontend.ScheduleService;
+import org.ryanair.flight.api.util.EpochMinutes;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 
-import static org.ryanair.flight.api.util.Constant.DATE_FORMAT_ISO;
-
 /**
  * Author: Gayan Sanjeewa
  * User: gayan
@@ -39,26 +37,19 @@ public class ScheduleServiceImpl implements ScheduleService {
      * @return org.ryanair.flight.api.A Mono emitting FlightDataDto containing scheduled departing flight data.
      */
     @Override
-    public Mono<List<Flight>> getScheduledDepartingFlightData(ScheduledServiceDto scheduledServiceDto) {
+    public Mono<List<ScheduledFlightDto>> getScheduledDepartingFlightData(ScheduledServiceDto scheduledServiceDto) {
 
-        ScheduleAPIRequestModel departingBuild = ScheduleAPIRequestModel
-                .builder()
-                .arrival(scheduledServiceDto.getDepartingRouteData().getAirportTo())
-                .departure(scheduledServiceDto.getDepartingRouteData().getAirportFrom())
-                .year(scheduledServiceDto.getYearMonthData().getYear())
-                .month(scheduledServiceDto.getYearMonthData().getMonth())
-                .build();
+        ScheduleAPIRequestModel departingBuild = buildScheduleRequest(scheduledServiceDto.getDepartingRouteData(), scheduledServiceDto);
 
 
-        Mono<ScheduleAPIResponseModel> departingSchedulesMono = backendAPIService.getSchedules(departingBuild);
+        Mono<MonthSchedule> departingSchedulesMono = backendAPIService.getSchedules(departingBuild);
 
 
        return departingSchedulesMono
-                .flatMap(scheduleAPIResponseModel ->
+                .flatMap(monthSchedule ->
                         filterAllAvailableFlightsFromScheduleResponse(
                                 scheduledServiceDto.getRequestData(),
-                                scheduleAPIResponseModel,
-                                scheduledServiceDto.getYearMonthData()
+                                monthSchedule
                         )
                 );
 
@@ -71,23 +62,16 @@ public class ScheduleServiceImpl implements ScheduleService {
      * @return org.ryanair.flight.api.A Mono emitting FlightDataDto containing scheduled arriving flight data.
      */
     @Override
-    public Mono<List<Flight>> getScheduledArrivingFlightData(ScheduledServiceDto scheduledServiceDto) {
+    public Mono<List<ScheduledFlightDto>> getScheduledArrivingFlightData(ScheduledServiceDto scheduledServiceDto) {
 
-        ScheduleAPIRequestModel arrivingBuild = ScheduleAPIRequestModel
-                .builder()
-                .arrival(scheduledServiceDto.getArrivingRouteData().getAirportTo())
-                .departure(scheduledServiceDto.getArrivingRouteData().getAirportFrom())
-                .year(scheduledServiceDto.getYearMonthData().getYear())
-                .month(scheduledServiceDto.getYearMonthData().getMonth())
-                .build();
+        ScheduleAPIRequestModel arrivingBuild = buildScheduleRequest(scheduledServiceDto.getArrivingRouteData(), scheduledServiceDto);
 
-        Mono<ScheduleAPIResponseModel> arrivingSchedulesMono = backendAPIService.getSchedules(arrivingBuild);
+        Mono<MonthSchedule> arrivingSchedulesMono = backendAPIService.getSchedules(arrivingBuild);
 
-        return arrivingSchedulesMono.flatMap(scheduleAPIResponseModel ->
+        return arrivingSchedulesMono.flatMap(monthSchedule ->
                 filterAllAvailableFlightsFromScheduleResponse(
                         scheduledServiceDto.getRequestData(),
-                        scheduleAPIResponseModel,
-                        scheduledServiceDto.getYearMonthData()
+                        monthSchedule
                 )
         );
     }
@@ -99,55 +83,62 @@ public class ScheduleServiceImpl implements ScheduleService {
      * @return org.ryanair.flight.api.A Mono emitting FlightDataDto containing scheduled direct flight data.
      */
     @Override
-    public Mono<List<Flight>> getScheduledDirectFlightData(ScheduledServiceDto scheduledServiceDto) {
-
-            ScheduleAPIRequestModel scheduleAPIRequestModel = ScheduleAPIRequestModel
-                    .builder()
-                    .arrival(scheduledServiceDto.getDirectRouteData().getAirportTo())
-                    .departure(scheduledServiceDto.getDirectRouteData().getAirportFrom())
-                    .year(scheduledServiceDto.getYearMonthData().getYear())
-                    .month(scheduledServiceDto.getYearMonthData().getMonth())
-                    .build();
-
-            Mono<ScheduleAPIResponseModel> schedules = backendAPIService.getSchedules(scheduleAPIRequestModel);
-            return schedules.flatMap(scheduleAPIResponseModel ->
+    public Mono<List<ScheduledFlightDto>> getScheduledDirectFlightData(ScheduledServiceDto scheduledServiceDto) {
+
+            ScheduleAPIRequestModel scheduleAPIRequestModel = buildScheduleRequest(scheduledServiceDto.getDirectRouteData(), scheduledServiceDto);
+
+            Mono<MonthSchedule> schedules = backendAPIService.getSchedules(scheduleAPIRequestModel);
+            return schedules.flatMap(monthSchedule ->
                     filterAllAvailableFlightsFromScheduleResponse(
                             scheduledServiceDto.getRequestData(),
-                            scheduleAPIResponseModel,
-                            scheduledServiceDto.getYearMonthData()
+                            monthSchedule
                     )
             );
     }
 
     /**
-     * Filters available flights from the schedule response based on the provided criteria.
+     * Builds the schedule request of the given route for the month of the scheduled service. The whole month is
+     * requested whatever the search window, so every search of the month shares one cached schedule.
+     *
+     * @param route               The route to fetch.
+     * @param scheduledServiceDto The DTO holding the request data and the month.
+     * @return The schedule request.
+     */
+    private ScheduleAPIRequestModel buildScheduleRequest(RouteAPIResponseModel route, ScheduledServiceDto scheduledServiceDto) {
+        YearMonthDataDto yearMonthDataDto = scheduledServiceDto.getYearMonthData();
+        return ScheduleAPIRequestModel
+                .builder()
+                .arrival(route.getAirportTo())
+                .departure(route.getAirportFrom())
+                .year(yearMonthDataDto.getYear())
+                .month(yearMonthDataDto.getMonth())
+                .build();
+    }
+
+    /**
+     * Filters available flights from the schedule of the month based on the provided criteria.
+     * Only the days the search window overlaps are read. Their flights already hold their times in epoch minutes,
+     * which are compared as primitives, and the selected flights are handed on to the search as they are.
      *
-     * @param requestDataDto    The DTO containing the request data.
-     * @param scheduleAPIResponseModel The response model containing schedule data.
-     * @param yearMonthDataDto  The DTO containing year and month data.
+     * @param requestDataDto The DTO containing the request data.
+     * @param monthSchedule  The decoded schedule of the month.
      * @return org.ryanair.flight.api.A Mono emitting FlightDataDto containing filtered flight data.
      */
-    private Mono<List<Flight>> filterAllAvailableFlightsFromScheduleResponse(RequestDataDto requestDataDto, ScheduleAPIResponseModel scheduleAPIResponseModel, YearMonthDataDto yearMonthDataDto) {
-        List<Flight> selectedFlights = new ArrayList<>();
-        int month = scheduleAPIResponseModel.getMonth();
-        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern(DATE_FORMAT_ISO);
-        ArrayList<Day> days = scheduleAPIResponseModel.getDays();
-        for (Day day : days) {
-            List<Flight> flights = day.getFlights();
-            for (Flight flight : flights) {
-                String baseDateString = String.valueOf(yearMonthDataDto.getYear()).concat("-").concat(String.format("%02d", month)).concat("-").concat(String.format("%02d", day.getDay())).concat("T");
-
-                String flightArrivalTimeString = baseDateString.concat(flight.getArrivalTime());
-                String flightDepartureTimeString = baseDateString.concat(flight.getDepartureTime());
-                LocalDateTime flightArrivalTime = LocalDateTime.parse(flightArrivalTimeString, dateTimeFormatter);
-                LocalDateTime flightDepartureTime = LocalDateTime.parse(flightDepartureTimeString, dateTimeFormatter);
+    private Mono<List<ScheduledFlightDto>> filterAllAvailableFlightsFromScheduleResponse(RequestDataDto requestDataDto, MonthSchedule monthSchedule) {
+        List<ScheduledFlightDto> selectedFlights = new ArrayList<>();
+        long windowStart = EpochMinutes.of(requestDataDto.getDepartureDateTime());
+        long windowEnd = EpochMinutes.of(requestDataDto.getArrivalDateTime());
+        long firstDay = Math.max(1, monthSchedule.dayOf(windowStart));
+        long lastDay = Math.min(monthSchedule.getLengthOfMonth(), monthSchedule.dayOf(windowEnd));
+        for (int day = (int) firstDay; day <= lastDay; day++) {
+            for (ScheduledFlightDto flight : monthSchedule.flightsOn(day)) {
+                long flightArrivalTime = flight.arrivalEpochMinute();
+                long flightDepartureTime = flight.departureEpochMinute();
                 if (
-                        (flightDepartureTime.isAfter(requestDataDto.getDepartureDateTime()) && flightDepartureTime.isBefore(requestDataDto.getArrivalDateTime())) &&
-                                (flightArrivalTime.isBefore(requestDataDto.getArrivalDateTime()) && flightArrivalTime.isAfter(requestDataDto.getDepartureDateTime()) )
+                        (flightDepartureTime > windowStart && flightDepartureTime < windowEnd) &&
+                                (flightArrivalTime < windowEnd && flightArrivalTime > windowStart)
                 ) {
-                    selectedFlights.add(
-                            new Flight(flight.getCarrierCode(), flight.getNumber(), flightDepartureTime.format(dateTimeFormatter), flightArrivalTime.format(dateTimeFormatter))
-                    );
+                    selectedFlights.add(flight);
                 }
             }
         }
@@ -0,0 +1,83 @@
+package org.ryanair.flight.api.service.frontend.join;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.ryanair.flight.api.config.property.FlightSearchPropertyConfiguration;
+import org.ryanair.flight.api.config.property.JoinExecutionStrategy;
+import org.ryanair.flight.api.util.Constant;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Runs the CPU heavy join of fetched flights into final responses. A join whose input is below the offload threshold
+ * runs inline, on the thread that delivered the input, which is usually the event loop of the last backend response.
+ * A larger join runs on a bounded pool of join threads or on a virtual thread, depending on the join strategy, so it
+ * does not hold up the event loop and the other searches and requests it serves. Either way at most as many joins as
+ * the pool has threads run at once, and the others wait in the queue of the scheduler. Every join is timed, tagged with
+ * the strategy it ran with and whether it ran on an event loop (any non-blocking Reactor or Netty thread).
+ * The strategy and threshold are read for each join, the size of the pool once at startup.
+ */
+@Component
+public class ConnectionJoinExecutor implements DisposableBean {
+
+    private static final int BOUNDED_ELASTIC_TTL_SECONDS = 60;
+
+    private final FlightSearchPropertyConfiguration configuration;
+    private final MeterRegistry meterRegistry;
+    private final Scheduler parallelScheduler;
+    private final Scheduler virtualThreadScheduler;
+
+    @Autowired
+    public ConnectionJoinExecutor(FlightSearchPropertyConfiguration configuration, MeterRegistry meterRegistry) {
+        this.configuration = configuration;
+        this.meterRegistry = meterRegistry;
+        int parallelism = configuration.getJoinParallelism() > 0
+                ? configuration.getJoinParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        // plain platform threads, so joins running there are not counted as event loop time
+        this.parallelScheduler = Schedulers.newParallel(parallelism, Thread.ofPlatform().name("search-join-", 0).daemon(true).factory());
+        // capped like the pool, as a virtual thread per join would let a burst of large joins pile up unbounded
+        this.virtualThreadScheduler = Schedulers.newBoundedElastic(parallelism, Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE,
+                Thread.ofVirtual().name("search-join-virtual-", 0).factory(), BOUNDED_ELASTIC_TTL_SECONDS);
+    }
+
+    /**
+     * Runs the join inline or offloads it, depending on the size of its input.
+     *
+     * @param inputSize The number of flights joined.
+     * @param join      The join, producing the final responses.
+     * @return Mono emitting the result of the join, on the thread the join ran on.
+     */
+    public <T> Mono<T> join(int inputSize, Supplier<T> join) {
+        JoinExecutionStrategy strategy = inputSize < configuration.getJoinOffloadThreshold()
+                ? JoinExecutionStrategy.INLINE
+                : configuration.getJoinStrategy();
+        Mono<T> timedJoin = Mono.fromSupplier(() -> joinTimer(strategy).record(join));
+        return switch (strategy) {
+            case INLINE -> timedJoin;
+            case PARALLEL -> timedJoin.subscribeOn(parallelScheduler);
+            case VIRTUAL_THREAD -> timedJoin.subscribeOn(virtualThreadScheduler);
+        };
+    }
+
+    private Timer joinTimer(JoinExecutionStrategy strategy) {
+        return Timer.builder(Constant.METRIC_SEARCH_JOIN_EXECUTION)
+                .description("Joins of fetched flights into final responses, by the thread they ran on")
+                .tag(Constant.TAG_STRATEGY, strategy.name().toLowerCase(Locale.ROOT))
+                .tag(Constant.TAG_THREAD, Schedulers.isInNonBlockingThread() ? Constant.THREAD_EVENT_LOOP : Constant.THREAD_WORKER)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void destroy() {
+        parallelScheduler.dispose();
+        virtualThreadScheduler.dispose();
+    }
+}
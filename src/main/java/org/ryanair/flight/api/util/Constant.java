@@ -11,6 +11,73 @@ public record Constant() {
     public static final String ROUTE_TYPE_DIRECT = "DIRECT";
     public static final String ROUTE_TYPE_INTER_CONNECTED = "INTER_CONNECTED";
     public static final String PROVIDER = "RYANAIR";
-    public static final String DOWNSTREAM_SERVICE_NAME = "ryanair-api";
+    public static final String RESILIENCE_ROUTES = "ryanair-routes";
+    public static final String RESILIENCE_SCHEDULES = "ryanair-schedules";
+    public static final String RESILIENCE_ROUTE_PAIR_CONFIG = "route-pair";
+    public static final String METRIC_ROUTE_PAIR_BREAKERS = "backend.client.route.pair.breakers";
+    public static final String METRIC_ROUTE_PAIR_BREAKERS_OPEN = "backend.client.route.pair.breakers.open";
+    public static final String METRIC_ROUTE_SNAPSHOT_AGE = "backend.routes.snapshot.age";
+    public static final String METRIC_ROUTE_SNAPSHOT_REFRESH = "backend.routes.snapshot.refresh";
+    public static final int MIN_CONNECTION_TIME_HOURS = 2;
+    public static final int MAX_RESULT_LIMIT = 1000;
+    public static final int MAX_BATCH_QUERIES = 500;
+    public static final long MAX_REQUEST_TIMEOUT_MS = 60000;
+    public static final String QUERY_PARAM_TIMEOUT = "timeoutMs";
+    public static final String HEADER_REQUEST_TIMEOUT = "X-Request-Timeout-Ms";
+    public static final String METRIC_INTERCONNECT_FETCH = "flight.search.interconnect.fetch";
+    public static final String METRIC_INTERCONNECT_CALLS_SAVED = "flight.search.interconnect.calls.saved";
+    public static final String CACHE_NAME_SCHEDULES = "backend.schedules";
+    public static final String METRIC_SCHEDULE_CACHE_STALE_SERVED = "backend.schedules.cache.stale.served";
+    public static final String METRIC_SCHEDULE_CACHE_REVALIDATION = "backend.schedules.cache.revalidation";
+    public static final String METRIC_ROUTES_STALE_SERVED = "backend.routes.stale.served";
+    public static final String METRIC_SEARCH_REQUEST = "flight.search.request";
+    public static final String METRIC_SEARCH_STAGE = "flight.search.stage";
+    public static final String METRIC_SEARCH_FANOUT_WIDTH = "flight.search.fanout.width";
+    public static final String METRIC_SEARCH_RESULTS = "flight.search.results";
+    public static final String METRIC_SEARCH_FIRST_RESULT = "flight.search.stream.first.result";
+    public static final String METRIC_SEARCH_JOIN_EXECUTION = "flight.search.join.execution";
+    public static final String METRIC_SEARCH_INCOMPLETE_FETCHES = "flight.search.deadline.incomplete.fetches";
+    public static final String METRIC_BATCH_SCHEDULE_FETCHES = "flight.search.batch.schedule.fetches";
+    public static final String METRIC_BACKEND_CLIENT_CALL = "backend.client.call";
+    public static final String METRIC_BACKEND_CONCURRENCY_LIMIT = "backend.client.concurrency.limit";
+    public static final String METRIC_BACKEND_CONCURRENCY_IN_FLIGHT = "backend.client.concurrency.in.flight";
+    public static final String METRIC_BACKEND_CONCURRENCY_QUEUE = "backend.client.concurrency.queue";
+    public static final String METRIC_BACKEND_CONCURRENCY_REJECTED = "backend.client.concurrency.rejected";
+    public static final String METRIC_BACKEND_HEDGE_SENT = "backend.client.hedge.sent";
+    public static final String METRIC_BACKEND_HEDGE_WON = "backend.client.hedge.won";
+    public static final String METRIC_BACKEND_HEDGE_BUDGET_EXHAUSTED = "backend.client.hedge.budget.exhausted";
+    public static final String METRIC_BACKEND_HEDGE_DELAY = "backend.client.hedge.delay";
+    public static final String METRIC_BACKEND_RETRY = "backend.client.retry";
+    public static final String METRIC_BACKEND_RETRY_BUDGET = "backend.client.retry.budget";
+    public static final String METRIC_BACKEND_CALLS_LOGGED = "backend.client.calls.logged";
+    public static final String METRIC_BACKEND_CONNECTION_ACQUIRE = "backend.client.connection.acquire";
+    public static final String RETRY_OUTCOME_RETRIED = "retried";
+    public static final String RETRY_OUTCOME_BUDGET_EXHAUSTED = "budget_exhausted";
+    public static final String RETRY_OUTCOME_DEADLINE = "deadline";
+    public static final String TAG_STAGE = "stage";
+    public static final String TAG_OUTCOME = "outcome";
+    public static final String TAG_ENDPOINT = "endpoint";
+    public static final String TAG_FANOUT_TYPE = "type";
+    public static final String TAG_FETCH = "fetch";
+    public static final String TAG_FETCH_MODE = "mode";
+    public static final String TAG_REASON = "reason";
+    public static final String TAG_STRATEGY = "strategy";
+    public static final String TAG_THREAD = "thread";
+    public static final String STAGE_ROUTE_LOOKUP = "route_lookup";
+    public static final String STAGE_MONTH_PLANNING = "month_planning";
+    public static final String STAGE_DIRECT_FANOUT = "direct_fanout";
+    public static final String STAGE_INTERCONNECT_FANOUT = "interconnect_fanout";
+    public static final String STAGE_JOIN = "join";
+    public static final String STAGE_RESPONSE = "response";
+    public static final String ENDPOINT_ROUTES = "routes";
+    public static final String ENDPOINT_SCHEDULES = "schedules";
+    public static final String FANOUT_TYPE_DIRECT = "direct";
+    public static final String FANOUT_TYPE_INTERCONNECT = "interconnect";
+    public static final String FETCH_REQUESTED = "requested";
+    public static final String FETCH_MADE = "made";
+    public static final String LOG_REASON_SAMPLED = "sampled";
+    public static final String LOG_REASON_FAILED = "failed";
+    public static final String THREAD_EVENT_LOOP = "event_loop";
+    public static final String THREAD_WORKER = "worker";
 
 }
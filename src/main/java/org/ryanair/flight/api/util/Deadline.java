@@ -0,0 +1,55 @@
+package org.ryanair.flight.api.util;
+
+import org.ryanair.flight.api.exception.DeadlineExceededException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Point in time by which the caller needs an answer, carried in the Reactor context under this class.
+ * Backed by {@link System#nanoTime()}, so it is only meaningful within this JVM.
+ */
+public record Deadline(long expiresAtNanos) {
+
+    public static Deadline in(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * Bounds the given Mono by the deadline found in its subscriber context, if any. The source is cancelled
+     * and the Mono fails with {@link DeadlineExceededException} once the deadline passes, and the source is
+     * not subscribed at all if it has already passed.
+     *
+     * @param source The Mono to bound.
+     * @return org.ryanair.flight.api.A Mono emitting the result of the source if it answers before the deadline.
+     */
+    public static <T> Mono<T> enforce(Mono<T> source) {
+        return Mono.deferContextual(contextView -> {
+            Optional<Deadline> deadline = contextView.getOrEmpty(Deadline.class);
+            if (deadline.isEmpty()) {
+                return source;
+            }
+            Duration remaining = deadline.get().remaining();
+            if (remaining.isNegative() || remaining.isZero()) {
+                return Mono.error(Deadline::exceeded);
+            }
+            return source.timeout(remaining, Mono.error(Deadline::exceeded));
+        });
+    }
+
+    /**
+     * @return the time left until the deadline, negative once it has passed.
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(expiresAtNanos - System.nanoTime());
+    }
+
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    private static DeadlineExceededException exceeded() {
+        return new DeadlineExceededException(ResponseMessage.ERR_GATEWAY_TIMEOUT, ResponseMessage.ERR_DEADLINE_EXCEEDED);
+    }
+}
@@ -8,4 +8,6 @@ package org.ryanair.flight.api.util;
  */
 public record Endpoint() {
     public static final String END_POINT_INTERCONNECT = "/api/v1/flight/interconnections";
+    public static final String END_POINT_INTERCONNECT_BATCH = "/api/v1/flight/interconnections/batch";
+    public static final String END_POINT_INTERCONNECT_STREAM = "/api/v1/flight/interconnections/stream";
 }
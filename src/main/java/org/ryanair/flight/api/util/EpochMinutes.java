@@ -0,0 +1,70 @@
+package org.ryanair.flight.api.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Conversions between schedule date-times and minutes since the epoch.
+ * Schedule times are local airport times, so they are mapped on a fixed UTC offset purely to get a
+ * comparable primitive value.
+ */
+public record EpochMinutes() {
+
+    public static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ofPattern(Constant.DATE_FORMAT_ISO);
+    public static final int MINUTES_PER_HOUR = 60;
+    public static final int MINUTES_PER_DAY = 24 * MINUTES_PER_HOUR;
+
+    public static long of(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    /**
+     * @return The epoch minute of the start of the given day.
+     */
+    public static long ofDate(int year, int month, int day) {
+        return LocalDate.of(year, month, day).toEpochDay() * MINUTES_PER_DAY;
+    }
+
+    /**
+     * Parses a schedule clock time (HH:mm) into minutes of the day without allocating temporal objects.
+     */
+    public static int parseClock(String clock) {
+        int separator = clock.indexOf(':');
+        return Integer.parseInt(clock, 0, separator, 10) * MINUTES_PER_HOUR
+                + Integer.parseInt(clock, separator + 1, clock.length(), 10);
+    }
+
+    /**
+     * Parses a schedule clock time (HH:mm) held in a character buffer, as handed out by a streaming JSON parser.
+     */
+    public static int parseClock(char[] text, int offset, int length) {
+        int hours = -1;
+        int value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            char c = text[i];
+            if (c == ':' && hours < 0) {
+                hours = value;
+                value = 0;
+            } else if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+            } else {
+                hours = -1;
+                break;
+            }
+        }
+        if (hours < 0) {
+            throw new NumberFormatException("Invalid clock time " + new String(text, offset, length));
+        }
+        return hours * MINUTES_PER_HOUR + value;
+    }
+
+    public static long parse(String isoDateTime) {
+        return of(LocalDateTime.parse(isoDateTime, ISO_FORMATTER));
+    }
+
+    public static String format(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC).format(ISO_FORMATTER);
+    }
+}
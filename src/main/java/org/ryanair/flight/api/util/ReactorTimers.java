@@ -0,0 +1,99 @@
+package org.ryanair.flight.api.util;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Helpers timing reactive and synchronous work into timers tagged with an outcome.
+ */
+public record ReactorTimers() {
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_ERROR = "error";
+    public static final String OUTCOME_CIRCUIT_OPEN = "circuit_open";
+    public static final String OUTCOME_CANCELLED = "cancelled";
+
+    /**
+     * Times the given Mono from subscription until it terminates or is cancelled.
+     * The sample is recorded before the terminal signal is passed downstream.
+     *
+     * @param source          The Mono to time.
+     * @param meterRegistry   The registry holding the timers.
+     * @param timerForOutcome Resolves the timer to record into for the outcome of the Mono.
+     * @return The timed Mono.
+     */
+    public static <T> Mono<T> timed(Mono<T> source, MeterRegistry meterRegistry, Function<String, Timer> timerForOutcome) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            AtomicBoolean recorded = new AtomicBoolean();
+            Consumer<String> record = outcome -> {
+                if (recorded.compareAndSet(false, true)) {
+                    sample.stop(timerForOutcome.apply(outcome));
+                }
+            };
+            return source
+                    .doOnSuccess(value -> record.accept(OUTCOME_SUCCESS))
+                    .doOnError(throwable -> record.accept(outcomeOf(throwable)))
+                    .doOnCancel(() -> record.accept(OUTCOME_CANCELLED));
+        });
+    }
+
+    /**
+     * Times the given Flux from subscription until it terminates or is cancelled.
+     * The sample is recorded before the terminal signal is passed downstream.
+     *
+     * @param source          The Flux to time.
+     * @param meterRegistry   The registry holding the timers.
+     * @param timerForOutcome Resolves the timer to record into for the outcome of the Flux.
+     * @return The timed Flux.
+     */
+    public static <T> Flux<T> timed(Flux<T> source, MeterRegistry meterRegistry, Function<String, Timer> timerForOutcome) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            AtomicBoolean recorded = new AtomicBoolean();
+            Consumer<String> record = outcome -> {
+                if (recorded.compareAndSet(false, true)) {
+                    sample.stop(timerForOutcome.apply(outcome));
+                }
+            };
+            return source
+                    .doOnComplete(() -> record.accept(OUTCOME_SUCCESS))
+                    .doOnError(throwable -> record.accept(outcomeOf(throwable)))
+                    .doOnCancel(() -> record.accept(OUTCOME_CANCELLED));
+        });
+    }
+
+    /**
+     * Times a synchronous step.
+     *
+     * @param step            The step to run.
+     * @param meterRegistry   The registry holding the timers.
+     * @param timerForOutcome Resolves the timer to record into for the outcome of the step.
+     * @return The result of the step.
+     */
+    public static <T> T timed(Supplier<T> step, MeterRegistry meterRegistry, Function<String, Timer> timerForOutcome) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = OUTCOME_ERROR;
+        try {
+            T result = step.get();
+            outcome = OUTCOME_SUCCESS;
+            return result;
+        } catch (RuntimeException e) {
+            outcome = outcomeOf(e);
+            throw e;
+        } finally {
+            sample.stop(timerForOutcome.apply(outcome));
+        }
+    }
+
+    private static String outcomeOf(Throwable throwable) {
+        return throwable instanceof CallNotPermittedException ? OUTCOME_CIRCUIT_OPEN : OUTCOME_ERROR;
+    }
+}
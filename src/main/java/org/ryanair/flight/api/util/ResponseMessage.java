@@ -10,12 +10,18 @@ public record ResponseMessage() {
     public static final String ERR_MSG_NO_VALID_ROUTE_FOUND ="No Valid Route found for given IATA combination";
     public static final String ERR_INVALID_REQ_PARAMETERS ="Invalid request parameters";
     public static final String ERR_INVALID_RESP_FROM_BACKEND ="Invalid Response from backend";
+    public static final String ERR_INVALID_BATCH_SIZE ="A batch must hold between 1 and %s queries";
+    public static final String ERR_CONCURRENCY_LIMIT_EXCEEDED ="Too many concurrent calls to the backend";
+    public static final String ERR_DEADLINE_EXCEEDED ="The request deadline passed before the backend answered";
     public static final String ERR_SERVICE_UNAVAILABLE ="Service Unavailable";
+    public static final String ERR_GATEWAY_TIMEOUT ="Gateway Timeout";
 
 
     public static final String RESPONSE_MESSAGE_SUCCESS = "Data retrieved successfully";
     public static final String RESPONSE_MESSAGE_NO_CONTENT = "No any related flights Found for the the given criteria";
     public static final String RESPONSE_MESSAGE_FAILED = "Data retrieved Failed";
+    public static final String RESPONSE_DESCRIPTION_BATCH_INFO = " For %s of %s queries";
+    public static final String RESPONSE_DESCRIPTION_PARTIAL_INFO = ", partial as the request deadline passed before %s schedule fetches completed";
     public static final String RESPONSE_DESCRIPTION_INFO = " With %s Direct flights and %s Interconnect flights with one stop for the given criteria";
 
 }
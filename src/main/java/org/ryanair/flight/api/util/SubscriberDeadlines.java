@@ -0,0 +1,45 @@
+package org.ryanair.flight.api.util;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@link Deadline}s of the live subscribers of a shared call, carried in the context of the shared call under this class.
+ * The shared call runs in the context of whichever subscriber came first, so work done on behalf of all of them,
+ * such as deciding whether another attempt is worth it, looks at {@link #latest()} instead of that subscriber's deadline.
+ */
+public final class SubscriberDeadlines {
+
+    private final Map<Object, Optional<Deadline>> live = new ConcurrentHashMap<>();
+
+    /**
+     * Registers the {@link Deadline} found in the context of each subscriber of the given Mono for as long as it stays subscribed.
+     *
+     * @param shared The shared call.
+     * @return org.ryanair.flight.api.A Mono emitting the result of the shared call.
+     */
+    public <T> Mono<T> track(Mono<T> shared) {
+        return Mono.deferContextual(contextView -> {
+            Object subscriber = new Object();
+            live.put(subscriber, contextView.getOrEmpty(Deadline.class));
+            return shared.doFinally(signalType -> live.remove(subscriber));
+        });
+    }
+
+    /**
+     * @return the latest deadline among the live subscribers, empty when one of them has none or none is left.
+     */
+    public Optional<Deadline> latest() {
+        Optional<Deadline> latest = Optional.empty();
+        for (Optional<Deadline> deadline : live.values()) {
+            if (deadline.isEmpty()) {
+                return Optional.empty();
+            }
+            latest = latest.filter(current -> current.expiresAtNanos() - deadline.get().expiresAtNanos() >= 0).or(() -> deadline);
+        }
+        return latest;
+    }
+}
@@ -0,0 +1,129 @@
+package org.ryanair.flight.api.context;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.ryanair.flight.api.client.impl.RyanairAPIClient;
+import org.ryanair.flight.api.client.hedge.RequestHedger;
+import org.ryanair.flight.api.client.limit.AdaptiveConcurrencyLimiter;
+import org.ryanair.flight.api.client.logging.SampledExchangeLoggingFilter;
+import org.ryanair.flight.api.client.resilience.RoutePairCircuitBreakers;
+import org.ryanair.flight.api.client.retry.BudgetedRetry;
+import org.ryanair.flight.api.config.property.RyanairBackEndConcurrencyLimitConfiguration;
+import org.ryanair.flight.api.config.property.RyanairBackEndHedgingConfiguration;
+import org.ryanair.flight.api.config.property.RyanairBackEndLoggingConfiguration;
+import org.ryanair.flight.api.config.property.RyanairBackEndResilienceConfiguration;
+import org.ryanair.flight.api.config.property.RyanairBackEndRetryConfiguration;
+import org.ryanair.flight.api.config.property.RyanairBackEndEndpointConfiguration;
+import org.ryanair.flight.api.model.ScheduleAPIRequestModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+public class APIClientTestContext {
+
+    private static final String SCHEDULE_RESPONSE_FILE = "src/test/java/org/ryanair/flight/api/context/util/json/schedule_response.json";
+
+    public final AtomicInteger backendCalls = new AtomicInteger();
+    public final AtomicBoolean backendCallCancelled = new AtomicBoolean();
+    public final AtomicInteger maxConcurrentBackendCalls = new AtomicInteger();
+    private final AtomicInteger concurrentBackendCalls = new AtomicInteger();
+    public final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    public final RyanairBackEndConcurrencyLimitConfiguration concurrencyLimitConfiguration = new RyanairBackEndConcurrencyLimitConfiguration();
+    public final RyanairBackEndHedgingConfiguration hedgingConfiguration = new RyanairBackEndHedgingConfiguration();
+    public final RyanairBackEndResilienceConfiguration resilienceConfiguration = new RyanairBackEndResilienceConfiguration();
+    public final RyanairBackEndRetryConfiguration retryConfiguration = createRetryConfiguration();
+    public CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+
+    /**
+     * Creates a client whose WebClient answers every call from a stubbed exchange function after the given delay.
+     */
+    public RyanairAPIClient createClient(HttpStatus status, Duration delay) {
+        return createClient(status, callNumber -> delay);
+    }
+
+    /**
+     * Creates a client whose WebClient answers every call from a stubbed exchange function after a delay
+     * chosen by the number of the call, starting at one.
+     */
+    public RyanairAPIClient createClient(HttpStatus status, IntFunction<Duration> delayOfCall) {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(clientRequest -> {
+                    int callNumber = backendCalls.incrementAndGet();
+                    maxConcurrentBackendCalls.accumulateAndGet(concurrentBackendCalls.incrementAndGet(), Math::max);
+                    return Mono.delay(delayOfCall.apply(callNumber))
+                            .map(tick -> ClientResponse.create(status)
+                                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                    .body(status.is2xxSuccessful() ? readScheduleResponse() : "")
+                                    .build())
+                            .doOnNext(clientResponse -> concurrentBackendCalls.decrementAndGet())
+                            .doOnCancel(() -> {
+                                concurrentBackendCalls.decrementAndGet();
+                                backendCallCancelled.set(true);
+                            });
+                })
+                .build();
+
+        RyanairBackEndEndpointConfiguration endpointConfiguration = new RyanairBackEndEndpointConfiguration();
+        endpointConfiguration.setRouteEndpointURL("/views/locate/3/routes");
+        endpointConfiguration.setScheduleEndpointURL("/timtbl/3/schedules/{departure}/{arrival}/years/{year}/months/{month}");
+
+        return new RyanairAPIClient(
+                webClient,
+                endpointConfiguration,
+                circuitBreakerRegistry,
+                new BudgetedRetry(retryConfiguration, meterRegistry),
+                BulkheadRegistry.ofDefaults(),
+                new RoutePairCircuitBreakers(resilienceConfiguration, circuitBreakerRegistry, meterRegistry),
+                meterRegistry,
+                new AdaptiveConcurrencyLimiter(concurrencyLimitConfiguration, meterRegistry),
+                new RequestHedger(hedgingConfiguration, meterRegistry));
+    }
+
+    /**
+     * Retries are disabled unless a test enables them.
+     */
+    private static RyanairBackEndRetryConfiguration createRetryConfiguration() {
+        RyanairBackEndRetryConfiguration retryConfiguration = new RyanairBackEndRetryConfiguration();
+        retryConfiguration.setMaxAttempts(1);
+        retryConfiguration.setInitialBackoffMs(1);
+        return retryConfiguration;
+    }
+
+    /**
+     * Creates the backend call logging filter, capturing at most the given number of body bytes when positive.
+     */
+    public SampledExchangeLoggingFilter createLoggingFilter(double sampleRate, int bodyCaptureMaxBytes) {
+        RyanairBackEndLoggingConfiguration loggingConfiguration = new RyanairBackEndLoggingConfiguration();
+        loggingConfiguration.setSampleRate(sampleRate);
+        loggingConfiguration.setBodyCaptureEnabled(bodyCaptureMaxBytes > 0);
+        loggingConfiguration.setBodyCaptureMaxBytes(bodyCaptureMaxBytes);
+        return new SampledExchangeLoggingFilter(loggingConfiguration, meterRegistry);
+    }
+
+    public ScheduleAPIRequestModel createScheduleRequest() {
+        return createScheduleRequest(4);
+    }
+
+    public ScheduleAPIRequestModel createScheduleRequest(int month) {
+        return ScheduleAPIRequestModel.builder().departure("STN").arrival("BGY").year(2024).month(month).build();
+    }
+
+    private static String readScheduleResponse() {
+        try {
+            return Files.readString(Path.of(SCHEDULE_RESPONSE_FILE));
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.ryanair.flight.api.context;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.ryanair.flight.api.client.impl.RyanairAPIClient;
+import org.ryanair.flight.api.config.property.RyanairBackEndCacheConfiguration;
+import org.ryanair.flight.api.context.util.TestUtil;
+import org.ryanair.flight.api.model.MonthSchedule;
+import org.ryanair.flight.api.model.RouteAPIResponseModel;
+import org.ryanair.flight.api.model.ScheduleAPIRequestModel;
+import org.ryanair.flight.api.service.backend.cache.ScheduleResponseCache;
+import org.ryanair.flight.api.service.backend.impl.RyanairBackendAPIServiceImpl;
+
+import java.util.List;
+
+public class BackendAPIServiceTestContext {
+
+    @Mock
+    public RyanairAPIClient apiClient;
+
+    @Spy
+    public RyanairBackEndCacheConfiguration cacheConfiguration;
+
+    @Spy
+    public SimpleMeterRegistry meterRegistry;
+
+    @Spy
+    public ScheduleResponseCache scheduleResponseCache = new ScheduleResponseCache(new RyanairBackEndCacheConfiguration(), new SimpleMeterRegistry());
+
+    @InjectMocks
+    public RyanairBackendAPIServiceImpl backendAPIService;
+
+    public List<RouteAPIResponseModel> getRouteResponse() {
+        try {
+            return TestUtil.getRouteMockData();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public MonthSchedule getScheduleResponse() {
+        try {
+            return TestUtil.getMonthScheduleMockResponse();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public ScheduleAPIRequestModel createScheduleRequest(String departure, String arrival) {
+        return ScheduleAPIRequestModel.builder().departure(departure).arrival(arrival).year(2024).month(4).build();
+    }
+}
@@ -0,0 +1,31 @@
+package org.ryanair.flight.api.context;
+
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.ryanair.flight.api.handler.FlightSearchHandler;
+import org.ryanair.flight.api.helper.impl.ResponseGeneratorImpl;
+import org.ryanair.flight.api.router.FlightRouter;
+import org.ryanair.flight.api.service.frontend.FlightSearchService;
+import org.ryanair.flight.api.util.Endpoint;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+public class FlightSearchHandlerTestContext {
+
+    @Mock
+    public FlightSearchService flightSearchService;
+
+    @Spy
+    public ResponseGeneratorImpl responseGenerator;
+
+    @InjectMocks
+    public FlightSearchHandler flightSearchHandler;
+
+    public WebTestClient createWebTestClient() {
+        return WebTestClient.bindToRouterFunction(new FlightRouter().flightInterConnectRoutes(flightSearchHandler)).build();
+    }
+
+    public String createStreamUri() {
+        return Endpoint.END_POINT_INTERCONNECT_STREAM + "?departure=DUB&arrival=WRO&departureDateTime=2024-04-02T07:00&arrivalDateTime=2024-04-02T23:00";
+    }
+}
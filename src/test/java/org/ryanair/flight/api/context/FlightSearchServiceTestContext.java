@@ -1,24 +1,31 @@
 package org.ryanair.flight.api.context;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeAll;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
+import org.ryanair.flight.api.config.property.FlightSearchPropertyConfiguration;
 import org.ryanair.flight.api.dto.PossibleRoutesDto;
 import org.ryanair.flight.api.dto.RequestDataDto;
+import org.ryanair.flight.api.dto.ResultSort;
 import org.ryanair.flight.api.dto.YearMonthDataDto;
 import org.ryanair.flight.api.helper.impl.ServiceHelperImpl;
-import org.ryanair.flight.api.model.Flight;
+import org.ryanair.flight.api.dto.ScheduledFlightDto;
 import org.ryanair.flight.api.model.RouteAPIResponseModel;
 import org.ryanair.flight.api.service.frontend.impl.FlightSearchServiceImpl;
+import org.ryanair.flight.api.service.frontend.join.ConnectionJoinExecutor;
 import org.ryanair.flight.api.service.frontend.impl.RouteServiceImpl;
 import org.ryanair.flight.api.service.frontend.impl.ScheduleServiceImpl;
 import org.ryanair.flight.api.context.util.TestUtil;
 import org.ryanair.flight.api.util.Constant;
+import org.ryanair.flight.api.util.EpochMinutes;
 
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -41,14 +48,23 @@ public class FlightSearchServiceTestContext {
     @Mock
     public ScheduleServiceImpl scheduleService;
 
+    @Spy
+    public FlightSearchPropertyConfiguration searchConfiguration;
+
+    @Spy
+    public SimpleMeterRegistry meterRegistry;
+
+    @Spy
+    public ConnectionJoinExecutor connectionJoinExecutor = new ConnectionJoinExecutor(new FlightSearchPropertyConfiguration(), new SimpleMeterRegistry());
+
     @InjectMocks
     public FlightSearchServiceImpl flightSearchService;
 
 
     private static List<RouteAPIResponseModel> getRouteMockData = Collections.emptyList();
-    private static List<Flight> directFlightMockResponse = Collections.emptyList();
-    private static List<Flight> intDepartingFlightMockResponse = Collections.emptyList();
-    private static List<Flight> intArrivingFlightMockResponse = Collections.emptyList();
+    private static List<ScheduledFlightDto> directFlightMockResponse = Collections.emptyList();
+    private static List<ScheduledFlightDto> intDepartingFlightMockResponse = Collections.emptyList();
+    private static List<ScheduledFlightDto> intArrivingFlightMockResponse = Collections.emptyList();
     static DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern(Constant.DATE_FORMAT_ISO);
 
     @BeforeAll
@@ -66,15 +82,15 @@ public class FlightSearchServiceTestContext {
 
     }
 
-    public List<Flight> getDirectFlightMockResponse() {
+    public List<ScheduledFlightDto> getDirectFlightMockResponse() {
         return directFlightMockResponse;
     }
 
-    public List<Flight> getIntDepartingFlightMockResponse() {
+    public List<ScheduledFlightDto> getIntDepartingFlightMockResponse() {
         return intDepartingFlightMockResponse;
     }
 
-    public List<Flight> getIntArrivingFlightMockResponse() {
+    public List<ScheduledFlightDto> getIntArrivingFlightMockResponse() {
         return intArrivingFlightMockResponse;
     }
     public RequestDataDto createMockRequestDto(){
@@ -86,6 +102,86 @@ public class FlightSearchServiceTestContext {
                 .build();
 
     }
+    public RequestDataDto createMockDayWindowRequestDto(String departureDateTime, String arrivalDateTime){
+        return RequestDataDto.builder()
+                .departure("AAL")
+                .arrival("GRO")
+                .departureDateTime(LocalDateTime.parse(departureDateTime , dateTimeFormatter))
+                .arrivalDateTime(LocalDateTime.parse(arrivalDateTime , dateTimeFormatter))
+                .build();
+    }
+
+    /**
+     * Generates departing flights where flight i connects exactly to arriving flight i two hours after landing.
+     */
+    public List<ScheduledFlightDto> generateDepartingFlights(int count) {
+        LocalDateTime base = LocalDateTime.parse("2024-04-01T00:00", dateTimeFormatter);
+        List<ScheduledFlightDto> flights = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime departure = base.plusMinutes(10L * i);
+            flights.add(new ScheduledFlightDto("FR", "D" + i, EpochMinutes.of(departure), EpochMinutes.of(departure.plusHours(1))));
+        }
+        return flights;
+    }
+
+    public List<ScheduledFlightDto> generateArrivingFlights(int count) {
+        LocalDateTime base = LocalDateTime.parse("2024-04-01T03:00", dateTimeFormatter);
+        List<ScheduledFlightDto> flights = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime departure = base.plusMinutes(10L * i);
+            flights.add(new ScheduledFlightDto("FR", "A" + i, EpochMinutes.of(departure), EpochMinutes.of(departure.plusHours(1))));
+        }
+        return flights;
+    }
+
+    public RequestDataDto createMockLimitedRequestDto(String departureDateTime, String arrivalDateTime, int limit, ResultSort sort){
+        return RequestDataDto.builder()
+                .departure("AAL")
+                .arrival("GRO")
+                .departureDateTime(LocalDateTime.parse(departureDateTime , dateTimeFormatter))
+                .arrivalDateTime(LocalDateTime.parse(arrivalDateTime , dateTimeFormatter))
+                .limit(limit)
+                .sort(sort)
+                .build();
+    }
+
+    /**
+     * Generates daily direct flights for the first days of the given month, each one shorter than the one before.
+     */
+    public List<ScheduledFlightDto> generateDirectFlightsOfMonth(YearMonthDataDto yearMonthDataDto, int count) {
+        List<ScheduledFlightDto> flights = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long departure = EpochMinutes.ofDate(yearMonthDataDto.getYear(), yearMonthDataDto.getMonth(), i + 1) + 8 * 60;
+            flights.add(new ScheduledFlightDto("FR", "M" + yearMonthDataDto.getMonth() + "-" + i, departure, departure + 300 - i));
+        }
+        return flights;
+    }
+
+    /**
+     * Generates two evening first legs for every day of the given month, both connecting only to the morning
+     * second leg of the next day, so the second of them is always dropped as a conflict.
+     */
+    public List<ScheduledFlightDto> generateEveningFirstLegsOfMonth(YearMonthDataDto yearMonthDataDto) {
+        int days = YearMonth.of(yearMonthDataDto.getYear(), yearMonthDataDto.getMonth()).lengthOfMonth();
+        List<ScheduledFlightDto> flights = new ArrayList<>(2 * days);
+        for (int day = 1; day <= days; day++) {
+            long dayStart = EpochMinutes.ofDate(yearMonthDataDto.getYear(), yearMonthDataDto.getMonth(), day);
+            flights.add(new ScheduledFlightDto("FR", "F" + yearMonthDataDto.getMonth() + "-" + day + "a", dayStart + 20 * 60, dayStart + 22 * 60 + 30));
+            flights.add(new ScheduledFlightDto("FR", "F" + yearMonthDataDto.getMonth() + "-" + day + "b", dayStart + 21 * 60, dayStart + 23 * 60));
+        }
+        return flights;
+    }
+
+    public List<ScheduledFlightDto> generateMorningSecondLegsOfMonth(YearMonthDataDto yearMonthDataDto) {
+        int days = YearMonth.of(yearMonthDataDto.getYear(), yearMonthDataDto.getMonth()).lengthOfMonth();
+        List<ScheduledFlightDto> flights = new ArrayList<>(days);
+        for (int day = 1; day <= days; day++) {
+            long departure = EpochMinutes.ofDate(yearMonthDataDto.getYear(), yearMonthDataDto.getMonth(), day) + 6 * 60;
+            flights.add(new ScheduledFlightDto("FR", "S" + yearMonthDataDto.getMonth() + "-" + day, departure, departure + 120));
+        }
+        return flights;
+    }
+
     public YearMonthDataDto getYearMonthData(){
         return new YearMonthDataDto(2024,4);
     }
@@ -33,6 +33,13 @@ public class RouteServiceTestContext {
         }
     }
 
+    public List<RouteAPIResponseModel> getValidRouteResponse() {
+        return getRouteResponse().stream()
+                .filter(routeAPIResponseModel -> routeAPIResponseModel.getConnectingAirport() == null
+                        && "RYANAIR".equals(routeAPIResponseModel.getOperator()))
+                .toList();
+    }
+
     public Optional<PossibleRoutesDto> filterDirectRouteFromResponse(List<PossibleRoutesDto> possibleRoutesDtos) {
         return possibleRoutesDtos.stream()
                 .filter(possibleRoutesDto -> possibleRoutesDto.getType().equalsIgnoreCase("DIRECT")).findAny();
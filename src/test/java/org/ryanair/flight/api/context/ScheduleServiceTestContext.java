@@ -6,8 +6,8 @@ import org.ryanair.flight.api.context.util.TestUtil;
 import org.ryanair.flight.api.dto.RequestDataDto;
 import org.ryanair.flight.api.dto.ScheduledServiceDto;
 import org.ryanair.flight.api.dto.YearMonthDataDto;
+import org.ryanair.flight.api.model.MonthSchedule;
 import org.ryanair.flight.api.model.RouteAPIResponseModel;
-import org.ryanair.flight.api.model.ScheduleAPIResponseModel;
 import org.ryanair.flight.api.service.backend.impl.RyanairBackendAPIServiceImpl;
 import org.ryanair.flight.api.service.frontend.impl.ScheduleServiceImpl;
 import org.ryanair.flight.api.util.Constant;
@@ -67,9 +67,9 @@ public class ScheduleServiceTestContext {
                 .requestData(createMockRequestDto()).yearMonthData(getYearMonthData()).build();
     }
 
-    public ScheduleAPIResponseModel getMockScheduleAPIResponseModel() {
+    public MonthSchedule getMockMonthSchedule() {
         try {
-            return TestUtil.getScheduledAPIMockResponse();
+            return TestUtil.getMonthScheduleMockResponse();
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -0,0 +1,24 @@
+package org.ryanair.flight.api.context;
+
+import org.ryanair.flight.api.dto.ScheduledFlightDto;
+import org.ryanair.flight.api.helper.impl.ServiceHelperImpl;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.ryanair.flight.api.context.util.TestUtil.scheduledFlight;
+
+public class ServiceHelperTestContext {
+
+    public final ServiceHelperImpl serviceHelper = new ServiceHelperImpl();
+
+    public List<ScheduledFlightDto> getUnsortedConnectingFlights() {
+        return Arrays.asList(
+                scheduledFlight("FR", "300", "2024-04-02T18:00", "2024-04-02T20:00"),
+                scheduledFlight("FR", "100", "2024-04-02T11:30", "2024-04-02T13:30"),
+                scheduledFlight("FR", "200", "2024-04-02T14:00", "2024-04-02T16:00"),
+                scheduledFlight("FR", "201", "2024-04-02T14:00", "2024-04-02T16:10"),
+                scheduledFlight("FR", "050", "2024-04-02T09:00", "2024-04-02T11:00")
+        );
+    }
+}
@@ -2,9 +2,13 @@ package org.ryanair.flight.api.context.util;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.ryanair.flight.api.dto.ScheduledFlightDto;
+import org.ryanair.flight.api.model.Day;
 import org.ryanair.flight.api.model.Flight;
+import org.ryanair.flight.api.model.MonthSchedule;
 import org.ryanair.flight.api.model.RouteAPIResponseModel;
 import org.ryanair.flight.api.model.ScheduleAPIResponseModel;
+import org.ryanair.flight.api.util.EpochMinutes;
 import org.springframework.util.ResourceUtils;
 
 import java.io.File;
@@ -29,26 +33,50 @@ public class TestUtil {
         });
     }
 
-    public static List<Flight> getDirectFlightMockResponse() throws Exception {
-        File file = ResourceUtils.getFile(BASE_FILE_PATH + "flight_data_1.json");
-        return objectMapper.readValue(file, new TypeReference<>() {
-        });
+    public static List<ScheduledFlightDto> getDirectFlightMockResponse() throws Exception {
+        return readScheduledFlights("flight_data_1.json");
     }
 
-    public static List<Flight> getIntDepartingFlightMockResponse() throws Exception {
-        File file = ResourceUtils.getFile(BASE_FILE_PATH + "flight_data_1.json");
-        return objectMapper.readValue(file, new TypeReference<>() {
-        });
+    public static List<ScheduledFlightDto> getIntDepartingFlightMockResponse() throws Exception {
+        return readScheduledFlights("flight_data_1.json");
     }
 
-    public static List<Flight> getIntArrivingFlightMockResponse() throws Exception {
-        File file = ResourceUtils.getFile(BASE_FILE_PATH + "flight_data_2.json");
-        return objectMapper.readValue(file, new TypeReference<>() {
+    public static List<ScheduledFlightDto> getIntArrivingFlightMockResponse() throws Exception {
+        return readScheduledFlights("flight_data_2.json");
+    }
+
+    /**
+     * Builds a filtered flight from ISO date-times.
+     */
+    public static ScheduledFlightDto scheduledFlight(String carrierCode, String number, String departureDateTime, String arrivalDateTime) {
+        return new ScheduledFlightDto(carrierCode, number, EpochMinutes.parse(departureDateTime), EpochMinutes.parse(arrivalDateTime));
+    }
+
+    private static List<ScheduledFlightDto> readScheduledFlights(String fileName) throws Exception {
+        File file = ResourceUtils.getFile(BASE_FILE_PATH + fileName);
+        List<Flight> flights = objectMapper.readValue(file, new TypeReference<>() {
         });
+        return flights.stream()
+                .map(flight -> scheduledFlight(flight.getCarrierCode(), flight.getNumber(), flight.getDepartureTime(), flight.getArrivalTime()))
+                .toList();
     }
 
-    public static ScheduleAPIResponseModel getScheduledAPIMockResponse() throws Exception {
+    public static MonthSchedule getMonthScheduleMockResponse() throws Exception {
         File file = ResourceUtils.getFile(BASE_FILE_PATH + "schedule_response.json");
-        return objectMapper.readValue(file, ScheduleAPIResponseModel.class);
+        return monthSchedule(2024, objectMapper.readValue(file, ScheduleAPIResponseModel.class));
+    }
+
+    /**
+     * Builds the decoded schedule of a month from a backend schedule response.
+     */
+    public static MonthSchedule monthSchedule(int year, ScheduleAPIResponseModel scheduleAPIResponseModel) {
+        MonthSchedule.Builder monthSchedule = MonthSchedule.builder(year, scheduleAPIResponseModel.getMonth());
+        for (Day day : scheduleAPIResponseModel.getDays()) {
+            for (Flight flight : day.getFlights()) {
+                monthSchedule.flight(day.getDay(), flight.getCarrierCode(), flight.getNumber(),
+                        EpochMinutes.parseClock(flight.getDepartureTime()), EpochMinutes.parseClock(flight.getArrivalTime()));
+            }
+        }
+        return monthSchedule.build();
     }
 }
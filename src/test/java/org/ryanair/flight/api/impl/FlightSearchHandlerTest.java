@@ -0,0 +1,62 @@
+package org.ryanair.flight.api.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.ryanair.flight.api.context.FlightSearchHandlerTestContext;
+import org.ryanair.flight.api.dto.FinalFlightResponseDto;
+import org.ryanair.flight.api.exception.BackendInvocationException;
+import org.ryanair.flight.api.exception.DataValidationException;
+import org.ryanair.flight.api.exception.DeadlineExceededException;
+import org.ryanair.flight.api.util.ResponseMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Map;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FlightSearchHandler Unit Tests")
+class FlightSearchHandlerTest extends FlightSearchHandlerTestContext {
+
+    @Test
+    void streamAvailableFlights_ErrorBeforeFirstFlightMapped_Failed() {
+        Map<HttpStatus, RuntimeException> failures = Map.of(
+                HttpStatus.SERVICE_UNAVAILABLE, new BackendInvocationException(ResponseMessage.RESPONSE_MESSAGE_FAILED, "routes unavailable", HttpStatus.SERVICE_UNAVAILABLE),
+                HttpStatus.BAD_REQUEST, new DataValidationException("no route"),
+                HttpStatus.GATEWAY_TIMEOUT, new DeadlineExceededException(ResponseMessage.RESPONSE_MESSAGE_FAILED, "deadline passed"));
+
+        failures.forEach((status, failure) -> {
+            Mockito.when(flightSearchService.streamFlights(Mockito.any())).thenReturn(Flux.error(failure));
+
+            createWebTestClient().get()
+                    .uri(createStreamUri())
+                    .accept(MediaType.APPLICATION_NDJSON)
+                    .exchange()
+                    .expectStatus().isEqualTo(status)
+                    .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                    .expectBody()
+                    .jsonPath("$.responseCode").isEqualTo(status.value())
+                    .jsonPath("$.message").isEqualTo(ResponseMessage.RESPONSE_MESSAGE_FAILED);
+        });
+    }
+
+    @Test
+    void streamAvailableFlights_FlightsStreamedAfterFirstOne_Success() {
+        Mockito.when(flightSearchService.streamFlights(Mockito.any())).thenReturn(Flux.just(
+                FinalFlightResponseDto.builder().stops(0).legs(List.of()).build(),
+                FinalFlightResponseDto.builder().stops(1).legs(List.of()).build()));
+
+        createWebTestClient().get()
+                .uri(createStreamUri())
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(FinalFlightResponseDto.class)
+                .hasSize(2);
+    }
+}
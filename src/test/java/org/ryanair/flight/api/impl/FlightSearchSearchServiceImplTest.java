@@ -1,20 +1,37 @@
 package org.ryanair.flight.api.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.ryanair.flight.api.config.property.InterconnectFetchMode;
+import org.ryanair.flight.api.config.property.JoinExecutionStrategy;
 import org.ryanair.flight.api.context.FlightSearchServiceTestContext;
 import org.ryanair.flight.api.dto.*;
-import org.ryanair.flight.api.model.Flight;
+import org.ryanair.flight.api.service.frontend.impl.FlightSearchServiceImpl;
+import org.ryanair.flight.api.service.frontend.join.ConnectionJoinExecutor;
+import org.ryanair.flight.api.util.Constant;
+import org.ryanair.flight.api.util.Deadline;
+import org.ryanair.flight.api.util.ReactorTimers;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.ryanair.flight.api.context.util.TestUtil.scheduledFlight;
 
 /**
  * Author: Gayan Sanjeewa
@@ -30,7 +47,7 @@ class FlightSearchSearchServiceImplTest extends FlightSearchServiceTestContext {
     @Test
     void findFlights_OneDirectFightOnly_Success(){
         RequestDataDto mockRequestDto = createMockRequestDto();
-        List<Flight> directFlightMockResponse = getDirectFlightMockResponse();
+        List<ScheduledFlightDto> directFlightMockResponse = getDirectFlightMockResponse();
 
         Mockito.when(routeService.findAllPossibleRoutes(mockRequestDto.getDeparture() , mockRequestDto.getArrival()))
                         .thenReturn(Mono.just(getDirectRoute()));
@@ -53,8 +70,8 @@ class FlightSearchSearchServiceImplTest extends FlightSearchServiceTestContext {
 
     @Test
     void findFlights_WithOnlyInterconnectedNoDirect_Success() {
-        List<Flight> intArrivingFlightMockResponse = getIntArrivingFlightMockResponse();
-        List<Flight> intDepartingFlightMockResponse = getIntDepartingFlightMockResponse();
+        List<ScheduledFlightDto> intArrivingFlightMockResponse = getIntArrivingFlightMockResponse();
+        List<ScheduledFlightDto> intDepartingFlightMockResponse = getIntDepartingFlightMockResponse();
         RequestDataDto mockRequestDto = createMockRequestDto();
 
         Mockito.when(routeService.findAllPossibleRoutes(mockRequestDto.getDeparture() , mockRequestDto.getArrival()))
@@ -79,9 +96,9 @@ class FlightSearchSearchServiceImplTest extends FlightSearchServiceTestContext {
 
     @Test
     void findFlights_WithOneDirectAndOneInterconnected_Success() {
-        List<Flight> intArrivingFlightMockResponse = getIntArrivingFlightMockResponse();
-        List<Flight> intDepartingFlightMockResponse = getIntDepartingFlightMockResponse();
-        List<Flight> directFlightMockResponse = getDirectFlightMockResponse();
+        List<ScheduledFlightDto> intArrivingFlightMockResponse = getIntArrivingFlightMockResponse();
+        List<ScheduledFlightDto> intDepartingFlightMockResponse = getIntDepartingFlightMockResponse();
+        List<ScheduledFlightDto> directFlightMockResponse = getDirectFlightMockResponse();
         RequestDataDto mockRequestDto = createMockRequestDto();
 
         Mockito.when(routeService.findAllPossibleRoutes(mockRequestDto.getDeparture() , mockRequestDto.getArrival()))
@@ -111,9 +128,9 @@ class FlightSearchSearchServiceImplTest extends FlightSearchServiceTestContext {
 
     @Test
     void findFlights_WithMultipleDirectAndMultipleInterconnected_Success() {
-        List<Flight> intArrivingFlightMockResponse = getIntArrivingFlightMockResponse();
-        List<Flight> intDepartingFlightMockResponse = getIntDepartingFlightMockResponse();
-        List<Flight> directFlightMockResponse = getDirectFlightMockResponse();
+        List<ScheduledFlightDto> intArrivingFlightMockResponse = getIntArrivingFlightMockResponse();
+        List<ScheduledFlightDto> intDepartingFlightMockResponse = getIntDepartingFlightMockResponse();
+        List<ScheduledFlightDto> directFlightMockResponse = getDirectFlightMockResponse();
         RequestDataDto mockRequestDto = createMockRequestDto();
 
         Mockito.when(routeService.findAllPossibleRoutes(mockRequestDto.getDeparture() , mockRequestDto.getArrival()))
@@ -148,4 +165,484 @@ class FlightSearchSearchServiceImplTest extends FlightSearchServiceTestContext {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    void findFlights_EveryStageTimedAndFanOutRecorded_Success() {
+        List<ScheduledFlightDto> intArrivingFlightMockResponse = getIntArrivingFlightMockResponse();
+        List<ScheduledFlightDto> intDepartingFlightMockResponse = getIntDepartingFlightMockResponse();
+        List<ScheduledFlightDto> directFlightMockResponse = getDirectFlightMockResponse();
+        RequestDataDto mockRequestDto = createMockRequestDto();
+
+        Mockito.when(routeService.findAllPossibleRoutes(mockRequestDto.getDeparture() , mockRequestDto.getArrival()))
+                .thenReturn(Mono.just(getDirectAndInterConnectedRoutes()));
+        Mockito.when(scheduleService.getScheduledDirectFlightData(Mockito.any()))
+                .thenReturn(Mono.just(Collections.singletonList(directFlightMockResponse.getFirst())));
+        Mockito.when(scheduleService.getScheduledDepartingFlightData(Mockito.any()))
+                .thenReturn(Mono.just(Collections.singletonList(intDepartingFlightMockResponse.getFirst())));
+        Mockito.when(scheduleService.getScheduledArrivingFlightData(Mockito.any()))
+                .thenReturn(Mono.just(Collections.singletonList(intArrivingFlightMockResponse.getLast())));
+
+        StepVerifier.create(flightSearchService.findFlights(mockRequestDto))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        List.of(Constant.STAGE_ROUTE_LOOKUP, Constant.STAGE_MONTH_PLANNING, Constant.STAGE_DIRECT_FANOUT,
+                        Constant.STAGE_INTERCONNECT_FANOUT, Constant.STAGE_JOIN, Constant.STAGE_RESPONSE)
+                .forEach(stage -> assertEquals(1, meterRegistry.get(Constant.METRIC_SEARCH_STAGE)
+                        .tags(Constant.TAG_STAGE, stage, Constant.TAG_OUTCOME, ReactorTimers.OUTCOME_SUCCESS)
+                        .timer().count(), stage));
+        assertEquals(1, meterRegistry.get(Constant.METRIC_SEARCH_REQUEST)
+                .tag(Constant.TAG_OUTCOME, ReactorTimers.OUTCOME_SUCCESS).timer().count());
+        assertEquals(1, meterRegistry.get(Constant.METRIC_SEARCH_FANOUT_WIDTH)
+                .tag(Constant.TAG_FANOUT_TYPE, Constant.FANOUT_TYPE_INTERCONNECT).summary().count());
+        assertEquals(2, meterRegistry.get(Constant.METRIC_SEARCH_RESULTS).summary().totalAmount());
+    }
+
+    @Test
+    void streamFlights_DirectFlightEmittedBeforeSlowHubCompletes_Success() {
+        List<ScheduledFlightDto> intArrivingFlightMockResponse = getIntArrivingFlightMockResponse();
+        List<ScheduledFlightDto> intDepartingFlightMockResponse = getIntDepartingFlightMockResponse();
+        List<ScheduledFlightDto> directFlightMockResponse = getDirectFlightMockResponse();
+        RequestDataDto mockRequestDto = createMockRequestDto();
+
+        Mockito.when(routeService.findAllPossibleRoutes(mockRequestDto.getDeparture() , mockRequestDto.getArrival()))
+                .thenReturn(Mono.just(getDirectAndInterConnectedRoutes()));
+        Mockito.when(scheduleService.getScheduledDirectFlightData(Mockito.any()))
+                .thenReturn(Mono.just(Collections.singletonList(directFlightMockResponse.getFirst())));
+        Mockito.when(scheduleService.getScheduledDepartingFlightData(Mockito.any()))
+                .thenAnswer(invocation -> Mono.delay(Duration.ofSeconds(10))
+                        .thenReturn(Collections.singletonList(intDepartingFlightMockResponse.getFirst())));
+        Mockito.when(scheduleService.getScheduledArrivingFlightData(Mockito.any()))
+                .thenReturn(Mono.just(Collections.singletonList(intArrivingFlightMockResponse.getLast())));
+
+        StepVerifier.withVirtualTime(() -> flightSearchService.streamFlights(mockRequestDto))
+                .expectSubscription()
+                .assertNext(finalFlightResponseDto -> assertEquals(0, finalFlightResponseDto.getStops()))
+                .expectNoEvent(Duration.ofSeconds(9))
+                .thenAwait(Duration.ofSeconds(1))
+                .assertNext(finalFlightResponseDto -> assertEquals(1, finalFlightResponseDto.getStops()))
+                .verifyComplete();
+        assertEquals(1, meterRegistry.get(Constant.METRIC_SEARCH_FIRST_RESULT).timer().count());
+    }
+
+    @Test
+    void streamFlights_EmitsSameFlightsAsFindFlights_Success() {
+        List<ScheduledFlightDto> intArrivingFlightMockResponse = getIntArrivingFlightMockResponse();
+        List<ScheduledFlightDto> intDepartingFlightMockResponse = getIntDepartingFlightMockResponse();
+        List<ScheduledFlightDto> directFlightMockResponse = getDirectFlightMockResponse();
+        RequestDataDto mockRequestDto = createMockRequestDto();
+
+        Mockito.when(routeService.findAllPossibleRoutes(mockRequestDto.getDeparture() , mockRequestDto.getArrival()))
+                .thenReturn(Mono.just(getDirectAndInterConnectedRoutes()));
+        Mockito.when(scheduleService.getScheduledDirectFlightData(Mockito.any()))
+                .thenAnswer(invocation -> Mono.just(new ArrayList<>(directFlightMockResponse)));
+        Mockito.when(scheduleService.getScheduledDepartingFlightData(Mockito.any()))
+                .thenAnswer(invocation -> Mono.just(new ArrayList<>(intDepartingFlightMockResponse)));
+        Mockito.when(scheduleService.getScheduledArrivingFlightData(Mockito.any()))
+                .thenAnswer(invocation -> Mono.just(new ArrayList<>(intArrivingFlightMockResponse)));
+
+        List<FinalFlightResponseDto> found = flightSearchService.findFlights(mockRequestDto).block();
+        List<FinalFlightResponseDto> streamed = flightSearchService.streamFlights(mockRequestDto).collectList().block();
+
+        assertNotNull(found);
+        assertNotNull(streamed);
+        assertEquals(found.size(), streamed.size());
+        assertEquals(found.stream().map(FinalFlightResponseDto::getLegs).collect(Collectors.toSet()),
+                streamed.stream().map(FinalFlightResponseDto::getLegs).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void searchFlights_LimitKeepsEarliestDeparturesAndReportsTruncation_Success() {
+        RequestDataDto allFlightsRequest = createMockDayWindowRequestDto("2024-04-01T00:00", "2024-04-30T23:00");
+        RequestDataDto limitedRequest = createMockLimitedRequestDto("2024-04-01T00:00", "2024-04-30T23:00", 5, ResultSort.DEPARTURE);
+
+        Mockito.when(routeService.findAllPossibleRoutes(Mockito.anyString(), Mockito.anyString()))
+                .thenReturn(Mono.just(getInterConnectedRoute()));
+        Mockito.when(scheduleService.getScheduledDepartingFlightData(Mockito.any()))
+                .thenAnswer(invocation -> Mono.just(generateDepartingFlights(200)));
+        Mockito.when(scheduleService.getScheduledArrivingFlightData(Mockito.any()))
+                .thenAnswer(invocation -> Mono.just(generateArrivingFlights(200)));
+
+        List<FinalFlightResponseDto> allFlights = new ArrayList<>(flightSearchService.findFlights(allFlightsRequest).block());
+        allFlights.sort(ResultSort.DEPARTURE.comparator());
+
+        StepVerifier.create(flightSearchService.searchFlights(limitedRequest))
+                .consumeNextWith(searchResultDto -> {
+                    assertEquals(5, searchResultDto.getFlights().size());
+                    assertEquals(allFlights.subList(0, 5).stream().map(FinalFlightResponseDto::getLegs).toList(),
+                            searchResultDto.getFlights().stream().map(FinalFlightResponseDto::getLegs).toList());
+                    assertEquals(5, searchResultDto.getMetadata().getLimit());
+                    assertEquals(ResultSort.DEPARTURE, searchResultDto.getMetadata().getSort());
+                    assertTrue(searchResultDto.getMetadata().getTruncated());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void searchFlights_ArrivalOrderStopsFetchingOnceTopFlightsFinal_Success() {
+        RequestDataDto limitedRequest = createMockLimitedRequestDto("2024-04-01T00:00", "2024-06-15T23:00", 3, ResultSort.ARRIVAL);
+
+        Mockito.when(routeService.findAllPossibleRoutes(Mockito.anyString(), Mockito.anyString()))
+                .thenReturn(Mono.just(getDirectRoute()));
+        Mockito.when(scheduleService.getScheduledDirectFlightData(Mockito.any()))
+                .thenAnswer(invocation -> {
+                    YearMonthDataDto yearMonthData = invocation.<ScheduledServiceDto>getArgument(0).getYearMonthData();
+                    return Mono.just(generateDirectFlightsOfMonth(yearMonthData, 10))
+                            .delayElement(Duration.ofMillis(yearMonthData.getMonth() == 4 ? 10 : 5000));
+                });
+
+        StepVerifier.create(flightSearchService.searchFlights(limitedRequest))
+                .consumeNextWith(searchResultDto -> {
+                    assertEquals(List.of("2024-04-01T08:00", "2024-04-02T08:00", "2024-04-03T08:00"),
+                            searchResultDto.getFlights().stream().map(flight -> flight.getLegs().getFirst().getDepartureDateTime()).toList());
+                    assertTrue(searchResultDto.getMetadata().getTruncated());
+                })
+                .verifyComplete();
+
+        // May is prefetched while April is fetched and joined, then cancelled; June can only add later arrivals, so it is never fetched
+        Mockito.verify(scheduleService, Mockito.times(2)).getScheduledDirectFlightData(Mockito.any());
+    }
+
+    @Test
+    void searchFlights_MonthByMonthJoinMatchesFullJoin_Success() {
+        // every evening first leg connects to the next morning's second leg, also from the last day of a month
+        RequestDataDto allFlightsRequest = createMockDayWindowRequestDto("2024-03-01T00:00", "2024-05-20T23:00");
+
+        Mockito.when(routeService.findAllPossibleRoutes(Mockito.anyString(), Mockito.anyString()))
+                .thenReturn(Mono.just(getInterConnectedRoute()));
+        Mockito.when(scheduleService.getScheduledDepartingFlightData(Mockito.any()))
+                .thenAnswer(invocation -> Mono.just(generateEveningFirstLegsOfMonth(
+                        invocation.<ScheduledServiceDto>getArgument(0).getYearMonthData())));
+        Mockito.when(scheduleService.getScheduledArrivingFlightData(Mockito.any()))
+                .thenAnswer(invocation -> Mono.just(generateMorningSecondLegsOfMonth(
+                        invocation.<ScheduledServiceDto>getArgument(0).getYearMonthData())));
+
+        List<FinalFlightResponseDto> allFlights = flightSearchService.findFlights(allFlightsRequest).block();
+        for (ResultSort sort : List.of(ResultSort.DEPARTURE, ResultSort.ARRIVAL)) {
+            List<FinalFlightResponseDto> expectedFlights = new ArrayList<>(allFlights);
+            expectedFlights.sort(sort.comparator());
+            RequestDataDto limitedRequest = createMockLimitedRequestDto("2024-03-01T00:00", "2024-05-20T23:00", 40, sort);
+
+            StepVerifier.create(flightSearchService.searchFlights(limitedRequest))
+                    .consumeNextWith(searchResultDto -> {
+                        assertEquals(legTimes(expectedFlights.subList(0, 40)), legTimes(searchResultDto.getFlights()));
+                        assertTrue(searchResultDto.getMetadata().getTruncated());
+                    })
+                    .verifyComplete();
+        }
+    }
+
+    @Test
+    void searchFlights_DurationOrderFetchesEveryMonth_Success() {
+        RequestDataDto limitedRequest = createMockLimitedRequestDto("2024-04-01T00:00", "2024-06-15T23:00", 3, ResultSort.DURATION);
+
+        Mockito.when(routeService.findAllPossibleRoutes(Mockito.anyString(), Mockito.anyString()))
+                .thenReturn(Mono.just(getDirectRoute()));
+        Mockito.when(scheduleService.getScheduledDirectFlightData(Mockito.any()))
+                .thenAnswer(invocation -> Mono.just(generateDirectFlightsOfMonth(
+                        invocation.<ScheduledServiceDto>getArgument(0).getYearMonthData(), 10)));
+
+        StepVerifier.create(flightSearchService.searchFlights(limitedRequest))
+                .consumeNextWith(searchResultDto -> {
+                    assertEquals(List.of("2024-04-10T08:00", "2024-05-10T08:00", "2024-06-10T08:00"),
+                            searchResultDto.getFlights().stream().map(flight -> flight.getLegs().getFirst().getDepartureDateTime()).toList());
+                    assertTrue(searchResultDto.getFlights().stream().allMatch(flight -> ResultSort.DURATION.keyOf(flight) == 291));
+                    assertTrue(searchResultDto.getMetadata().getTruncated());
+                })
+                .verifyComplete();
+
+        Mockito.verify(scheduleService, Mockito.times(3)).getScheduledDirectFlightData(Mockito.any());
+    }
+
+    @Test
+    void findFlights_PrunedModeSkipsInfeasibleSecondLeg_Success() {
+        searchConfiguration.setInterconnectFetchMode(InterconnectFetchMode.PRUNED);
+        // the last departing flight lands at 22:40, no connection can depart two hours later before 23:00
+        RequestDataDto mockRequestDto = createMockDayWindowRequestDto("2024-04-02T07:00", "2024-04-02T23:00");
+
+        Mockito.when(routeService.findAllPossibleRoutes(mockRequestDto.getDeparture() , mockRequestDto.getArrival()))
+                .thenReturn(Mono.just(getInterConnectedRoute()));
+
+        Mockito.when(scheduleService.getScheduledDepartingFlightData(Mockito.any()))
+                .thenReturn(Mono.just(Collections.singletonList(getIntDepartingFlightMockResponse().getLast())));
+
+        StepVerifier
+                .create(flightSearchService.findFlights(mockRequestDto))
+                .consumeNextWith(finalFlightResponseDtoList -> assertTrue(finalFlightResponseDtoList.isEmpty()))
+                .verifyComplete();
+
+        Mockito.verify(scheduleService, Mockito.never()).getScheduledArrivingFlightData(Mockito.any());
+        assertEquals(1.0, meterRegistry.summary("flight.search.interconnect.calls.saved").totalAmount());
+    }
+
+    @Test
+    void findFlights_FailedInterconnectFetchStillRecorded_Failure() {
+        searchConfiguration.setInterconnectFetchMode(InterconnectFetchMode.PRUNED);
+        RequestDataDto mockRequestDto = createMockDayWindowRequestDto("2024-04-02T07:00", "2024-04-02T23:00");
+
+        Mockito.when(routeService.findAllPossibleRoutes(mockRequestDto.getDeparture() , mockRequestDto.getArrival()))
+                .thenReturn(Mono.just(getInterConnectedRoute()));
+
+        Mockito.when(scheduleService.getScheduledDepartingFlightData(Mockito.any()))
+                .thenReturn(Mono.error(new RuntimeException("backend down")));
+
+        StepVerifier
+                .create(flightSearchService.findFlights(mockRequestDto))
+                .verifyError();
+
+        assertEquals(1, meterRegistry.get(Constant.METRIC_INTERCONNECT_FETCH)
+                .tag(Constant.TAG_FETCH_MODE, InterconnectFetchMode.PRUNED.name())
+                .tag(Constant.TAG_OUTCOME, ReactorTimers.OUTCOME_ERROR)
+                .timer().count());
+        assertEquals(1, meterRegistry.summary(Constant.METRIC_INTERCONNECT_CALLS_SAVED).count());
+    }
+
+    @Test
+    void findFlights_PrunedModeFetchesFeasibleSecondLeg_Success() {
+        searchConfiguration.setInterconnectFetchMode(InterconnectFetchMode.PRUNED);
+        RequestDataDto mockRequestDto = createMockDayWindowRequestDto("2024-04-02T07:00", "2024-04-02T23:59");
+
+        Mockito.when(routeService.findAllPossibleRoutes(mockRequestDto.getDeparture() , mockRequestDto.getArrival()))
+                .thenReturn(Mono.just(getInterConnectedRoute()));
+
+        Mockito.when(scheduleService.getScheduledDepartingFlightData(Mockito.any()))
+                .thenReturn(Mono.just(Collections.singletonList(getIntDepartingFlightMockResponse().getFirst())));
+
+        Mockito.when(scheduleService.getScheduledArrivingFlightData(Mockito.any()))
+                .thenReturn(Mono.just(Collections.singletonList(getIntArrivingFlightMockResponse().getLast())));
+
+        StepVerifier
+                .create(flightSearchService.findFlights(mockRequestDto))
+                .consumeNextWith(finalFlightResponseDtoList -> {
+                    assertEquals(1, finalFlightResponseDtoList.size());
+                    assertEquals(1, finalFlightResponseDtoList.getFirst().getStops());
+                })
+                .verifyComplete();
+
+        assertEquals(0.0, meterRegistry.summary("flight.search.interconnect.calls.saved").totalAmount());
+    }
+
+    @Test
+    void findFlights_PrunedModeKeepsConnectionsAcrossMonths_Success() {
+        // the only first leg lands late on 31 March and connects to the only second leg, early on 1 April
+        RequestDataDto mockRequestDto = createMockDayWindowRequestDto("2024-03-01T00:00", "2024-04-01T12:00");
+
+        Mockito.when(routeService.findAllPossibleRoutes(mockRequestDto.getDeparture() , mockRequestDto.getArrival()))
+                .thenReturn(Mono.just(getInterConnectedRoute()));
+
+        Mockito.when(scheduleService.getScheduledDepartingFlightData(Mockito.any()))
+                .thenAnswer(invocation -> Mono.just(invocation.<ScheduledServiceDto>getArgument(0).getYearMonthData().getMonth() == 3
+                        ? List.of(scheduledFlight("FR", "1", "2024-03-31T21:00", "2024-03-31T23:00"))
+                        : List.of()));
+
+        Mockito.when(scheduleService.getScheduledArrivingFlightData(Mockito.any()))
+                .thenAnswer(invocation -> Mono.just(invocation.<ScheduledServiceDto>getArgument(0).getYearMonthData().getMonth() == 4
+                        ? List.of(scheduledFlight("FR", "2", "2024-04-01T06:00", "2024-04-01T08:00"))
+                        : List.of()));
+
+        List<List<List<Long>>> connectionsByMode = new ArrayList<>();
+        for (InterconnectFetchMode fetchMode : List.of(InterconnectFetchMode.PARALLEL, InterconnectFetchMode.PRUNED)) {
+            searchConfiguration.setInterconnectFetchMode(fetchMode);
+            StepVerifier
+                    .create(flightSearchService.findFlights(mockRequestDto))
+                    .consumeNextWith(finalFlightResponseDtoList -> {
+                        assertEquals(1, finalFlightResponseDtoList.size());
+                        assertEquals(1, finalFlightResponseDtoList.getFirst().getStops());
+                        connectionsByMode.add(legTimes(finalFlightResponseDtoList));
+                    })
+                    .verifyComplete();
+        }
+
+        assertEquals(connectionsByMode.getFirst(), connectionsByMode.getLast());
+        // the March second legs cannot be reached, the April ones can from the March first leg
+        assertEquals(1.0, meterRegistry.summary("flight.search.interconnect.calls.saved").totalAmount());
+    }
+
+    @Test
+    void findFlights_LegsSerializedAsIsoDateTimes_Success() {
+        RequestDataDto mockRequestDto = createMockRequestDto();
+
+        Mockito.when(routeService.findAllPossibleRoutes(mockRequestDto.getDeparture() , mockRequestDto.getArrival()))
+                .thenReturn(Mono.just(getDirectRoute()));
+
+        Mockito.when(scheduleService.getScheduledDirectFlightData(Mockito.any()))
+                .thenReturn(Mono.just(Collections.singletonList(getDirectFlightMockResponse().getFirst())));
+
+        StepVerifier
+                .create(flightSearchService.findFlights(mockRequestDto))
+                .consumeNextWith(finalFlightResponseDtoList -> {
+                    try {
+                        String json = new ObjectMapper().writeValueAsString(finalFlightResponseDtoList.getFirst().getLegs().getFirst());
+                        assertEquals("{\"departureAirport\":\"AAL\",\"arrivalAirport\":\"GRO\",\"departureDateTime\":\"2024-04-02T07:40\",\"arrivalDateTime\":\"2024-04-02T09:30\"}", json);
+                    } catch (JsonProcessingException e) {
+                        fail(e);
+                    }
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void findFlights_TenThousandCandidateConnectionsDeDuplicated_Success() {
+        int connections = 12_000;
+        List<ScheduledFlightDto> departingFlights = new ArrayList<>(generateDepartingFlights(connections));
+        departingFlights.addAll(generateDepartingFlights(connections)); // every departing leg offered twice
+        RequestDataDto mockRequestDto = createMockRequestDto();
+
+        Mockito.when(routeService.findAllPossibleRoutes(mockRequestDto.getDeparture() , mockRequestDto.getArrival()))
+                .thenReturn(Mono.just(getInterConnectedRoute()));
+
+        Mockito.when(scheduleService.getScheduledDepartingFlightData(Mockito.any()))
+                .thenReturn(Mono.just(departingFlights));
+
+        Mockito.when(scheduleService.getScheduledArrivingFlightData(Mockito.any()))
+                .thenReturn(Mono.just(generateArrivingFlights(connections)));
+
+        StepVerifier
+                .create(flightSearchService.findFlights(mockRequestDto))
+                .consumeNextWith(finalFlightResponseDtoList -> {
+                    assertEquals(connections, finalFlightResponseDtoList.size());
+                    FinalFlightResponseDto last = finalFlightResponseDtoList.getLast();
+                    assertEquals(last.getLegs().getFirst().getArrivalEpochMinute() + 120, last.getLegs().getLast().getDepartureEpochMinute());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void join_VirtualThreadJoinsBoundedByParallelism_Success() {
+        searchConfiguration.setJoinOffloadThreshold(0);
+        searchConfiguration.setJoinStrategy(JoinExecutionStrategy.VIRTUAL_THREAD);
+        searchConfiguration.setJoinParallelism(2);
+        ConnectionJoinExecutor offloadingExecutor = new ConnectionJoinExecutor(searchConfiguration, meterRegistry);
+        AtomicInteger runningJoins = new AtomicInteger();
+        AtomicInteger mostRunningJoins = new AtomicInteger();
+        try {
+            StepVerifier
+                    .create(Flux.range(0, 8)
+                            .flatMap(join -> offloadingExecutor.join(1, () -> {
+                                mostRunningJoins.accumulateAndGet(runningJoins.incrementAndGet(), Math::max);
+                                LockSupport.parkNanos(Duration.ofMillis(20).toNanos());
+                                runningJoins.decrementAndGet();
+                                return Thread.currentThread().isVirtual();
+                            }))
+                            .collectList())
+                    .consumeNextWith(ranOnVirtualThread -> assertEquals(Collections.nCopies(8, true), ranOnVirtualThread))
+                    .verifyComplete();
+            assertTrue(mostRunningJoins.get() <= 2, "at most " + mostRunningJoins.get());
+        } finally {
+            offloadingExecutor.destroy();
+        }
+    }
+
+    @Test
+    void findFlights_JoinOffloadedFromTheCallingThread_Success() {
+        RequestDataDto mockRequestDto = createMockDayWindowRequestDto("2024-04-01T00:00", "2024-04-01T23:59");
+        Mockito.when(routeService.findAllPossibleRoutes(mockRequestDto.getDeparture() , mockRequestDto.getArrival()))
+                .thenReturn(Mono.just(getInterConnectedRoute()));
+        Mockito.when(scheduleService.getScheduledDepartingFlightData(Mockito.any()))
+                .thenReturn(Mono.just(generateDepartingFlights(50)));
+        Mockito.when(scheduleService.getScheduledArrivingFlightData(Mockito.any()))
+                .thenReturn(Mono.just(generateArrivingFlights(50)));
+        List<FinalFlightResponseDto> inlineFlights = flightSearchService.findFlights(mockRequestDto).block();
+        assertEquals(50, inlineFlights.size());
+
+        for (JoinExecutionStrategy strategy : List.of(JoinExecutionStrategy.PARALLEL, JoinExecutionStrategy.VIRTUAL_THREAD)) {
+            searchConfiguration.setJoinOffloadThreshold(0);
+            searchConfiguration.setJoinStrategy(strategy);
+            ConnectionJoinExecutor offloadingExecutor = new ConnectionJoinExecutor(searchConfiguration, meterRegistry);
+            FlightSearchServiceImpl offloadingService = new FlightSearchServiceImpl(serviceHelper, routeService,
+                    scheduleService, searchConfiguration, meterRegistry, offloadingExecutor);
+            try {
+                StepVerifier
+                        .create(offloadingService.findFlights(mockRequestDto))
+                        .consumeNextWith(finalFlightResponseDtoList -> assertEquals(legTimes(inlineFlights), legTimes(finalFlightResponseDtoList)))
+                        .verifyComplete();
+                assertEquals(1, meterRegistry.get(Constant.METRIC_SEARCH_JOIN_EXECUTION)
+                        .tag(Constant.TAG_STRATEGY, strategy.name().toLowerCase(Locale.ROOT))
+                        .tag(Constant.TAG_THREAD, Constant.THREAD_WORKER)
+                        .timer().count(), strategy.name());
+            } finally {
+                offloadingExecutor.destroy();
+            }
+        }
+    }
+
+    private static List<List<Long>> legTimes(List<FinalFlightResponseDto> finalFlightResponseDtoList) {
+        return finalFlightResponseDtoList.stream()
+                .map(finalFlightResponseDto -> finalFlightResponseDto.getLegs().stream()
+                        .flatMap(leg -> Stream.of(leg.getDepartureEpochMinute(), leg.getArrivalEpochMinute()))
+                        .toList())
+                .toList();
+    }
+
+    @Test
+    void searchFlightsBatch_FailingQueryIsReportedWithoutFailingTheBatch_Success() {
+        RequestDataDto directRequestDto = createMockRequestDto();
+        RequestDataDto failingRequestDto = RequestDataDto.builder()
+                .departure("STN")
+                .arrival("GRO")
+                .departureDateTime(directRequestDto.getDepartureDateTime())
+                .arrivalDateTime(directRequestDto.getArrivalDateTime())
+                .build();
+
+        Mockito.when(routeService.findAllPossibleRoutes("AAL", "GRO")).thenReturn(Mono.just(getDirectRoute()));
+        Mockito.when(routeService.findAllPossibleRoutes("STN", "GRO")).thenReturn(Mono.error(new RuntimeException("no routes")));
+        Mockito.when(scheduleService.getScheduledDirectFlightData(Mockito.any()))
+                .thenReturn(Mono.just(Collections.singletonList(getDirectFlightMockResponse().getFirst())));
+
+        StepVerifier
+                .create(flightSearchService.searchFlightsBatch(List.of(failingRequestDto, directRequestDto, failingRequestDto)))
+                .consumeNextWith(batchSearchResultDto -> {
+                    List<BatchQueryResultDto> results = batchSearchResultDto.getResults();
+                    assertEquals(3, results.size());
+                    assertNotNull(results.get(0).getError());
+                    assertNull(results.get(1).getError());
+                    assertEquals(1, results.get(1).getResult().getFlights().size());
+                    assertNotNull(results.get(2).getError());
+                    assertNotNull(batchSearchResultDto.getMetadata().getScheduleFetchesRequested());
+                    assertNotNull(batchSearchResultDto.getMetadata().getScheduleFetchesMade());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void searchFlights_DeadlineReturnsFlightsFoundSoFarAndMarksIncompleteHubs_Success() {
+        RequestDataDto mockRequestDto = createMockRequestDto();
+        RequestDataDto deadlineRequestDto = RequestDataDto.builder()
+                .departure(mockRequestDto.getDeparture())
+                .arrival(mockRequestDto.getArrival())
+                .departureDateTime(mockRequestDto.getDepartureDateTime())
+                .arrivalDateTime(mockRequestDto.getArrivalDateTime())
+                .deadline(Deadline.in(Duration.ofMillis(300)))
+                .build();
+
+        Mockito.when(routeService.findAllPossibleRoutes(mockRequestDto.getDeparture() , mockRequestDto.getArrival()))
+                .thenReturn(Mono.just(getDirectAndInterConnectedRoutes()));
+
+        Mockito.when(scheduleService.getScheduledDirectFlightData(Mockito.any()))
+                .thenReturn(Mono.just(Collections.singletonList(getDirectFlightMockResponse().getFirst())));
+
+        // the hub never answers
+        Mockito.when(scheduleService.getScheduledDepartingFlightData(Mockito.any()))
+                .thenReturn(Mono.never());
+
+        Mockito.when(scheduleService.getScheduledArrivingFlightData(Mockito.any()))
+                .thenReturn(Mono.never());
+
+        StepVerifier
+                .create(flightSearchService.searchFlights(deadlineRequestDto))
+                .consumeNextWith(searchResultDto -> {
+                    assertEquals(1, searchResultDto.getFlights().size());
+                    assertEquals(0, searchResultDto.getFlights().getFirst().getStops());
+                    SearchMetadataDto metadata = searchResultDto.getMetadata();
+                    assertEquals(Boolean.TRUE, metadata.getPartial());
+                    assertFalse(metadata.getIncompleteFetches().isEmpty());
+                    metadata.getIncompleteFetches().forEach(incompleteFetchDto -> {
+                        assertNotNull(incompleteFetchDto.getHub());
+                        assertTrue(incompleteFetchDto.getMonth().matches("\\d{4}-\\d{2}"));
+                    });
+                })
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+        assertTrue(meterRegistry.counter(Constant.METRIC_SEARCH_INCOMPLETE_FETCHES,
+                Constant.TAG_FANOUT_TYPE, Constant.FANOUT_TYPE_INTERCONNECT).count() > 0);
+    }
+}
@@ -46,4 +46,25 @@ class RouteServiceImplTest extends RouteServiceTestContext {
 
         }).verifyComplete();
     }
-}
\ No newline at end of file
+
+    @Test
+    void findPossibleRoutes_DirectAndOneStopFromIndexedRoutes_Success() {
+        Mockito.when(backendAPIService.getRoutes(Mockito.any(), Mockito.any())).thenReturn(Mono.just(getValidRouteResponse()));
+
+        StepVerifier.create(routeService.findAllPossibleRoutes("AAL", "GRO"))
+                .consumeNextWith(possibleRoutes -> {
+                    Optional<PossibleRoutesDto> direct = filterDirectRouteFromResponse(possibleRoutes);
+                    Assertions.assertTrue(direct.isPresent());
+                    Assertions.assertEquals("GRO", direct.get().getDirectRoute().getAirportTo());
+
+                    List<PossibleRoutesDto> interConnected = filterInterConRouteFromResponse(possibleRoutes);
+                    Assertions.assertEquals(1, interConnected.size());
+                    Assertions.assertEquals("STN", interConnected.getFirst().getInterConnectedRoute().getFirst().getAirportTo());
+                    Assertions.assertEquals("STN", interConnected.getFirst().getInterConnectedRoute().getLast().getAirportFrom());
+                }).verifyComplete();
+
+        StepVerifier.create(routeService.findAllPossibleRoutes("STN", "AAL"))
+                .consumeNextWith(possibleRoutes -> Assertions.assertTrue(possibleRoutes.isEmpty()))
+                .verifyComplete();
+    }
+}
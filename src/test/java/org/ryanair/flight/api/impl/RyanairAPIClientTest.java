@@ -0,0 +1,468 @@
+package org.ryanair.flight.api.impl;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.ryanair.flight.api.client.decode.StreamingScheduleDecoder;
+import org.ryanair.flight.api.client.impl.RyanairAPIClient;
+import org.ryanair.flight.api.client.logging.SampledExchangeLoggingFilter;
+import org.ryanair.flight.api.client.pool.ConnectionAcquireTimer;
+import org.ryanair.flight.api.config.property.ConcurrencyLimitOverflowMode;
+import org.ryanair.flight.api.context.APIClientTestContext;
+import org.ryanair.flight.api.dto.ScheduledFlightDto;
+import org.ryanair.flight.api.exception.BackendInvocationException;
+import org.ryanair.flight.api.exception.ConcurrencyLimitExceededException;
+import org.ryanair.flight.api.exception.DeadlineExceededException;
+import org.ryanair.flight.api.model.MonthSchedule;
+import org.ryanair.flight.api.model.ScheduleAPIRequestModel;
+import org.ryanair.flight.api.util.Constant;
+import org.ryanair.flight.api.util.Deadline;
+import org.ryanair.flight.api.util.EpochMinutes;
+import org.ryanair.flight.api.util.ReactorTimers;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+@DisplayName("APIClient Unit Tests")
+class RyanairAPIClientTest extends APIClientTestContext {
+
+    private static final int SUBSCRIBERS = 50;
+
+    @Test
+    void getSchedules_ConcurrentIdenticalCallsShareOneBackendCall_Success() {
+        RyanairAPIClient apiClient = createClient(HttpStatus.OK, Duration.ofMillis(200));
+        CountDownLatch start = new CountDownLatch(1);
+
+        Mono<List<MonthSchedule>> responses = Flux.range(0, SUBSCRIBERS)
+                .flatMap(i -> Mono.fromCallable(() -> {
+                            start.await();
+                            return i;
+                        })
+                        .subscribeOn(Schedulers.parallel())
+                        .flatMap(ignored -> apiClient.getSchedules(createScheduleRequest())), SUBSCRIBERS)
+                .collectList();
+
+        StepVerifier.create(responses.doOnSubscribe(subscription -> start.countDown()))
+                .consumeNextWith(scheduleResponses -> {
+                    Assertions.assertEquals(SUBSCRIBERS, scheduleResponses.size());
+                    Assertions.assertEquals(1, scheduleResponses.stream().distinct().count());
+                })
+                .verifyComplete();
+        Assertions.assertEquals(1, backendCalls.get());
+
+        // the completed call is no longer shared, a later call goes to the backend again
+        StepVerifier.create(apiClient.getSchedules(createScheduleRequest())).expectNextCount(1).verifyComplete();
+        Assertions.assertEquals(2, backendCalls.get());
+    }
+
+    @Test
+    void getSchedules_SharedFailurePropagatesToAllSubscribers_Failed() {
+        RyanairAPIClient apiClient = createClient(HttpStatus.INTERNAL_SERVER_ERROR, Duration.ofMillis(100));
+
+        Mono<MonthSchedule> first = apiClient.getSchedules(createScheduleRequest());
+        Mono<MonthSchedule> second = apiClient.getSchedules(createScheduleRequest());
+
+        StepVerifier.create(Flux.merge(first, second))
+                .expectError(BackendInvocationException.class)
+                .verify(Duration.ofSeconds(5));
+        StepVerifier.create(second)
+                .expectError(BackendInvocationException.class)
+                .verify(Duration.ofSeconds(5));
+        Assertions.assertEquals(2, backendCalls.get());
+    }
+
+    @Test
+    void getSchedules_UpstreamCancelledOnlyAfterAllSubscribersCancel_Success() {
+        RyanairAPIClient apiClient = createClient(HttpStatus.OK, Duration.ofSeconds(5));
+
+        Disposable first = apiClient.getSchedules(createScheduleRequest()).subscribe();
+        Disposable second = apiClient.getSchedules(createScheduleRequest()).subscribe();
+
+        first.dispose();
+        Assertions.assertFalse(backendCallCancelled.get());
+        second.dispose();
+        Assertions.assertTrue(backendCallCancelled.get());
+        Assertions.assertEquals(1, backendCalls.get());
+
+        apiClient.getSchedules(createScheduleRequest()).subscribe().dispose();
+        Assertions.assertEquals(2, backendCalls.get());
+    }
+
+    @Test
+    void getSchedules_BackendCallsTimedPerEndpointAndOutcome_Success() {
+        StepVerifier.create(createClient(HttpStatus.OK, Duration.ZERO).getSchedules(createScheduleRequest()))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(createClient(HttpStatus.INTERNAL_SERVER_ERROR, Duration.ZERO).getSchedules(createScheduleRequest()))
+                .expectError(BackendInvocationException.class)
+                .verify(Duration.ofSeconds(5));
+
+        Assertions.assertEquals(1, meterRegistry.get(Constant.METRIC_BACKEND_CLIENT_CALL)
+                .tags(Constant.TAG_ENDPOINT, Constant.ENDPOINT_SCHEDULES, Constant.TAG_OUTCOME, ReactorTimers.OUTCOME_SUCCESS)
+                .timer().count());
+        Assertions.assertEquals(1, meterRegistry.get(Constant.METRIC_BACKEND_CLIENT_CALL)
+                .tags(Constant.TAG_ENDPOINT, Constant.ENDPOINT_SCHEDULES, Constant.TAG_OUTCOME, ReactorTimers.OUTCOME_ERROR)
+                .timer().count());
+    }
+
+    @Test
+    void getSchedules_CallsOverTheConcurrencyLimitAreShed_Failed() {
+        concurrencyLimitConfiguration.setInitialLimit(1);
+        concurrencyLimitConfiguration.setMinLimit(1);
+        concurrencyLimitConfiguration.setOverflowMode(ConcurrencyLimitOverflowMode.SHED);
+        RyanairAPIClient apiClient = createClient(HttpStatus.OK, Duration.ofMillis(200));
+
+        StepVerifier.create(Flux.merge(apiClient.getSchedules(createScheduleRequest(4)), apiClient.getSchedules(createScheduleRequest(5))))
+                .expectError(ConcurrencyLimitExceededException.class)
+                .verify(Duration.ofSeconds(5));
+        Assertions.assertEquals(1, backendCalls.get());
+        Assertions.assertEquals(1, meterRegistry.get(Constant.METRIC_BACKEND_CONCURRENCY_REJECTED).counter().count());
+    }
+
+    @Test
+    void getSchedules_CallsOverTheConcurrencyLimitQueueForAFreeSlot_Success() {
+        concurrencyLimitConfiguration.setInitialLimit(1);
+        concurrencyLimitConfiguration.setMinLimit(1);
+        concurrencyLimitConfiguration.setMaxLimit(1);
+        RyanairAPIClient apiClient = createClient(HttpStatus.OK, Duration.ofMillis(50));
+
+        StepVerifier.create(Flux.range(4, 3).flatMap(month -> apiClient.getSchedules(createScheduleRequest(month))))
+                .expectNextCount(3)
+                .verifyComplete();
+        Assertions.assertEquals(3, backendCalls.get());
+        Assertions.assertEquals(1, maxConcurrentBackendCalls.get());
+        Assertions.assertEquals(0, meterRegistry.get(Constant.METRIC_BACKEND_CONCURRENCY_QUEUE).gauge().value());
+    }
+
+    @Test
+    void getSchedules_ConcurrencyLimitBacksOffOnBackendOverload_Success() {
+        concurrencyLimitConfiguration.setInitialLimit(10);
+        RyanairAPIClient apiClient = createClient(HttpStatus.SERVICE_UNAVAILABLE, Duration.ZERO);
+
+        StepVerifier.create(apiClient.getSchedules(createScheduleRequest()))
+                .expectError(BackendInvocationException.class)
+                .verify(Duration.ofSeconds(5));
+        Assertions.assertEquals(9, meterRegistry.get(Constant.METRIC_BACKEND_CONCURRENCY_LIMIT).gauge().value());
+        Assertions.assertEquals(0, meterRegistry.get(Constant.METRIC_BACKEND_CONCURRENCY_IN_FLIGHT).gauge().value());
+    }
+
+    @Test
+    void getSchedules_SlowCallOvertakenByItsHedge_Success() {
+        hedgingConfiguration.setEnabled(true);
+        hedgingConfiguration.setInitialDelayMs(50);
+        hedgingConfiguration.setBudgetRatio(1);
+        RyanairAPIClient apiClient = createClient(HttpStatus.OK, callNumber -> callNumber == 1 ? Duration.ofSeconds(5) : Duration.ofMillis(10));
+
+        StepVerifier.create(apiClient.getSchedules(createScheduleRequest()))
+                .expectNextCount(1)
+                .expectComplete()
+                .verify(Duration.ofSeconds(2));
+        Assertions.assertEquals(2, backendCalls.get());
+        Assertions.assertTrue(backendCallCancelled.get());
+        Assertions.assertEquals(1, meterRegistry.get(Constant.METRIC_BACKEND_HEDGE_SENT).counter().count());
+        Assertions.assertEquals(1, meterRegistry.get(Constant.METRIC_BACKEND_HEDGE_WON).counter().count());
+    }
+
+    @Test
+    void getSchedules_NoHedgeOnceTheBudgetIsExhausted_Success() {
+        hedgingConfiguration.setEnabled(true);
+        hedgingConfiguration.setInitialDelayMs(20);
+        hedgingConfiguration.setBudgetRatio(0);
+        RyanairAPIClient apiClient = createClient(HttpStatus.OK, Duration.ofMillis(200));
+
+        StepVerifier.create(apiClient.getSchedules(createScheduleRequest()))
+                .expectNextCount(1)
+                .verifyComplete();
+        Assertions.assertEquals(1, backendCalls.get());
+        Assertions.assertEquals(0, meterRegistry.get(Constant.METRIC_BACKEND_HEDGE_SENT).counter().count());
+        Assertions.assertEquals(1, meterRegistry.get(Constant.METRIC_BACKEND_HEDGE_BUDGET_EXHAUSTED).counter().count());
+    }
+
+    @Test
+    void getSchedules_OpenRoutePairBreakerLeavesOtherPairsAndTheEndpointBreakerAlone_Success() {
+        resilienceConfiguration.setRoutePairBreakersEnabled(true);
+        CircuitBreakerConfig endpointConfig = CircuitBreakerConfig.custom()
+                .ignoreExceptions(CallNotPermittedException.class)
+                .build();
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(Map.of(
+                "default", endpointConfig,
+                Constant.RESILIENCE_ROUTE_PAIR_CONFIG, CircuitBreakerConfig.custom().slidingWindowSize(2).minimumNumberOfCalls(2).build()));
+        RyanairAPIClient apiClient = createClient(HttpStatus.INTERNAL_SERVER_ERROR, Duration.ZERO);
+
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(apiClient.getSchedules(createScheduleRequest()))
+                    .expectErrorMatches(throwable -> throwable instanceof BackendInvocationException exception
+                            && exception.getStatus() == HttpStatus.INTERNAL_SERVER_ERROR)
+                    .verify(Duration.ofSeconds(5));
+        }
+        // the pair breaker is open now, the pair is refused without calling the backend
+        StepVerifier.create(apiClient.getSchedules(createScheduleRequest()))
+                .expectErrorMatches(throwable -> throwable instanceof BackendInvocationException exception
+                        && exception.getStatus() == HttpStatus.SERVICE_UNAVAILABLE)
+                .verify(Duration.ofSeconds(5));
+        Assertions.assertEquals(2, backendCalls.get());
+        Assertions.assertEquals(1, meterRegistry.get(Constant.METRIC_ROUTE_PAIR_BREAKERS_OPEN).gauge().value());
+
+        // other pairs still reach the backend through the closed endpoint breaker
+        StepVerifier.create(apiClient.getSchedules(ScheduleAPIRequestModel.builder().departure("BGY").arrival("STN").year(2024).month(4).build()))
+                .expectError(BackendInvocationException.class)
+                .verify(Duration.ofSeconds(5));
+        Assertions.assertEquals(3, backendCalls.get());
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, circuitBreakerRegistry.circuitBreaker(Constant.RESILIENCE_SCHEDULES).getState());
+    }
+
+    @Test
+    void getSchedules_FailedCallRetriedUpToMaxAttempts_Failed() {
+        retryConfiguration.setMaxAttempts(3);
+        RyanairAPIClient apiClient = createClient(HttpStatus.INTERNAL_SERVER_ERROR, Duration.ZERO);
+
+        StepVerifier.create(apiClient.getSchedules(createScheduleRequest()))
+                .expectError(BackendInvocationException.class)
+                .verify(Duration.ofSeconds(5));
+        Assertions.assertEquals(3, backendCalls.get());
+        Assertions.assertEquals(2, meterRegistry.get(Constant.METRIC_BACKEND_RETRY)
+                .tag(Constant.TAG_OUTCOME, Constant.RETRY_OUTCOME_RETRIED).counter().count());
+    }
+
+    @Test
+    void getSchedules_NoRetryOnceTheRetryBudgetIsExhausted_Failed() {
+        retryConfiguration.setMaxAttempts(3);
+        retryConfiguration.setBudgetMaxTokens(1);
+        RyanairAPIClient apiClient = createClient(HttpStatus.INTERNAL_SERVER_ERROR, Duration.ZERO);
+
+        StepVerifier.create(apiClient.getSchedules(createScheduleRequest(4)))
+                .expectError(BackendInvocationException.class)
+                .verify(Duration.ofSeconds(5));
+        StepVerifier.create(apiClient.getSchedules(createScheduleRequest(5)))
+                .expectError(BackendInvocationException.class)
+                .verify(Duration.ofSeconds(5));
+
+        // the single token pays for one retry, failed calls do not refill the budget
+        Assertions.assertEquals(3, backendCalls.get());
+        Assertions.assertEquals(2, meterRegistry.get(Constant.METRIC_BACKEND_RETRY)
+                .tag(Constant.TAG_OUTCOME, Constant.RETRY_OUTCOME_BUDGET_EXHAUSTED).counter().count());
+    }
+
+    @Test
+    void getSchedules_NoRetryWhenTheDeadlineLeavesNoTimeForIt_Failed() {
+        retryConfiguration.setMaxAttempts(3);
+        retryConfiguration.setInitialBackoffMs(100);
+        RyanairAPIClient apiClient = createClient(HttpStatus.INTERNAL_SERVER_ERROR, Duration.ZERO);
+
+        StepVerifier.create(apiClient.getSchedules(createScheduleRequest())
+                        .contextWrite(Context.of(Deadline.class, Deadline.in(Duration.ofMillis(150)))))
+                .expectError(BackendInvocationException.class)
+                .verify(Duration.ofSeconds(5));
+        Assertions.assertEquals(1, backendCalls.get());
+        Assertions.assertEquals(1, meterRegistry.get(Constant.METRIC_BACKEND_RETRY)
+                .tag(Constant.TAG_OUTCOME, Constant.RETRY_OUTCOME_DEADLINE).counter().count());
+    }
+
+    @Test
+    void getSchedules_ShortDeadlineEndsOnlyItsOwnSubscriptionOfASharedCall_Failed() {
+        RyanairAPIClient apiClient = createClient(HttpStatus.OK, Duration.ofMillis(500));
+
+        Mono<MonthSchedule> withoutDeadline = apiClient.getSchedules(createScheduleRequest());
+        Mono<MonthSchedule> withShortDeadline = apiClient.getSchedules(createScheduleRequest())
+                .contextWrite(Context.of(Deadline.class, Deadline.in(Duration.ofMillis(100))));
+
+        StepVerifier.create(Mono.zip(withoutDeadline, withShortDeadline.materialize()))
+                .assertNext(tuple -> {
+                    Assertions.assertNotNull(tuple.getT1());
+                    Assertions.assertInstanceOf(DeadlineExceededException.class, tuple.getT2().getThrowable());
+                })
+                .verifyComplete();
+        Assertions.assertEquals(1, backendCalls.get());
+        Assertions.assertFalse(backendCallCancelled.get());
+    }
+
+    @Test
+    void getSchedules_SharedCallRetriesWithinTheLatestDeadlineOfItsSubscribers_Failed() {
+        retryConfiguration.setMaxAttempts(3);
+        retryConfiguration.setInitialBackoffMs(100);
+        retryConfiguration.setJitter(0);
+        // each attempt takes long enough for both subscribers to join before it fails
+        RyanairAPIClient apiClient = createClient(HttpStatus.INTERNAL_SERVER_ERROR, Duration.ofMillis(50));
+
+        // the first subscriber's deadline leaves no time for a retry, the second one's leaves time for all of them
+        Mono<MonthSchedule> withShortDeadline = apiClient.getSchedules(createScheduleRequest())
+                .contextWrite(Context.of(Deadline.class, Deadline.in(Duration.ofMillis(150))));
+        Mono<MonthSchedule> withLongDeadline = apiClient.getSchedules(createScheduleRequest())
+                .contextWrite(Context.of(Deadline.class, Deadline.in(Duration.ofSeconds(5))));
+
+        StepVerifier.create(Mono.zip(withShortDeadline.materialize(), withLongDeadline.materialize()))
+                .assertNext(tuple -> {
+                    Assertions.assertInstanceOf(DeadlineExceededException.class, tuple.getT1().getThrowable());
+                    Assertions.assertInstanceOf(BackendInvocationException.class, tuple.getT2().getThrowable());
+                })
+                .verifyComplete();
+        Assertions.assertEquals(3, backendCalls.get());
+        Assertions.assertEquals(2, meterRegistry.get(Constant.METRIC_BACKEND_RETRY)
+                .tag(Constant.TAG_OUTCOME, Constant.RETRY_OUTCOME_RETRIED).counter().count());
+    }
+
+    @Test
+    void getSchedules_WholeMonthDecoded_Success() {
+        RyanairAPIClient apiClient = createClient(HttpStatus.OK, Duration.ZERO);
+
+        StepVerifier.create(apiClient.getSchedules(createScheduleRequest()))
+                .assertNext(monthSchedule -> {
+                    Assertions.assertEquals(2024, monthSchedule.getYear());
+                    Assertions.assertEquals(4, monthSchedule.getMonth());
+                    Assertions.assertEquals(List.of(2, 4, 6, 9, 11, 13, 16, 18, 20, 23, 25, 27, 30),
+                            IntStream.rangeClosed(1, monthSchedule.getLengthOfMonth())
+                                    .filter(day -> !monthSchedule.flightsOn(day).isEmpty())
+                                    .boxed()
+                                    .toList());
+                    ScheduledFlightDto flight = monthSchedule.flightsOn(4).getFirst();
+                    Assertions.assertEquals("2024-04-04T21:40", EpochMinutes.format(flight.departureEpochMinute()));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void decode_BodySplitAcrossBuffersDecodedAsItArrives_Success() {
+        String body = "{\"month\":4,\"unknown\":{\"nested\":[1,{\"day\":9}]},\"days\":["
+                + "{\"day\":1,\"flights\":[{\"carrierCode\":\"FR\",\"number\":\"1\",\"departureTime\":\"06:00\",\"arrivalTime\":\"08:30\"}]},"
+                + "{\"flights\":[{\"carrierCode\":\"FR\",\"number\":\"2\",\"departureTime\":\"07:05\",\"arrivalTime\":\"09:00\"}],\"day\":2},"
+                + "{\"day\":3,\"flights\":[{\"carrierCode\":\"FR\",\"number\":\"3\",\"departureTime\":\"10:00\",\"arrivalTime\":\"12:00\"}]}]}";
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+        Flux<DataBuffer> chunks = Flux.range(0, (bytes.length + 6) / 7)
+                .map(chunk -> bufferFactory.wrap(Arrays.copyOfRange(bytes, chunk * 7, Math.min(bytes.length, chunk * 7 + 7))));
+        ScheduleAPIRequestModel scheduleRequest = createScheduleRequest();
+
+        StepVerifier.create(StreamingScheduleDecoder.decode(chunks, scheduleRequest))
+                .assertNext(monthSchedule -> {
+                    Assertions.assertEquals(3, monthSchedule.getFlightCount());
+                    Assertions.assertEquals(List.of("1", "2", "3"), IntStream.rangeClosed(1, 3)
+                            .mapToObj(day -> monthSchedule.flightsOn(day).getFirst().number())
+                            .toList());
+                    ScheduledFlightDto flight = monthSchedule.flightsOn(2).getFirst();
+                    Assertions.assertEquals("2024-04-02T07:05", EpochMinutes.format(flight.departureEpochMinute()));
+                    Assertions.assertEquals("2024-04-02T09:00", EpochMinutes.format(flight.arrivalEpochMinute()));
+                })
+                .verifyComplete();
+        StepVerifier.create(StreamingScheduleDecoder.decode(Flux.just(bufferFactory.wrap(Arrays.copyOf(bytes, bytes.length - 2))), scheduleRequest))
+                .expectError(DecodingException.class)
+                .verify();
+    }
+
+    @Test
+    void decode_EachBufferReleasedExactlyOnce_Success() {
+        byte[] bytes = ("{\"month\":4,\"days\":[{\"day\":1,\"flights\":[{\"carrierCode\":\"FR\",\"number\":\"1\","
+                + "\"departureTime\":\"06:00\",\"arrivalTime\":\"08:30\"}]}]}").getBytes(StandardCharsets.UTF_8);
+        NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(UnpooledByteBufAllocator.DEFAULT);
+        // each buffer holds a second reference, as an HTTP/2 data frame slice shares the count of its frame
+        List<ByteBuf> chunks = List.of(
+                Unpooled.wrappedBuffer(Arrays.copyOfRange(bytes, 0, 40)).retain(),
+                Unpooled.wrappedBuffer(Arrays.copyOfRange(bytes, 40, bytes.length)).retain());
+        ScheduleAPIRequestModel scheduleRequest = createScheduleRequest();
+
+        StepVerifier.create(StreamingScheduleDecoder.decode(Flux.fromIterable(chunks).map(bufferFactory::wrap), scheduleRequest))
+                .expectNextCount(1)
+                .verifyComplete();
+        chunks.forEach(chunk -> Assertions.assertEquals(1, chunk.refCnt()));
+
+        ByteBuf invalid = Unpooled.wrappedBuffer("{\"days\":[}".getBytes(StandardCharsets.UTF_8)).retain();
+        StepVerifier.create(StreamingScheduleDecoder.decode(Flux.just(bufferFactory.wrap(invalid)), scheduleRequest))
+                .expectError(DecodingException.class)
+                .verify();
+        Assertions.assertEquals(1, invalid.refCnt());
+    }
+
+    @Test
+    void logging_SampledCallBodyCapturedWhilePassingTheSameBuffersOn_Success() {
+        SampledExchangeLoggingFilter loggingFilter = createLoggingFilter(1, 8);
+        DefaultDataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+        List<DataBuffer> buffers = List.of(
+                bufferFactory.wrap("{\"month\":4,".getBytes(StandardCharsets.UTF_8)),
+                bufferFactory.wrap("\"days\":[]}".getBytes(StandardCharsets.UTF_8)));
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("http://localhost/schedules")).build();
+
+        Flux<DataBuffer> body = loggingFilter
+                .filter(request, clientRequest -> Mono.just(ClientResponse.create(HttpStatus.OK).body(Flux.fromIterable(buffers)).build()))
+                .flatMapMany(clientResponse -> clientResponse.body(BodyExtractors.toDataBuffers()));
+
+        StepVerifier.create(body)
+                .assertNext(buffer -> Assertions.assertSame(buffers.get(0), buffer))
+                .assertNext(buffer -> Assertions.assertSame(buffers.get(1), buffer))
+                .verifyComplete();
+        // the captured bytes were copied without consuming the buffers
+        Assertions.assertEquals(11, buffers.get(0).readableByteCount());
+        Assertions.assertEquals(1, meterRegistry.counter(Constant.METRIC_BACKEND_CALLS_LOGGED, Constant.TAG_REASON, Constant.LOG_REASON_SAMPLED).count());
+    }
+
+    @Test
+    void logging_FailedCallLoggedEvenWhenNotSampled_Success() {
+        SampledExchangeLoggingFilter loggingFilter = createLoggingFilter(0, 0);
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("http://localhost/schedules")).build();
+
+        StepVerifier.create(loggingFilter.filter(request, clientRequest -> Mono.just(ClientResponse.create(HttpStatus.OK).build())))
+                .expectNextCount(1).verifyComplete();
+        StepVerifier.create(loggingFilter.filter(request, clientRequest -> Mono.just(ClientResponse.create(HttpStatus.BAD_GATEWAY).build())))
+                .expectNextCount(1).verifyComplete();
+
+        Assertions.assertEquals(0, meterRegistry.counter(Constant.METRIC_BACKEND_CALLS_LOGGED, Constant.TAG_REASON, Constant.LOG_REASON_SAMPLED).count());
+        Assertions.assertEquals(1, meterRegistry.counter(Constant.METRIC_BACKEND_CALLS_LOGGED, Constant.TAG_REASON, Constant.LOG_REASON_FAILED).count());
+    }
+
+    @Test
+    void connectionAcquire_TimedForEveryCallOnThePooledConnection_Success() {
+        DisposableServer server = HttpServer.create().port(0)
+                .handle((request, response) -> response.sendString(Mono.just("ok")))
+                .bindNow();
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("test-backend").maxConnections(1).build();
+        try {
+            ConnectionAcquireTimer connectionAcquireTimer = new ConnectionAcquireTimer(meterRegistry);
+            WebClient webClient = WebClient.builder()
+                    .baseUrl("http://localhost:" + server.port())
+                    .clientConnector(new ReactorClientHttpConnector(connectionAcquireTimer.instrument(HttpClient.create(connectionProvider))))
+                    .filter(connectionAcquireTimer)
+                    .build();
+
+            StepVerifier.create(Flux.range(0, 3).concatMap(call -> webClient.get().retrieve().bodyToMono(String.class)))
+                    .expectNext("ok", "ok", "ok")
+                    .verifyComplete();
+
+            Assertions.assertEquals(3, meterRegistry.timer(Constant.METRIC_BACKEND_CONNECTION_ACQUIRE).count());
+        } finally {
+            server.disposeNow();
+            connectionProvider.disposeLater().block();
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package org.ryanair.flight.api.impl;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.ryanair.flight.api.config.property.RyanairBackEndCacheConfiguration;
+import org.ryanair.flight.api.context.BackendAPIServiceTestContext;
+import org.ryanair.flight.api.exception.DeadlineExceededException;
+import org.ryanair.flight.api.model.MonthSchedule;
+import org.ryanair.flight.api.model.ScheduleAPIRequestModel;
+import org.ryanair.flight.api.service.backend.cache.DataFreshness;
+import org.ryanair.flight.api.service.backend.cache.ScheduleFetchMemo;
+import org.ryanair.flight.api.service.backend.cache.ScheduleResponseCache;
+import org.ryanair.flight.api.service.backend.cache.ServedSchedule;
+import org.ryanair.flight.api.service.backend.impl.RyanairBackendAPIServiceImpl;
+import org.ryanair.flight.api.util.Constant;
+import org.ryanair.flight.api.util.Deadline;
+import org.ryanair.flight.api.util.ResponseMessage;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BackendAPIService Unit Tests")
+class RyanairBackendAPIServiceImplTest extends BackendAPIServiceTestContext {
+
+    @Test
+    void getRoutes_ServedFromSnapshotAfterFirstLoad_Success() {
+        Mockito.when(apiClient.getRoutes()).thenReturn(Mono.just(getRouteResponse()));
+
+        StepVerifier.create(backendAPIService.getRoutes("GRO", "AAL"))
+                .consumeNextWith(routes -> Assertions.assertFalse(routes.isEmpty()))
+                .verifyComplete();
+        StepVerifier.create(backendAPIService.getRoutes("STN", "AAL"))
+                .consumeNextWith(routes -> Assertions.assertFalse(routes.isEmpty()))
+                .verifyComplete();
+
+        Mockito.verify(apiClient, Mockito.times(1)).getRoutes();
+    }
+
+    @Test
+    void getRoutes_ConcurrentColdLoadsShareOneDownload_Success() {
+        Mockito.when(apiClient.getRoutes()).thenReturn(Mono.just(getRouteResponse()).delayElement(Duration.ofMillis(100)));
+
+        StepVerifier.create(Flux.merge(
+                                backendAPIService.getRoutes("GRO", "AAL"),
+                                backendAPIService.getRoutes("STN", "AAL"),
+                                Mono.fromRunnable(backendAPIService::refreshRouteSnapshot))
+                        .count())
+                .expectNext(2L)
+                .verifyComplete();
+
+        Mockito.verify(apiClient, Mockito.times(1)).getRoutes();
+    }
+
+    @Test
+    void refreshRouteSnapshot_FailedRefreshKeepsPreviousSnapshot_Success() {
+        Mockito.when(apiClient.getRoutes())
+                .thenReturn(Mono.just(getRouteResponse()))
+                .thenReturn(Mono.error(new RuntimeException("backend down")));
+
+        backendAPIService.refreshRouteSnapshot();
+        backendAPIService.refreshRouteSnapshot();
+
+        StepVerifier.create(backendAPIService.getRoutes("GRO", "AAL"))
+                .consumeNextWith(routes -> Assertions.assertFalse(routes.isEmpty()))
+                .verifyComplete();
+        Mockito.verify(apiClient, Mockito.times(2)).getRoutes();
+        Assertions.assertEquals(2, meterRegistry.find("backend.routes.snapshot.refresh").timers().stream()
+                .mapToLong(timer -> timer.count()).sum());
+    }
+
+    @Test
+    void refreshRouteSnapshot_FailedRefreshNotReportedStaleWithoutStaleWhileRevalidate_Success() {
+        Mockito.when(apiClient.getRoutes())
+                .thenReturn(Mono.just(getRouteResponse()))
+                .thenReturn(Mono.error(new RuntimeException("backend down")));
+
+        backendAPIService.refreshRouteSnapshot();
+        backendAPIService.refreshRouteSnapshot();
+
+        DataFreshness dataFreshness = new DataFreshness();
+        StepVerifier.create(backendAPIService.getRoutes("GRO", "AAL")
+                        .contextWrite(Context.of(DataFreshness.class, dataFreshness)))
+                .consumeNextWith(routes -> Assertions.assertFalse(routes.isEmpty()))
+                .verifyComplete();
+        Assertions.assertFalse(dataFreshness.isStale());
+    }
+
+    @Test
+    void getRoutes_StaleSnapshotLoadedAgainOncePastTheStaleWindow_Success() {
+        cacheConfiguration.setStaleWhileRevalidateEnabled(true);
+        cacheConfiguration.setStaleWindowMs(60000);
+        Mockito.when(apiClient.getRoutes())
+                .thenReturn(Mono.just(getRouteResponse()))
+                .thenReturn(Mono.error(new RuntimeException("backend down")))
+                .thenReturn(Mono.just(getRouteResponse()));
+
+        backendAPIService.refreshRouteSnapshot();
+        backendAPIService.refreshRouteSnapshot();
+
+        DataFreshness withinWindow = new DataFreshness();
+        StepVerifier.create(backendAPIService.getRoutes("GRO", "AAL")
+                        .contextWrite(Context.of(DataFreshness.class, withinWindow)))
+                .expectNextCount(1)
+                .verifyComplete();
+        Assertions.assertTrue(withinWindow.isStale());
+
+        cacheConfiguration.setStaleWindowMs(0);
+        DataFreshness pastWindow = new DataFreshness();
+        StepVerifier.create(Mono.delay(Duration.ofMillis(10))
+                        .then(backendAPIService.getRoutes("GRO", "AAL"))
+                        .contextWrite(Context.of(DataFreshness.class, pastWindow)))
+                .expectNextCount(1)
+                .verifyComplete();
+        Assertions.assertFalse(pastWindow.isStale());
+        Mockito.verify(apiClient, Mockito.times(3)).getRoutes();
+    }
+
+    @Test
+    void getRoutes_SnapshotDisabledCallsBackendEveryTime_Success() {
+        cacheConfiguration.setRouteSnapshotEnabled(false);
+        Mockito.when(apiClient.getRoutes()).thenReturn(Mono.just(getRouteResponse()));
+
+        StepVerifier.create(backendAPIService.getRoutes("GRO", "AAL")).expectNextCount(1).verifyComplete();
+        StepVerifier.create(backendAPIService.getRoutes("GRO", "AAL")).expectNextCount(1).verifyComplete();
+
+        Mockito.verify(apiClient, Mockito.times(2)).getRoutes();
+    }
+
+    @Test
+    void getSchedules_IdenticalRequestServedFromCache_Success() {
+        Mockito.when(apiClient.getSchedules(Mockito.any())).thenReturn(Mono.just(getScheduleResponse()));
+
+        StepVerifier.create(backendAPIService.getSchedules(createScheduleRequest("STN", "BGY"))).expectNextCount(1).verifyComplete();
+        StepVerifier.create(backendAPIService.getSchedules(createScheduleRequest("STN", "BGY"))).expectNextCount(1).verifyComplete();
+        StepVerifier.create(backendAPIService.getSchedules(createScheduleRequest("BGY", "STN"))).expectNextCount(1).verifyComplete();
+
+        Mockito.verify(apiClient, Mockito.times(2)).getSchedules(Mockito.any());
+    }
+
+    @Test
+    void getSchedules_FailedResponseIsNotCached_Success() {
+        Mockito.when(apiClient.getSchedules(Mockito.any()))
+                .thenReturn(Mono.error(new RuntimeException("backend down")))
+                .thenReturn(Mono.just(getScheduleResponse()));
+
+        StepVerifier.create(backendAPIService.getSchedules(createScheduleRequest("STN", "BGY"))).verifyError();
+        StepVerifier.create(backendAPIService.getSchedules(createScheduleRequest("STN", "BGY"))).expectNextCount(1).verifyComplete();
+
+        Mockito.verify(apiClient, Mockito.times(2)).getSchedules(Mockito.any());
+    }
+
+    @Test
+    void getSchedules_BatchMemoFetchesEachScheduleOnce_Success() {
+        Mockito.when(apiClient.getSchedules(Mockito.any())).thenReturn(Mono.error(new RuntimeException("backend down")));
+        ScheduleFetchMemo scheduleFetchMemo = new ScheduleFetchMemo();
+
+        Mono<MonthSchedule> batch = Flux.concat(
+                        backendAPIService.getSchedules(createScheduleRequest("STN", "BGY")).onErrorResume(throwable -> Mono.empty()),
+                        backendAPIService.getSchedules(createScheduleRequest("STN", "BGY")).onErrorResume(throwable -> Mono.empty()))
+                .next()
+                .contextWrite(Context.of(ScheduleFetchMemo.class, scheduleFetchMemo));
+        StepVerifier.create(batch).verifyComplete();
+
+        // failures are not cached, so only the memo can have saved the second call
+        Mockito.verify(apiClient, Mockito.times(1)).getSchedules(Mockito.any());
+        Assertions.assertEquals(2, scheduleFetchMemo.getRequestedFetches());
+        Assertions.assertEquals(1, scheduleFetchMemo.getMadeFetches());
+    }
+
+    @Test
+    void getSchedules_BatchQueriesWaitForTheSharedFetchUntilTheirOwnDeadline_Success() {
+        MonthSchedule scheduleResponse = getScheduleResponse();
+        // like the real client, the backend call is bounded by the deadline of its subscriber
+        Mockito.when(apiClient.getSchedules(Mockito.any()))
+                .thenAnswer(invocation -> Mono.just(scheduleResponse).delayElement(Duration.ofMillis(300)).transform(Deadline::enforce));
+        ScheduleFetchMemo scheduleFetchMemo = new ScheduleFetchMemo();
+
+        Mono<List<Object>> batch = Flux.merge(
+                        backendAPIService.getSchedules(createScheduleRequest("STN", "BGY"))
+                                .cast(Object.class)
+                                .onErrorResume(throwable -> Mono.just(throwable))
+                                .contextWrite(Context.of(Deadline.class, Deadline.in(Duration.ofMillis(50)))),
+                        backendAPIService.getSchedules(createScheduleRequest("STN", "BGY"))
+                                .cast(Object.class)
+                                .contextWrite(Context.of(Deadline.class, Deadline.in(Duration.ofSeconds(5)))))
+                .collectList()
+                .contextWrite(Context.of(ScheduleFetchMemo.class, scheduleFetchMemo));
+
+        StepVerifier.create(batch)
+                .consumeNextWith(results -> {
+                    Assertions.assertEquals(2, results.size());
+                    Assertions.assertInstanceOf(DeadlineExceededException.class, results.getFirst());
+                    Assertions.assertSame(scheduleResponse, results.getLast());
+                })
+                .verifyComplete();
+        Mockito.verify(apiClient, Mockito.times(1)).getSchedules(Mockito.any());
+    }
+
+    @Test
+    void getSchedules_BatchMemoFetchesAgainAfterDeadlineExceeded_Success() {
+        Mockito.when(apiClient.getSchedules(Mockito.any()))
+                .thenReturn(Mono.error(new DeadlineExceededException(ResponseMessage.ERR_GATEWAY_TIMEOUT, ResponseMessage.ERR_DEADLINE_EXCEEDED)))
+                .thenReturn(Mono.just(getScheduleResponse()));
+        ScheduleFetchMemo scheduleFetchMemo = new ScheduleFetchMemo();
+
+        Mono<MonthSchedule> batch = Flux.concat(
+                        backendAPIService.getSchedules(createScheduleRequest("STN", "BGY")).onErrorResume(throwable -> Mono.empty()),
+                        backendAPIService.getSchedules(createScheduleRequest("STN", "BGY")))
+                .next()
+                .contextWrite(Context.of(ScheduleFetchMemo.class, scheduleFetchMemo));
+        StepVerifier.create(batch).expectNextCount(1).verifyComplete();
+
+        Mockito.verify(apiClient, Mockito.times(2)).getSchedules(Mockito.any());
+        Assertions.assertEquals(2, scheduleFetchMemo.getMadeFetches());
+    }
+
+    @Test
+    void getSchedules_BatchMemoDoesNotCountCacheHitsAsMadeFetches_Success() {
+        Mockito.when(apiClient.getSchedules(Mockito.any())).thenReturn(Mono.just(getScheduleResponse()));
+        StepVerifier.create(backendAPIService.getSchedules(createScheduleRequest("STN", "BGY"))).expectNextCount(1).verifyComplete();
+        ScheduleFetchMemo scheduleFetchMemo = new ScheduleFetchMemo();
+
+        Mono<Long> batch = Flux.merge(
+                        backendAPIService.getSchedules(createScheduleRequest("STN", "BGY")),
+                        backendAPIService.getSchedules(createScheduleRequest("STN", "BGY")),
+                        backendAPIService.getSchedules(createScheduleRequest("BGY", "STN")))
+                .count()
+                .contextWrite(Context.of(ScheduleFetchMemo.class, scheduleFetchMemo));
+        StepVerifier.create(batch).expectNext(3L).verifyComplete();
+
+        Assertions.assertEquals(3, scheduleFetchMemo.getRequestedFetches());
+        Assertions.assertEquals(1, scheduleFetchMemo.getMadeFetches());
+        Mockito.verify(apiClient, Mockito.times(2)).getSchedules(Mockito.any());
+    }
+
+    @Test
+    void getSchedules_StaleEntryServedWhileItsRefreshFails_Success() {
+        RyanairBackEndCacheConfiguration staleCacheConfiguration = new RyanairBackEndCacheConfiguration();
+        staleCacheConfiguration.setScheduleCacheTtlMs(1000);
+        staleCacheConfiguration.setStaleWhileRevalidateEnabled(true);
+        staleCacheConfiguration.setStaleWindowMs(60000);
+        AtomicLong nanoTime = new AtomicLong();
+        ScheduleResponseCache staleCache = new ScheduleResponseCache(staleCacheConfiguration, meterRegistry, nanoTime::get);
+        MonthSchedule scheduleResponse = getScheduleResponse();
+        AtomicInteger backendCalls = new AtomicInteger();
+        Function<ScheduleAPIRequestModel, Mono<MonthSchedule>> failingAfterFirstCall = scheduleAPIRequestModel ->
+                backendCalls.incrementAndGet() == 1 ? Mono.just(scheduleResponse) : Mono.error(new RuntimeException("circuit open"));
+
+        StepVerifier.create(staleCache.get(createScheduleRequest("STN", "BGY"), failingAfterFirstCall))
+                .expectNext(ServedSchedule.fresh(scheduleResponse))
+                .verifyComplete();
+        nanoTime.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        StepVerifier.create(staleCache.get(createScheduleRequest("STN", "BGY"), failingAfterFirstCall))
+                .expectNext(new ServedSchedule(scheduleResponse, true, Duration.ofSeconds(30)))
+                .verifyComplete();
+        Assertions.assertEquals(2, backendCalls.get());
+        Assertions.assertEquals(1, meterRegistry.get(Constant.METRIC_SCHEDULE_CACHE_REVALIDATION)
+                .tag(Constant.TAG_OUTCOME, "failure").counter().count());
+
+        nanoTime.addAndGet(Duration.ofSeconds(60).toNanos());
+        StepVerifier.create(staleCache.get(createScheduleRequest("STN", "BGY"), failingAfterFirstCall)).verifyError();
+    }
+
+    @Test
+    void getSchedules_StaleScheduleSharedByABatchMarksEveryQueryStale_Success() {
+        RyanairBackEndCacheConfiguration staleCacheConfiguration = new RyanairBackEndCacheConfiguration();
+        staleCacheConfiguration.setScheduleCacheTtlMs(1000);
+        staleCacheConfiguration.setStaleWhileRevalidateEnabled(true);
+        staleCacheConfiguration.setStaleWindowMs(60000);
+        AtomicLong nanoTime = new AtomicLong();
+        RyanairBackendAPIServiceImpl staleBackendAPIService = new RyanairBackendAPIServiceImpl(apiClient, cacheConfiguration, meterRegistry,
+                new ScheduleResponseCache(staleCacheConfiguration, meterRegistry, nanoTime::get));
+        Mockito.when(apiClient.getSchedules(Mockito.any()))
+                .thenReturn(Mono.just(getScheduleResponse()))
+                .thenReturn(Mono.error(new RuntimeException("circuit open")));
+
+        StepVerifier.create(staleBackendAPIService.getSchedules(createScheduleRequest("STN", "BGY"))).expectNextCount(1).verifyComplete();
+        nanoTime.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        DataFreshness firstQueryFreshness = new DataFreshness();
+        DataFreshness secondQueryFreshness = new DataFreshness();
+        Mono<Long> batch = Flux.merge(
+                        staleBackendAPIService.getSchedules(createScheduleRequest("STN", "BGY"))
+                                .contextWrite(Context.of(DataFreshness.class, firstQueryFreshness)),
+                        staleBackendAPIService.getSchedules(createScheduleRequest("STN", "BGY"))
+                                .contextWrite(Context.of(DataFreshness.class, secondQueryFreshness)))
+                .count()
+                .contextWrite(Context.of(ScheduleFetchMemo.class, new ScheduleFetchMemo()));
+        StepVerifier.create(batch).expectNext(2L).verifyComplete();
+
+        Assertions.assertTrue(firstQueryFreshness.isStale());
+        Assertions.assertTrue(secondQueryFreshness.isStale());
+        Assertions.assertEquals(30, secondQueryFreshness.getOldestStaleAgeSeconds());
+    }
+
+    @Test
+    void getRoutes_LastRoutesServedStaleWhenTheBackendFails_Success() {
+        cacheConfiguration.setRouteSnapshotEnabled(false);
+        cacheConfiguration.setStaleWhileRevalidateEnabled(true);
+        Mockito.when(apiClient.getRoutes())
+                .thenReturn(Mono.just(getRouteResponse()))
+                .thenReturn(Mono.error(new RuntimeException("circuit open")));
+
+        StepVerifier.create(backendAPIService.getRoutes("GRO", "AAL")).expectNextCount(1).verifyComplete();
+        DataFreshness dataFreshness = new DataFreshness();
+        StepVerifier.create(backendAPIService.getRoutes("GRO", "AAL")
+                        .contextWrite(Context.of(DataFreshness.class, dataFreshness)))
+                .consumeNextWith(routes -> Assertions.assertFalse(routes.isEmpty()))
+                .verifyComplete();
+
+        Assertions.assertTrue(dataFreshness.isStale());
+        Mockito.verify(apiClient, Mockito.times(2)).getRoutes();
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -14,14 +15,15 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.ryanair.flight.api.context.ScheduleServiceTestContext;
 import org.ryanair.flight.api.dto.PossibleRoutesDto;
 import org.ryanair.flight.api.dto.RequestDataDto;
+import org.ryanair.flight.api.dto.ScheduledFlightDto;
 import org.ryanair.flight.api.dto.ScheduledServiceDto;
 import org.ryanair.flight.api.dto.YearMonthDataDto;
-import org.ryanair.flight.api.model.Flight;
+import org.ryanair.flight.api.model.MonthSchedule;
 import org.ryanair.flight.api.model.RouteAPIResponseModel;
 import org.ryanair.flight.api.model.ScheduleAPIRequestModel;
-import org.ryanair.flight.api.model.ScheduleAPIResponseModel;
 import org.ryanair.flight.api.service.backend.impl.RyanairBackendAPIServiceImpl;
 import org.ryanair.flight.api.service.frontend.impl.ScheduleServiceImpl;
+import org.ryanair.flight.api.util.EpochMinutes;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -46,9 +48,9 @@ class ScheduleServiceImplTest extends ScheduleServiceTestContext {
     @Test
     void getScheduledDepartingFlights_Success() {
         Mockito.when(backendAPIService.getSchedules(Mockito.any()))
-                .thenReturn(Mono.just(getMockScheduleAPIResponseModel()));
+                .thenReturn(Mono.just(getMockMonthSchedule()));
 
-        Mono<List<Flight>> scheduledDepartingFlightData = scheduleService
+        Mono<List<ScheduledFlightDto>> scheduledDepartingFlightData = scheduleService
                 .getScheduledDepartingFlightData(createMockScheduledServiceDto());
         StepVerifier
                 .create(scheduledDepartingFlightData)
@@ -58,9 +60,9 @@ class ScheduleServiceImplTest extends ScheduleServiceTestContext {
     @Test
     void getScheduledArrivingFlights_Success() {
         Mockito.when(backendAPIService.getSchedules(Mockito.any()))
-                .thenReturn(Mono.just(getMockScheduleAPIResponseModel()));
+                .thenReturn(Mono.just(getMockMonthSchedule()));
 
-        Mono<List<Flight>> scheduledDepartingFlightData = scheduleService
+        Mono<List<ScheduledFlightDto>> scheduledDepartingFlightData = scheduleService
                 .getScheduledArrivingFlightData(createMockScheduledServiceDto());
         StepVerifier
                 .create(scheduledDepartingFlightData)
@@ -70,12 +72,57 @@ class ScheduleServiceImplTest extends ScheduleServiceTestContext {
     @Test
     void getScheduledDirectFlight_Success()  {
         Mockito.when(backendAPIService.getSchedules(Mockito.any()))
-                .thenReturn(Mono.just(getMockScheduleAPIResponseModel()));
+                .thenReturn(Mono.just(getMockMonthSchedule()));
 
-        Mono<List<Flight>> scheduledDirectFlightData = scheduleService
+        Mono<List<ScheduledFlightDto>> scheduledDirectFlightData = scheduleService
                 .getScheduledDirectFlightData(createMockScheduledServiceDto());
         StepVerifier
                 .create(scheduledDirectFlightData)
                 .consumeNextWith(flights -> Assertions.assertFalse(flights.isEmpty())).verifyComplete();
     }
-}
\ No newline at end of file
+
+    @Test
+    void getScheduledDirectFlight_TimesComputedAtIngestion_Success()  {
+        Mockito.when(backendAPIService.getSchedules(Mockito.any()))
+                .thenReturn(Mono.just(getMockMonthSchedule()));
+
+        StepVerifier
+                .create(scheduleService.getScheduledDirectFlightData(createMockScheduledServiceDto()))
+                .consumeNextWith(flights -> {
+                    ScheduledFlightDto first = flights.getFirst();
+                    Assertions.assertEquals(EpochMinutes.of(LocalDateTime.parse("2024-04-02T07:55", DateTimeFormatter.ofPattern(DATE_FORMAT_ISO))),
+                            first.departureEpochMinute());
+                    Assertions.assertEquals("2024-04-02T07:55", EpochMinutes.format(first.departureEpochMinute()));
+                    Assertions.assertEquals("2024-04-02T11:25", EpochMinutes.format(first.arrivalEpochMinute()));
+                }).verifyComplete();
+    }
+
+    @Test
+    void getScheduledDirectFlight_WholeMonthRequestedAndWindowAppliedWhenReading_Success() {
+        MonthSchedule monthSchedule = getMockMonthSchedule();
+        Mockito.when(backendAPIService.getSchedules(Mockito.any()))
+                .thenReturn(Mono.just(monthSchedule));
+        ScheduledServiceDto scheduledServiceDto = ScheduledServiceDto.builder()
+                .directRouteData(createMockScheduledServiceDto().getDirectRouteData())
+                .yearMonthData(getYearMonthData())
+                .requestData(RequestDataDto.builder().departure("STN").arrival("PMO")
+                        .departureDateTime(LocalDateTime.parse("2024-04-03T07:00", DateTimeFormatter.ofPattern(DATE_FORMAT_ISO)))
+                        .arrivalDateTime(LocalDateTime.parse("2024-04-05T23:00", DateTimeFormatter.ofPattern(DATE_FORMAT_ISO)))
+                        .build())
+                .build();
+
+        StepVerifier.create(scheduleService.getScheduledDirectFlightData(scheduledServiceDto))
+                .consumeNextWith(flights -> {
+                    Assertions.assertEquals(List.of("2024-04-04T21:40"),
+                            flights.stream().map(flight -> EpochMinutes.format(flight.departureEpochMinute())).toList());
+                    // the decoded flight is handed on as it is, nothing is parsed or copied per search
+                    Assertions.assertSame(monthSchedule.flightsOn(4).getFirst(), flights.getFirst());
+                })
+                .verifyComplete();
+
+        ArgumentCaptor<ScheduleAPIRequestModel> request = ArgumentCaptor.forClass(ScheduleAPIRequestModel.class);
+        Mockito.verify(backendAPIService).getSchedules(request.capture());
+        Assertions.assertEquals(2024, request.getValue().getYear());
+        Assertions.assertEquals(4, request.getValue().getMonth());
+    }
+}
@@ -0,0 +1,64 @@
+package org.ryanair.flight.api.impl;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.ryanair.flight.api.context.ServiceHelperTestContext;
+import org.ryanair.flight.api.index.ConnectionIndex;
+import org.ryanair.flight.api.util.Constant;
+import org.ryanair.flight.api.dto.ScheduledFlightDto;
+import org.ryanair.flight.api.util.EpochMinutes;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@DisplayName("ServiceHelper Unit Tests")
+class ServiceHelperImplTest extends ServiceHelperTestContext {
+
+    @Test
+    void findEarliestConnectingFlight_MatchesLinearScan_Success() {
+        List<ScheduledFlightDto> flights = getUnsortedConnectingFlights();
+        ConnectionIndex connectionIndex = serviceHelper.buildConnectionIndex(flights);
+
+        for (String arrival : List.of("2024-04-02T06:00", "2024-04-02T09:30", "2024-04-02T11:59", "2024-04-02T12:00",
+                "2024-04-02T12:01", "2024-04-02T16:00", "2024-04-02T16:01")) {
+            LocalDateTime arrivalDateTime = LocalDateTime.parse(arrival);
+            Assertions.assertSame(
+                    findEarliestConnectingFlightByLinearScan(arrivalDateTime, flights),
+                    serviceHelper.findEarliestConnectingFlight(EpochMinutes.of(arrivalDateTime), connectionIndex),
+                    "connection for arrival " + arrival);
+        }
+    }
+
+    @Test
+    void findEarliestConnectingFlight_SameDepartureKeepsListOrder_Success() {
+        ConnectionIndex connectionIndex = serviceHelper.buildConnectionIndex(getUnsortedConnectingFlights());
+
+        ScheduledFlightDto connection = serviceHelper.findEarliestConnectingFlight(EpochMinutes.parse("2024-04-02T12:00"), connectionIndex);
+
+        Assertions.assertEquals("200", connection.number());
+    }
+
+    @Test
+    void findEarliestConnectingFlight_NoFeasibleConnection_ReturnsNull() {
+        ConnectionIndex connectionIndex = serviceHelper.buildConnectionIndex(getUnsortedConnectingFlights());
+
+        Assertions.assertNull(serviceHelper.findEarliestConnectingFlight(EpochMinutes.parse("2024-04-02T16:01"), connectionIndex));
+    }
+
+    /**
+     * Reference for the index: the flight departing closest to, and not before, two hours after the arrival,
+     * found by scanning every flight.
+     */
+    private static ScheduledFlightDto findEarliestConnectingFlightByLinearScan(LocalDateTime arrivalDateTime, List<ScheduledFlightDto> flights) {
+        long earliestDeparture = EpochMinutes.of(arrivalDateTime.plusHours(Constant.MIN_CONNECTION_TIME_HOURS));
+        ScheduledFlightDto connection = null;
+        for (ScheduledFlightDto flight : flights) {
+            if (flight.departureEpochMinute() >= earliestDeparture
+                    && (connection == null || flight.departureEpochMinute() < connection.departureEpochMinute())) {
+                connection = flight;
+            }
+        }
+        return connection;
+    }
+}
@@ -0,0 +1,198 @@
+package org.ryanair.flight.api.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.ryanair.flight.api.RyanairFlightConnectingServiceRunner;
+import org.ryanair.flight.api.util.Endpoint;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop load driver for the interconnections endpoint. Unless {@code loadtest.target-url} is given it starts the
+ * stub backend and the application in this JVM, so the whole run works offline. Reports throughput and latency percentiles.
+ * <p>
+ * Properties: {@code loadtest.concurrency}, {@code loadtest.warmup-s}, {@code loadtest.duration-s},
+ * {@code loadtest.target-url}, {@code loadtest.queries} (e.g. {@code DUB,WRO,2024-04-03T07:00,2024-04-03T20:00;...}),
+ * {@code loadtest.event-loops} and the {@code stub.*} properties of {@link StubBackendSettings}.
+ * <p>
+ * {@code loadtest.event-loops} runs the application with the backend client on its own event loops ({@code dedicated},
+ * the default) or on the server's ({@code shared}); {@code compare} measures both in turn against the same stub.
+ * The stub and this driver run on event loops of their own, so only the application's loops differ.
+ */
+@Slf4j
+public class LoadTestDriver implements AutoCloseable {
+
+    private static final int QUERY_MIX_SIZE = 200;
+    private static final String EVENT_LOOPS_SHARED = "shared";
+    private static final String EVENT_LOOPS_DEDICATED = "dedicated";
+    private static final String EVENT_LOOPS_COMPARE = "compare";
+
+    private final LoopResources loopResources = LoopResources.create("loadtest-driver", Math.max(Runtime.getRuntime().availableProcessors(), 4), true);
+    private final WebClient webClient;
+    private final List<String> queries;
+    private final int concurrency;
+
+    public LoadTestDriver(String targetUrl, List<String> queries, int concurrency) {
+        this.webClient = WebClient.builder()
+                .baseUrl(targetUrl)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create().runOn(loopResources)))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(64 * 1024 * 1024))
+                .build();
+        this.queries = queries;
+        this.concurrency = concurrency;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup-s", 10));
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration-s", 30));
+        String targetUrl = System.getProperty("loadtest.target-url");
+        String eventLoops = System.getProperty("loadtest.event-loops", EVENT_LOOPS_DEDICATED);
+
+        StubBackendSettings settings = StubBackendSettings.fromSystemProperties();
+        String configuredQueries = System.getProperty("loadtest.queries");
+        List<String> queries = Objects.nonNull(configuredQueries)
+                ? parseQueries(configuredQueries)
+                : generateQueries(settings, new Random(settings.getSeed()));
+
+        if (Objects.nonNull(targetUrl)) {
+            System.out.println(measure(targetUrl, queries, concurrency, warmup, duration).format());
+            return;
+        }
+        List<String> eventLoopModes = EVENT_LOOPS_COMPARE.equals(eventLoops)
+                ? List.of(EVENT_LOOPS_SHARED, EVENT_LOOPS_DEDICATED)
+                : List.of(eventLoops);
+        try (StubBackendServer stub = new StubBackendServer(settings).start()) {
+            for (String eventLoopMode : eventLoopModes) {
+                try (ConfigurableApplicationContext application = new SpringApplicationBuilder(RyanairFlightConnectingServiceRunner.class)
+                        .run("--server.port=0",
+                                "--backend.ryanair.api.base-url=" + stub.baseUrl(),
+                                "--backend.ryanair.event-loop.dedicated=" + EVENT_LOOPS_DEDICATED.equals(eventLoopMode),
+                                "--logging.level.org.ryanair=WARN",
+                                "--logging.level.reactor.netty=WARN")) {
+                    String applicationUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+                    System.out.println("event-loops=" + eventLoopMode + " "
+                            + measure(applicationUrl, queries, concurrency, warmup, duration).format());
+                }
+            }
+        }
+    }
+
+    private static LoadTestReport measure(String targetUrl, List<String> queries, int concurrency, Duration warmup, Duration duration) {
+        try (LoadTestDriver driver = new LoadTestDriver(targetUrl, queries, concurrency)) {
+            log.warn("Warming up for {} against {}", warmup, targetUrl);
+            driver.run(warmup);
+            log.warn("Measuring for {} with concurrency {}", duration, concurrency);
+            return driver.run(duration);
+        }
+    }
+
+    /**
+     * Runs the query mix for the given duration, keeping {@code concurrency} requests in flight.
+     */
+    public LoadTestReport run(Duration duration) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        long start = System.nanoTime();
+        List<Sample> samples = Flux.range(0, Integer.MAX_VALUE)
+                .takeWhile(i -> System.nanoTime() < deadline)
+                .flatMap(i -> call(queries.get(i % queries.size())), concurrency, 1)
+                .collectList()
+                .block();
+        return LoadTestReport.of(samples, System.nanoTime() - start);
+    }
+
+    @Override
+    public void close() {
+        loopResources.disposeLater().block();
+    }
+
+    private Mono<Sample> call(String query) {
+        return Mono.defer(() -> {
+            long started = System.nanoTime();
+            return webClient.get()
+                    .uri(Endpoint.END_POINT_INTERCONNECT + query)
+                    .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode().value()))
+                    .onErrorReturn(-1)
+                    .map(status -> new Sample(System.nanoTime() - started, status));
+        });
+    }
+
+    private static List<String> parseQueries(String configured) {
+        return Arrays.stream(configured.split(";"))
+                .map(query -> query.split(","))
+                .map(parts -> toQuery(parts[0], parts[1], parts[2], parts[3]))
+                .toList();
+    }
+
+    /**
+     * Query mix over the generated network: a third same-day windows, a third three-day windows and a third
+     * windows spanning a month boundary.
+     */
+    private static List<String> generateQueries(StubBackendSettings settings, Random random) {
+        List<String> queries = new ArrayList<>(QUERY_MIX_SIZE);
+        LocalDate base = LocalDate.of(2024, 4, 1);
+        for (int i = 0; i < QUERY_MIX_SIZE; i++) {
+            String departure = StubBackendData.airportCode(random.nextInt(settings.getAirports()));
+            String arrival = StubBackendData.airportCode(random.nextInt(settings.getAirports()));
+            LocalDate day = base.plusDays(random.nextInt(28));
+            int windowDays = switch (i % 3) {
+                case 0 -> 0;
+                case 1 -> 3;
+                default -> 10;
+            };
+            if (i % 3 == 2) {
+                day = base.plusDays(25);
+            }
+            queries.add(toQuery(departure, arrival, day + "T06:00", day.plusDays(windowDays) + "T23:00"));
+        }
+        return queries;
+    }
+
+    private static String toQuery(String departure, String arrival, String departureDateTime, String arrivalDateTime) {
+        return "?departure=" + departure + "&arrival=" + arrival
+                + "&departureDateTime=" + departureDateTime + "&arrivalDateTime=" + arrivalDateTime;
+    }
+
+    record Sample(long latencyNanos, int status) {
+    }
+
+    record LoadTestReport(int requests, int failures, double throughput, long p50Micros, long p99Micros,
+                          long p999Micros, long maxMicros) {
+
+        static LoadTestReport of(List<Sample> samples, long elapsedNanos) {
+            long[] latencies = samples.stream().mapToLong(Sample::latencyNanos).sorted().toArray();
+            int failures = (int) samples.stream().filter(sample -> sample.status() < 200 || sample.status() >= 300).count();
+            double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+            return new LoadTestReport(latencies.length, failures, latencies.length / seconds,
+                    percentileMicros(latencies, 0.50), percentileMicros(latencies, 0.99),
+                    percentileMicros(latencies, 0.999), percentileMicros(latencies, 1.0));
+        }
+
+        private static long percentileMicros(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+            return TimeUnit.NANOSECONDS.toMicros(sorted[Math.max(0, index)]);
+        }
+
+        String format() {
+            return String.format("requests=%d failures=%d throughput=%.1f req/s p50=%.2f ms p99=%.2f ms p999=%.2f ms max=%.2f ms",
+                    requests, failures, throughput, p50Micros / 1000.0, p99Micros / 1000.0, p999Micros / 1000.0, maxMicros / 1000.0);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.ryanair.flight.api.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.ryanair.flight.api.model.Day;
+import org.ryanair.flight.api.model.Flight;
+import org.ryanair.flight.api.model.RouteAPIResponseModel;
+import org.ryanair.flight.api.model.ScheduleAPIResponseModel;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pre-serialized response bodies of the stub backend, either generated from the settings or read from recorded files.
+ */
+public class StubBackendData {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final StubBackendSettings settings;
+    private final byte[] routesBody;
+    private final byte[] recordedScheduleBody;
+    private final Map<YearMonth, byte[]> scheduleBodies = new ConcurrentHashMap<>();
+
+    public StubBackendData(StubBackendSettings settings) throws IOException {
+        this.settings = settings;
+        this.routesBody = Objects.nonNull(settings.getRecordedRoutesFile())
+                ? Files.readAllBytes(Path.of(settings.getRecordedRoutesFile()))
+                : objectMapper.writeValueAsBytes(generateRoutes(settings));
+        this.recordedScheduleBody = Objects.nonNull(settings.getRecordedScheduleFile())
+                ? Files.readAllBytes(Path.of(settings.getRecordedScheduleFile()))
+                : null;
+    }
+
+    public static String airportCode(int index) {
+        return "" + (char) ('A' + index / 676 % 26) + (char) ('A' + index / 26 % 26) + (char) ('A' + index % 26);
+    }
+
+    public byte[] routes() {
+        return routesBody;
+    }
+
+    public byte[] schedule(int year, int month) {
+        if (Objects.nonNull(recordedScheduleBody)) {
+            return recordedScheduleBody;
+        }
+        return scheduleBodies.computeIfAbsent(YearMonth.of(year, month), yearMonth -> {
+            try {
+                return objectMapper.writeValueAsBytes(generateSchedule(yearMonth, settings.getFlightsPerDay()));
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private static List<RouteAPIResponseModel> generateRoutes(StubBackendSettings settings) {
+        Random random = new Random(settings.getSeed());
+        List<RouteAPIResponseModel> routes = new ArrayList<>();
+        for (int from = 0; from < settings.getAirports(); from++) {
+            for (int i = 0; i < settings.getRoutesPerAirport(); i++) {
+                int to = random.nextInt(settings.getAirports());
+                if (to != from) {
+                    routes.add(RouteAPIResponseModel.builder()
+                            .airportFrom(airportCode(from))
+                            .airportTo(airportCode(to))
+                            .operator(i % 10 == 9 ? "OTHER" : "RYANAIR")
+                            .carrierCode("FR")
+                            .group("GENERIC")
+                            .similarArrivalAirportCodes(new String[0])
+                            .tags(new String[0])
+                            .build());
+                }
+            }
+        }
+        return routes;
+    }
+
+    private static ScheduleAPIResponseModel generateSchedule(YearMonth yearMonth, int flightsPerDay) {
+        ArrayList<Day> days = new ArrayList<>();
+        int spacing = Math.max(1, 18 * 60 / Math.max(1, flightsPerDay));
+        for (int day = 1; day <= yearMonth.lengthOfMonth(); day++) {
+            List<Flight> flights = new ArrayList<>(flightsPerDay);
+            for (int i = 0; i < flightsPerDay; i++) {
+                int departure = 5 * 60 + i * spacing;
+                int arrival = Math.min(departure + 150, 23 * 60 + 59);
+                flights.add(new Flight("FR", String.valueOf(1000 + i), clock(departure), clock(arrival)));
+            }
+            days.add(new Day(day, flights));
+        }
+        return new ScheduleAPIResponseModel(yearMonth.getMonthValue(), days);
+    }
+
+    private static String clock(int minuteOfDay) {
+        return String.format("%02d:%02d", minuteOfDay / 60, minuteOfDay % 60);
+    }
+}
@@ -0,0 +1,96 @@
+package org.ryanair.flight.api.loadtest;
+
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.netty.resources.LoopResources;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Reactor Netty server standing in for the routes and schedules backend, for offline load testing.
+ * Each response is delayed by a log-normal latency sample and fails with HTTP 500 at the configured error rate.
+ * It speaks HTTP/1.1 and clear text HTTP/2 (h2c), so both client protocols can be load tested, and runs on its own
+ * event loops, so it does not compete for the application's loops when both run in one JVM.
+ */
+@Slf4j
+public class StubBackendServer implements AutoCloseable {
+
+    private static final double Z_99 = 2.326;
+
+    private final StubBackendSettings settings;
+    private final StubBackendData data;
+    private final double latencyMu;
+    private final double latencySigma;
+    private final LoopResources loopResources = LoopResources.create("stub-backend", Math.max(Runtime.getRuntime().availableProcessors(), 4), true);
+    private DisposableServer server;
+
+    public StubBackendServer(StubBackendSettings settings) throws IOException {
+        this.settings = settings;
+        this.data = new StubBackendData(settings);
+        this.latencyMu = Math.log(Math.max(1, settings.getLatencyMedianMs()));
+        this.latencySigma = Math.max(0, Math.log((double) Math.max(settings.getLatencyP99Ms(), settings.getLatencyMedianMs())
+                / Math.max(1, settings.getLatencyMedianMs())) / Z_99);
+    }
+
+    public static void main(String[] args) throws IOException {
+        StubBackendServer server = new StubBackendServer(StubBackendSettings.fromSystemProperties()).start();
+        server.server.onDispose().block();
+    }
+
+    public StubBackendServer start() {
+        server = HttpServer.create()
+                .port(settings.getPort())
+                .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+                .runOn(loopResources)
+                .route(routes -> routes
+                        .get("/views/locate/3/routes", (request, response) -> respond(response, data.routes()))
+                        .get("/timtbl/3/schedules/{departure}/{arrival}/years/{year}/months/{month}",
+                                (request, response) -> respond(response, data.schedule(intParam(request, "year"), intParam(request, "month")))))
+                .bindNow();
+        log.info("Stub backend listening on port {} with {}", server.port(), settings);
+        return this;
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.port();
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.disposeNow();
+        }
+        loopResources.disposeLater().block();
+    }
+
+    private Mono<Void> respond(HttpServerResponse response, byte[] body) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        boolean fail = random.nextDouble() < settings.getErrorRate();
+        return Mono.delay(Duration.ofMillis(sampleLatencyMs(random)))
+                .then(fail
+                        ? response.status(HttpResponseStatus.INTERNAL_SERVER_ERROR).send()
+                        : response.header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                        .send(Mono.just(Unpooled.wrappedBuffer(body))).then());
+    }
+
+    private long sampleLatencyMs(ThreadLocalRandom random) {
+        if (settings.getLatencyMedianMs() <= 0) {
+            return 0;
+        }
+        return Math.round(Math.exp(latencyMu + latencySigma * random.nextGaussian()));
+    }
+
+    private static int intParam(HttpServerRequest request, String name) {
+        return Integer.parseInt(request.param(name));
+    }
+}
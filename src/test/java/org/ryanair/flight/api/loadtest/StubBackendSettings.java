@@ -0,0 +1,54 @@
+package org.ryanair.flight.api.loadtest;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Knobs of the stub backend. Latency is log-normal, described by its median and 99th percentile.
+ * Every value can be overridden with a {@code stub.*} system property.
+ */
+@Getter
+@Builder
+@ToString
+public class StubBackendSettings {
+    @Builder.Default
+    private int port = 0;
+    @Builder.Default
+    private long latencyMedianMs = 40;
+    @Builder.Default
+    private long latencyP99Ms = 250;
+    @Builder.Default
+    private double errorRate = 0.0;
+    @Builder.Default
+    private int airports = 200;
+    @Builder.Default
+    private int routesPerAirport = 20;
+    @Builder.Default
+    private int flightsPerDay = 6;
+    @Builder.Default
+    private long seed = 42;
+    /**
+     * Optional recorded route response served instead of the generated network.
+     */
+    private String recordedRoutesFile;
+    /**
+     * Optional recorded month schedule served for every route and month instead of generated schedules.
+     */
+    private String recordedScheduleFile;
+
+    public static StubBackendSettings fromSystemProperties() {
+        return StubBackendSettings.builder()
+                .port(Integer.getInteger("stub.port", 0))
+                .latencyMedianMs(Long.getLong("stub.latency-median-ms", 40))
+                .latencyP99Ms(Long.getLong("stub.latency-p99-ms", 250))
+                .errorRate(Double.parseDouble(System.getProperty("stub.error-rate", "0.0")))
+                .airports(Integer.getInteger("stub.airports", 200))
+                .routesPerAirport(Integer.getInteger("stub.routes-per-airport", 20))
+                .flightsPerDay(Integer.getInteger("stub.flights-per-day", 6))
+                .seed(Long.getLong("stub.seed", 42))
+                .recordedRoutesFile(System.getProperty("stub.recorded-routes-file"))
+                .recordedScheduleFile(System.getProperty("stub.recorded-schedule-file"))
+                .build();
+    }
+}